@@ -0,0 +1,183 @@
+package com.backend.TTP.config;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Spring Cache holding at most maxEntries values, each for at most ttl.
+ *
+ * Entries live in an access-ordered LinkedHashMap, so the least recently read entry is dropped
+ * when the cache is full; expired entries are dropped when they are next read. Hit, miss and
+ * eviction counts are kept for the admin stats endpoints.
+ *
+ * Concurrent get(key, loader) misses on the same key share one load: the first caller registers a
+ * future and runs the loader, the others wait for its result. A load only stores its value if it
+ * is still registered, and evict and clear unregister loads, so a value loaded before an eviction
+ * is never put back after it.
+ */
+public class BoundedTtlCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Object, Entry> entries;
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    public BoundedTtlCache(String name, int maxEntries, Duration ttl) {
+        super(false);
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > BoundedTtlCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        synchronized (entries) {
+            Object value = storedValue(key);
+            if (value == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return value;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            try {
+                return (T) fromStoreValue(inFlight.join());
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            // A load that finished after our lookup has already stored its value
+            Object stored;
+            synchronized (entries) {
+                stored = storedValue(key);
+            }
+            if (stored != null) {
+                load.complete(stored);
+                return (T) fromStoreValue(stored);
+            }
+
+            T value = valueLoader.call();
+            Object storeValue = toStoreValue(value);
+            synchronized (entries) {
+                if (loading.get(key) == load) {
+                    entries.put(key, new Entry(storeValue, System.nanoTime() + ttlNanos));
+                }
+            }
+            load.complete(storeValue);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Entry entry = new Entry(toStoreValue(value), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+            loading.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            loading.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    // Private helper methods
+
+    /**
+     * The stored value for the key, dropping it if it has expired; callers hold the entries lock
+     */
+    private Object storedValue(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            entry = null;
+        }
+        return entry != null ? entry.value() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.TTP.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String ACHIEVEMENT_PROFILES = "achievementProfiles";
+    public static final String QUICK_INSIGHTS = "quickInsights";
+    public static final String LEARNING_PATHS = "learningPaths";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.achievement-profiles.max-entries:10000}") int maxEntries,
+            @Value("${cache.achievement-profiles.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cache.quick-insights.max-entries:10000}") int quickInsightsMaxEntries,
+            @Value("${reports.quick-insights.max-staleness-seconds:900}") long quickInsightsMaxStalenessSeconds,
+            @Value("${cache.learning-paths.max-entries:2000}") int learningPathsMaxEntries,
+            @Value("${cache.learning-paths.ttl-seconds:86400}") long learningPathsTtlSeconds) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new BoundedTtlCache(ACHIEVEMENT_PROFILES, maxEntries, Duration.ofSeconds(ttlSeconds)),
+                new BoundedTtlCache(QUICK_INSIGHTS, quickInsightsMaxEntries, Duration.ofSeconds(quickInsightsMaxStalenessSeconds)),
+                new BoundedTtlCache(LEARNING_PATHS, learningPathsMaxEntries, Duration.ofSeconds(learningPathsTtlSeconds))));
+        return cacheManager;
+    }
+}
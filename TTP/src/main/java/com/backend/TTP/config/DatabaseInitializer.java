@@ -7,6 +7,8 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.Ordered;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component
 public class DatabaseInitializer implements CommandLineRunner, Ordered {
     
@@ -27,21 +29,43 @@ public class DatabaseInitializer implements CommandLineRunner, Ordered {
             System.out.println("Achievement data initialized successfully!");
         } else {
             System.out.println("Achievement data already exists, skipping initialization.");
+            backfillRequiredCounts();
+        }
+    }
+    
+    /**
+     * Achievements seeded before rules were evaluated have no requiredCount; fill in the seeded values
+     */
+    private void backfillRequiredCounts() {
+        Map<String, Integer> seededCounts = Map.of(
+            "First Steps", 1,
+            "Consistent Learner", 7,
+            "Dedicated Student", 30,
+            "High Achiever", 5,
+            "Course Collector", 10
+        );
+        
+        for (Achievement achievement : achievementRepository.findAll()) {
+            Integer count = seededCounts.get(achievement.getName());
+            if (achievement.getRequiredCount() == null && count != null) {
+                achievement.setRequiredCount(count);
+                achievementRepository.save(achievement);
+            }
         }
     }
     
     private void initializeAchievements() {
         Achievement[] achievements = {
-            new Achievement(null, "First Steps", "Complete your first course", "COURSE_COMPLETION", 0, "NOVICE", "/badges/first-course.png", true),
-            new Achievement(null, "Learning Explorer", "Reach Novice level", "BADGE_LEVEL", 0, "NOVICE", "/badges/novice.png", true),
-            new Achievement(null, "Knowledge Seeker", "Reach Apprentice level", "BADGE_LEVEL", 100, "APPRENTICE", "/badges/apprentice.png", true),
-            new Achievement(null, "Dedicated Learner", "Reach Scholar level", "BADGE_LEVEL", 300, "SCHOLAR", "/badges/scholar.png", true),
-            new Achievement(null, "Skill Master", "Reach Expert level", "BADGE_LEVEL", 700, "EXPERT", "/badges/expert.png", true),
-            new Achievement(null, "Learning Champion", "Reach Master level", "BADGE_LEVEL", 1500, "MASTER", "/badges/master.png", true),
-            new Achievement(null, "Consistent Learner", "Maintain 7-day login streak", "CONSISTENCY", 0, "APPRENTICE", "/badges/streak-7.png", true),
-            new Achievement(null, "Dedicated Student", "Maintain 30-day login streak", "CONSISTENCY", 0, "SCHOLAR", "/badges/streak-30.png", true),
-            new Achievement(null, "High Achiever", "Score 90%+ on 5 courses", "SCORE_BASED", 0, "EXPERT", "/badges/high-scorer.png", true),
-            new Achievement(null, "Course Collector", "Complete 10 courses", "COURSE_COMPLETION", 0, "SCHOLAR", "/badges/course-collector.png", true)
+            new Achievement(null, "First Steps", "Complete your first course", "COURSE_COMPLETION", 0, "NOVICE", "/badges/first-course.png", true, 1),
+            new Achievement(null, "Learning Explorer", "Reach Novice level", "BADGE_LEVEL", 0, "NOVICE", "/badges/novice.png", true, null),
+            new Achievement(null, "Knowledge Seeker", "Reach Apprentice level", "BADGE_LEVEL", 100, "APPRENTICE", "/badges/apprentice.png", true, null),
+            new Achievement(null, "Dedicated Learner", "Reach Scholar level", "BADGE_LEVEL", 300, "SCHOLAR", "/badges/scholar.png", true, null),
+            new Achievement(null, "Skill Master", "Reach Expert level", "BADGE_LEVEL", 700, "EXPERT", "/badges/expert.png", true, null),
+            new Achievement(null, "Learning Champion", "Reach Master level", "BADGE_LEVEL", 1500, "MASTER", "/badges/master.png", true, null),
+            new Achievement(null, "Consistent Learner", "Maintain 7-day login streak", "CONSISTENCY", 0, "APPRENTICE", "/badges/streak-7.png", true, 7),
+            new Achievement(null, "Dedicated Student", "Maintain 30-day login streak", "CONSISTENCY", 0, "SCHOLAR", "/badges/streak-30.png", true, 30),
+            new Achievement(null, "High Achiever", "Score 90%+ on 5 courses", "SCORE_BASED", 0, "EXPERT", "/badges/high-scorer.png", true, 5),
+            new Achievement(null, "Course Collector", "Complete 10 courses", "COURSE_COMPLETION", 0, "SCHOLAR", "/badges/course-collector.png", true, 10)
         };
         
         for (Achievement achievement : achievements) {
@@ -1,6 +1,7 @@
 package com.backend.TTP.config;
 
 import com.backend.TTP.config.JwtAuthenticationFilter;
+import com.backend.TTP.model.User;
 import com.backend.TTP.service.CustomUserDetailsServiceImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -74,6 +75,12 @@ public class SecurityConfig {
                     "/api/achievements/badges",
                     "/api/achievements/admin/update-leaderboard"
                 ).permitAll()
+                // Admin endpoints expose every user's data or run platform-wide jobs
+                .requestMatchers(
+                    "/api/reports/admin/**",
+                    "/api/achievements/admin/leaderboard/**",
+                    "/api/achievements/admin/cache/**"
+                ).hasRole(User.ROLE_ADMIN)
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
@@ -112,7 +119,7 @@ public class SecurityConfig {
         
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         config.setAllowedHeaders(List.of("*"));
-        config.setExposedHeaders(List.of("Authorization", "Content-Type"));
+        config.setExposedHeaders(List.of("Authorization", "Content-Type", "ETag"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
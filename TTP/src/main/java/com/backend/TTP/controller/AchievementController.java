@@ -3,6 +3,11 @@ package com.backend.TTP.controller;
 import com.backend.TTP.dto.*;
 import com.backend.TTP.model.User;
 import com.backend.TTP.service.AchievementService;
+import com.backend.TTP.service.achievement.AchievementProfileCache;
+import com.backend.TTP.service.leaderboard.LeaderboardConsistencyChecker;
+import com.backend.TTP.service.leaderboard.LeaderboardPeriod;
+import com.backend.TTP.service.leaderboard.LeaderboardRankService;
+import com.backend.TTP.service.leaderboard.LeaderboardSnapshotJob;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,7 +21,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/achievements")
@@ -31,6 +38,18 @@ public class AchievementController {
     @Autowired
     private AchievementService achievementService;
     
+    @Autowired
+    private LeaderboardRankService leaderboardRankService;
+    
+    @Autowired
+    private LeaderboardConsistencyChecker leaderboardConsistencyChecker;
+    
+    @Autowired
+    private LeaderboardSnapshotJob leaderboardSnapshotJob;
+    
+    @Autowired
+    private AchievementProfileCache achievementProfileCache;
+    
     /**
      * Get user's achievement profile
      */
@@ -159,10 +178,10 @@ public class AchievementController {
     })
     public ResponseEntity<LeaderboardResponse> getLeaderboard(
             @Parameter(hidden = true) @AuthenticationPrincipal User user,
-            @Parameter(description = "Leaderboard period", 
-                      example = "daily", 
+            @Parameter(description = "Leaderboard period: points earned today, in the last 7 or 30 days, or in total", 
+                      example = "all-time", 
                       schema = @Schema(allowableValues = {"daily", "weekly", "monthly", "all-time"}))
-            @RequestParam(defaultValue = "daily") String period,
+            @RequestParam(defaultValue = "all-time") String period,
             @Parameter(description = "Maximum number of users to return", 
                       example = "10")
             @RequestParam(defaultValue = "10") Integer limit) {
@@ -189,17 +208,95 @@ public class AchievementController {
     public ResponseEntity<LeaderboardUserDTO> getCurrentUserRank(
             @Parameter(hidden = true) @AuthenticationPrincipal User user,
             @Parameter(description = "Leaderboard period for rank calculation", 
-                      example = "daily",
+                      example = "all-time",
                       schema = @Schema(allowableValues = {"daily", "weekly", "monthly", "all-time"}))
-            @RequestParam(defaultValue = "daily") String period) {
+            @RequestParam(defaultValue = "all-time") String period) {
+        try {
+            LeaderboardPeriod window = LeaderboardPeriod.fromParam(period);
+            LeaderboardUserDTO standing = window != null
+                    ? leaderboardRankService.getStanding(user, window)
+                    : leaderboardRankService.getStanding(user);
+            return ResponseEntity.ok(standing);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get a stored leaderboard snapshot
+     */
+    @GetMapping("/leaderboard/history")
+    @Operation(summary = "Get historical leaderboard", 
+               description = "Retrieve the leaderboard snapshot materialized for a past date, ranked by the daily, weekly or monthly window points stored that day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leaderboard snapshot retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = LeaderboardResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request - unable to fetch leaderboard snapshot"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - user not authenticated")
+    })
+    public ResponseEntity<LeaderboardResponse> getLeaderboardHistory(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(description = "Snapshot date", example = "2024-06-01")
+            @RequestParam LocalDate date,
+            @Parameter(description = "Window to rank by", 
+                      example = "weekly",
+                      schema = @Schema(allowableValues = {"daily", "weekly", "monthly"}))
+            @RequestParam(defaultValue = "daily") String period,
+            @Parameter(description = "Maximum number of users to return", example = "10")
+            @RequestParam(defaultValue = "10") Integer limit) {
+        try {
+            LeaderboardPeriod window = LeaderboardPeriod.fromParam(period);
+            if (window == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(achievementService.getLeaderboardSnapshot(user, date, window, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Get users ranked around the current user
+     */
+    @GetMapping("/leaderboard/around")
+    @Operation(summary = "Get users around current user's rank", 
+               description = "Retrieve up to k users ranked directly above and below the authenticated user, the user included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Neighbouring users retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - unable to fetch neighbouring users"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - user not authenticated")
+    })
+    public ResponseEntity<List<LeaderboardUserDTO>> getUsersAroundCurrentUser(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(description = "Number of users to include on each side", example = "5")
+            @RequestParam(defaultValue = "5") Integer k) {
         try {
-            LeaderboardResponse leaderboard = achievementService.getLeaderboard(user, period, 1);
-            return ResponseEntity.ok(leaderboard.getCurrentUser());
+            return ResponseEntity.ok(leaderboardRankService.getUsersAround(user, k));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    /**
+     * Get current user's leaderboard percentile
+     */
+    @GetMapping("/leaderboard/percentile")
+    @Operation(summary = "Get current user's leaderboard percentile", 
+               description = "Retrieve the percentage of users ranked at or below the authenticated user (100 = top of the board)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Percentile retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - user not authenticated"),
+            @ApiResponse(responseCode = "404", description = "Not found - user is not ranked on the leaderboard")
+    })
+    public ResponseEntity<Double> getCurrentUserPercentile(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user) {
+        Double percentile = leaderboardRankService.getPercentile(user);
+        if (percentile == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(percentile);
+    }
+    
     /**
      * Manual trigger for daily leaderboard update (for admin/testing)
      */
@@ -220,6 +317,61 @@ public class AchievementController {
         }
     }
     
+    /**
+     * Progress and throughput of the leaderboard snapshot job (for admin/testing)
+     */
+    @GetMapping("/admin/leaderboard/job")
+    @Operation(summary = "Get leaderboard job status (Admin)", 
+               description = "Duration, rows per second, chunk timings and chunk lag of the running leaderboard snapshot job, or of the last run")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job status retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = LeaderboardJobStatusResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - admin access required")
+    })
+    public ResponseEntity<LeaderboardJobStatusResponse> getLeaderboardJobStatus() {
+        return ResponseEntity.ok(leaderboardSnapshotJob.getStatus());
+    }
+    
+    /**
+     * Hit and miss counters for the achievement profile cache (for admin/testing)
+     */
+    @GetMapping("/admin/cache/achievement-profiles")
+    @Operation(summary = "Get achievement profile cache stats (Admin)", 
+               description = "Size, hits, misses, hit rate, evictions and invalidations of the per-user achievement profile cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache stats retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CacheStatsResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - admin access required")
+    })
+    public ResponseEntity<CacheStatsResponse> getAchievementProfileCacheStats() {
+        return ResponseEntity.ok(achievementProfileCache.getStats());
+    }
+    
+    /**
+     * Compare the in-memory leaderboard index with the leaderboard table (for admin/testing)
+     */
+    @GetMapping("/admin/leaderboard/consistency")
+    @Operation(summary = "Check leaderboard index consistency (Admin)", 
+               description = "Diff the in-memory leaderboard index against the stored leaderboard rows for a date, optionally rebuilding the index when they disagree")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Consistency check completed",
+                    content = @Content(schema = @Schema(implementation = LeaderboardConsistencyReport.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request - unable to run consistency check"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - admin access required")
+    })
+    public ResponseEntity<LeaderboardConsistencyReport> checkLeaderboardConsistency(
+            @Parameter(description = "Leaderboard date to compare (defaults to today)", example = "2024-06-01")
+            @RequestParam(required = false) LocalDate date,
+            @Parameter(description = "Rebuild the index from user profiles when drift is found", example = "false")
+            @RequestParam(defaultValue = "false") Boolean repair) {
+        try {
+            LocalDate checkDate = date != null ? date : LocalDate.now();
+            return ResponseEntity.ok(leaderboardConsistencyChecker.check(checkDate, repair));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * FIXED: Simple test endpoint to award test points
      */
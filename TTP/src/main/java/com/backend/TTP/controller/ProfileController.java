@@ -1,5 +1,6 @@
 package com.backend.TTP.controller;
 
+import com.backend.TTP.dto.LearningPathStatusResponse;
 import com.backend.TTP.dto.ProfileRequest;
 import com.backend.TTP.dto.ProfileResponse;
 import com.backend.TTP.model.User;
@@ -27,7 +28,7 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/profiles")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true",
-        allowedHeaders = {"Authorization", "Content-Type"},
+        allowedHeaders = {"Authorization", "Content-Type", "If-None-Match"}, exposedHeaders = {"ETag"},
         methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
 @Tag(name = "User Profile Management", description = "Operations for managing user profiles, career stages, skills, and learning preferences")
 @SecurityRequirement(name = "bearerAuth")
@@ -49,6 +50,8 @@ public class ProfileController {
     public ResponseEntity<ProfileResponse> createProfile(
             @Parameter(description = "Profile creation data", required = true)
             @Valid @RequestBody ProfileRequest request,
+            @Parameter(description = "Generate a new learning path even if the profile inputs are unchanged")
+            @RequestParam(defaultValue = "false") boolean regenerate,
             @Parameter(hidden = true) @AuthenticationPrincipal User user) {
         try {
             if (user == null) {
@@ -93,7 +96,7 @@ public class ProfileController {
                 request.setHoursPerWeek(5);
             }
 
-            ProfileResponse response = profileService.createOrUpdateProfile(request, user.getUsername());
+            ProfileResponse response = profileService.createOrUpdateProfile(request, user.getUsername(), regenerate);
             logger.info("Profile created/updated successfully for user: {}", user.getUsername());
 
             return ResponseEntity.ok(response);
@@ -216,6 +219,43 @@ public class ProfileController {
         }
     }
 
+    /**
+     * Poll the learning path generation after a profile save; answers 304 while the ETag is unchanged
+     */
+    @GetMapping("/learning-path/status")
+    @Operation(summary = "Get learning path status", 
+               description = "Status and version of the learning path generated after the last profile save. The ETag changes with them, so send it back as If-None-Match to get 304 until the path is ready.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Learning path status retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = LearningPathStatusResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Status unchanged since the given ETag"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - user not authenticated"),
+            @ApiResponse(responseCode = "404", description = "Profile or learning path not found")
+    })
+    public ResponseEntity<LearningPathStatusResponse> getLearningPathStatus(
+            @Parameter(description = "ETag from the previous poll") @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            @Parameter(hidden = true) @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+
+        LearningPathStatusResponse status;
+        try {
+            status = profileService.getLearningPathStatus(user.getUsername());
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().contains("not found")) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+            }
+            throw e;
+        }
+
+        String etag = "\"" + status.getVersion() + "-" + status.getStatus() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(status);
+    }
+
     // Handle OPTIONS preflight requests
     @RequestMapping(method = RequestMethod.OPTIONS)
     @Operation(hidden = true)
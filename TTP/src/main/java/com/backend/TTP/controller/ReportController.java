@@ -2,7 +2,12 @@ package com.backend.TTP.controller;
 
 import com.backend.TTP.dto.report.*;
 import com.backend.TTP.model.User;
+import com.backend.TTP.service.report.LearningStatsService;
+import com.backend.TTP.service.report.MetricSnapshotService;
+import com.backend.TTP.service.report.QuickInsightsService;
+import com.backend.TTP.service.report.ReportExportService;
 import com.backend.TTP.service.report.ReportGeneratorService;
+import com.backend.TTP.service.report.ReportMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +26,9 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/reports")
 @RequiredArgsConstructor
@@ -32,6 +41,11 @@ public class ReportController {
     
     private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
     private final ReportGeneratorService reportGeneratorService;
+    private final LearningStatsService learningStatsService;
+    private final QuickInsightsService quickInsightsService;
+    private final ReportExportService reportExportService;
+    private final MetricSnapshotService metricSnapshotService;
+    private final ReportMetrics reportMetrics;
     
     /**
      * Get comprehensive learning report with all analysis
@@ -281,21 +295,12 @@ public class ReportController {
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
             }
             
-            logger.info("Generating quick insights for user: {}", user.getUsername());
-            
-            // Generate a simplified overview for quick dashboard display
-            LearningOverviewReport overview = reportGeneratorService.generateOverviewReport(user);
+            logger.info("Getting quick insights for user: {}", user.getUsername());
             
-            QuickInsightsResponse insights = new QuickInsightsResponse();
-            insights.setUsername(user.getUsername());
-            insights.setCompletionRate(overview.getPerformance().getCompletionRate());
-            insights.setAverageScore(overview.getPerformance().getAverageScore());
-            insights.setLoginStreak(overview.getPerformance().getLoginStreak());
-            insights.setCurrentBadgeLevel(overview.getPerformance().getCurrentBadgeLevel());
-            insights.setTopStrength(overview.getStrengths().isEmpty() ? "Active learner" : overview.getStrengths().get(0));
-            insights.setTopRecommendation(overview.getRecommendations().isEmpty() ? "Keep learning!" : overview.getRecommendations().get(0));
+            // Served from the precomputed insights; only computed inline when none are fresh
+            QuickInsightsResponse insights = quickInsightsService.getQuickInsights(user);
             
-            logger.info("Quick insights generated successfully for user: {}", user.getUsername());
+            logger.info("Quick insights served for user: {}", user.getUsername());
             
             return ResponseEntity.ok(insights);
             
@@ -311,6 +316,92 @@ public class ReportController {
         }
     }
     
+    /**
+     * Recompute the learning stats rollup for every user (for admin/testing)
+     */
+    @PostMapping("/admin/rebuild-stats")
+    @Operation(summary = "Rebuild learning stats (Admin)", 
+               description = "Backfill the per-user learning stats rollup from enrollments, scores and goals")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Learning stats rebuilt successfully",
+                    content = @Content(schema = @Schema(implementation = LearningStatsRebuildResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - admin access required")
+    })
+    public ResponseEntity<LearningStatsRebuildResponse> rebuildLearningStats() {
+        return ResponseEntity.ok(learningStatsService.rebuildAll());
+    }
+    
+    /**
+     * Get the user's metric history over a trailing window
+     */
+    @GetMapping("/trends")
+    @Operation(summary = "Get metric trends", 
+               description = "Points, completion rate, weekly hours and login streak over the last 30, 90 or 365 days, from daily snapshots")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trend series returned successfully",
+                    content = @Content(schema = @Schema(implementation = MetricTrendResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request - days must be between 1 and 365"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - user not authenticated")
+    })
+    public ResponseEntity<MetricTrendResponse> getTrends(
+            @Parameter(hidden = true) @AuthenticationPrincipal User user,
+            @Parameter(description = "Window length in days", example = "30") @RequestParam(defaultValue = "30") int days) {
+        if (user == null) {
+            logger.error("Authentication principal is null");
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+        }
+        if (days < 1 || days > MetricSnapshotService.MAX_TREND_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days must be between 1 and " + MetricSnapshotService.MAX_TREND_DAYS);
+        }
+        return ResponseEntity.ok(metricSnapshotService.getTrend(user.getId(), days));
+    }
+    
+    /**
+     * Capture today's metric snapshots now (Admin)
+     */
+    @PostMapping("/admin/capture-snapshots")
+    @Operation(summary = "Capture metric snapshots (Admin)", 
+               description = "Append today's metric snapshot for every user; users already captured today are skipped")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of snapshots written"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - admin access required")
+    })
+    public ResponseEntity<Integer> captureMetricSnapshots() {
+        return ResponseEntity.ok(metricSnapshotService.captureAll(LocalDate.now()));
+    }
+    
+    /**
+     * Latency and SQL statement metrics for report generation (Admin)
+     */
+    @GetMapping("/admin/metrics")
+    @Operation(summary = "Get report generation metrics (Admin)", 
+               description = "Latency histograms per report section and snapshot query, SQL statements per report and the slow-report count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ReportMetricsResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - admin access required")
+    })
+    public ResponseEntity<ReportMetricsResponse> getReportMetrics() {
+        return ResponseEntity.ok(reportMetrics.getMetrics());
+    }
+    
+    /**
+     * Stream the comprehensive report of every user as NDJSON (Admin)
+     */
+    @GetMapping(value = "/admin/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export all comprehensive reports (Admin)", 
+               description = "Stream the comprehensive report of every user as newline-delimited JSON, one report per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reports streamed successfully"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - admin access required")
+    })
+    public void exportComprehensiveReports(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        int exported = reportExportService.exportAll(response.getOutputStream());
+        logger.info("Streamed {} comprehensive reports", exported);
+    }
+    
     /**
      * Handle OPTIONS preflight requests
      */
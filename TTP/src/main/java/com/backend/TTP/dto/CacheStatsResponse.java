@@ -0,0 +1,34 @@
+package com.backend.TTP.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Hit and miss counters for an in-memory cache")
+public class CacheStatsResponse {
+    
+    @Schema(description = "Cache name", example = "achievementProfiles")
+    private String name;
+    
+    @Schema(description = "Entries currently held", example = "840")
+    private Integer size;
+    
+    @Schema(description = "Reads answered from the cache", example = "15230")
+    private Long hits;
+    
+    @Schema(description = "Reads that had to load the value", example = "1210")
+    private Long misses;
+    
+    @Schema(description = "Hits divided by all reads (0 before the first read)", example = "0.926")
+    private Double hitRate;
+    
+    @Schema(description = "Entries dropped because the cache was full or the entry expired", example = "12")
+    private Long evictions;
+    
+    @Schema(description = "Entries removed because the user's profile changed", example = "970")
+    private Long invalidations;
+}
@@ -0,0 +1,59 @@
+package com.backend.TTP.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Differences between the in-memory leaderboard index and the leaderboard table")
+public class LeaderboardConsistencyReport {
+    
+    @Schema(description = "Leaderboard date that was compared", example = "2024-06-01")
+    private LocalDate date;
+    
+    @Schema(description = "Number of users held by the in-memory index", example = "1200")
+    private Integer indexedUsers;
+    
+    @Schema(description = "Number of leaderboard rows stored for the date", example = "1198")
+    private Integer tableRows;
+    
+    @Schema(description = "True when every table row matches the index in points and rank", example = "true")
+    private Boolean consistent;
+    
+    @Schema(description = "Whether the index was rebuilt from user profiles after the check", example = "false")
+    private Boolean repaired;
+    
+    @Schema(description = "Rows whose user is missing from the index or whose points or rank disagree")
+    private List<Mismatch> mismatches = new ArrayList<>();
+    
+    @Schema(description = "Users held by the index that have no table row for the date")
+    private List<Long> missingFromTable = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "A single disagreement between the table and the index")
+    public static class Mismatch {
+        
+        @Schema(description = "User identifier", example = "42")
+        private Long userId;
+        
+        @Schema(description = "Total points stored in the table", example = "350")
+        private Integer tablePoints;
+        
+        @Schema(description = "Total points held by the index (null when not indexed)", example = "360")
+        private Integer indexPoints;
+        
+        @Schema(description = "Rank computed the same way as the SQL leaderboard", example = "7")
+        private Integer tableRank;
+        
+        @Schema(description = "Rank answered by the index (null when not indexed)", example = "6")
+        private Integer indexRank;
+    }
+}
@@ -0,0 +1,60 @@
+package com.backend.TTP.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress and throughput of the latest leaderboard snapshot job run")
+public class LeaderboardJobStatusResponse {
+    
+    @Schema(description = "IDLE before the first run, then RUNNING, COMPLETED or FAILED", example = "COMPLETED")
+    private String status;
+    
+    @Schema(description = "Leaderboard date the run snapshots", example = "2024-06-01")
+    private LocalDate jobDate;
+    
+    @Schema(description = "Whether the run resumed an earlier, unfinished run from its checkpoints", example = "false")
+    private Boolean resumed;
+    
+    @Schema(description = "When the run started")
+    private LocalDateTime startedAt;
+    
+    @Schema(description = "When the run finished (null while running)")
+    private LocalDateTime finishedAt;
+    
+    @Schema(description = "Wall-clock duration so far in milliseconds", example = "1840")
+    private Long durationMs;
+    
+    @Schema(description = "Id-range shards processed by parallel workers", example = "4")
+    private Integer shards;
+    
+    @Schema(description = "Shards that have finished", example = "4")
+    private Integer shardsCompleted;
+    
+    @Schema(description = "Chunks committed by this run", example = "24")
+    private Long chunksCommitted;
+    
+    @Schema(description = "Leaderboard rows written by this run", example = "12000")
+    private Long rowsProcessed;
+    
+    @Schema(description = "Rows written per second of wall-clock time", example = "6521.7")
+    private Double rowsPerSecond;
+    
+    @Schema(description = "Average time to read, write and commit one chunk in milliseconds", example = "75.2")
+    private Double averageChunkMs;
+    
+    @Schema(description = "Slowest chunk in milliseconds", example = "210")
+    private Long maxChunkMs;
+    
+    @Schema(description = "Milliseconds since the last chunk committed; keeps growing if a running job stalls", example = "40")
+    private Long chunkLagMs;
+    
+    @Schema(description = "Failure message when the run failed")
+    private String error;
+}
@@ -0,0 +1,24 @@
+package com.backend.TTP.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Generation state of the user's learning path, for polling after a profile save")
+public class LearningPathStatusResponse {
+    
+    @Schema(description = "PENDING while the path is being generated, READY once it is stored, FAILED if generation failed",
+            example = "READY", allowableValues = {"PENDING", "READY", "FAILED"})
+    private String status;
+    
+    @Schema(description = "Learning path version; bumped by every profile save that changes the path inputs", example = "3")
+    private Long version;
+    
+    @Schema(description = "When the status last changed", example = "2025-06-01T10:15:30")
+    private LocalDateTime updatedAt;
+}
@@ -61,6 +61,17 @@ public class ProfileResponse {
             accessMode = Schema.AccessMode.READ_ONLY)
     private Integer loginStreak = 0;
     
+    @Schema(description = "Learning path generation state; the path is generated after the save returns, so poll the status endpoint while PENDING", 
+            example = "PENDING",
+            allowableValues = {"PENDING", "READY", "FAILED"},
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private String learningPathStatus;
+    
+    @Schema(description = "Version of the learning path the status refers to", 
+            example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Long learningPathVersion;
+    
     // Explicit getters and setters
     public Long getId() {
         return id;
@@ -133,4 +144,20 @@ public class ProfileResponse {
     public void setLoginStreak(Integer loginStreak) {
         this.loginStreak = loginStreak != null ? loginStreak : 0;
     }
-}
\ No newline at end of file
+    
+    public String getLearningPathStatus() {
+        return learningPathStatus;
+    }
+    
+    public void setLearningPathStatus(String learningPathStatus) {
+        this.learningPathStatus = learningPathStatus;
+    }
+    
+    public Long getLearningPathVersion() {
+        return learningPathVersion;
+    }
+    
+    public void setLearningPathVersion(Long learningPathVersion) {
+        this.learningPathVersion = learningPathVersion;
+    }
+}
@@ -60,6 +60,16 @@ public class CompetitiveReport {
                 accessMode = Schema.AccessMode.READ_ONLY)
         private String percentile;
         
+        @Schema(description = "Percentile ranking among users at the same career stage", 
+                example = "Top 20%",
+                accessMode = Schema.AccessMode.READ_ONLY)
+        private String careerStagePercentile;
+        
+        @Schema(description = "Percentile ranking among users at the same badge level", 
+                example = "Top 40%",
+                accessMode = Schema.AccessMode.READ_ONLY)
+        private String badgePercentile;
+        
         @Schema(description = "Points earned this week", 
                 example = "150", 
                 minimum = "0",
@@ -63,4 +63,14 @@ public class ComprehensiveReport {
             example = "[\"Complete the pending React tutorial\", \"Set up daily study reminders\"]",
             accessMode = Schema.AccessMode.READ_ONLY)
     private List<String> immediateActions;
-}
\ No newline at end of file
+    
+    @Schema(description = "True when one or more sections failed or timed out and were left out", 
+            example = "false",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Boolean partial;
+    
+    @Schema(description = "Sections left out of a partial report", 
+            example = "[\"competitive\"]",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private List<String> unavailableSections;
+}
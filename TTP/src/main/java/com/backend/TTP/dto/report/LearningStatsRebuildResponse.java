@@ -0,0 +1,22 @@
+package com.backend.TTP.dto.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of rebuilding the per-user learning stats rollup")
+public class LearningStatsRebuildResponse {
+    
+    @Schema(description = "Users whose stats row was recomputed", example = "1250")
+    private Integer usersProcessed;
+    
+    @Schema(description = "Users whose stats row could not be recomputed (see the server log)", example = "0")
+    private Integer failures;
+    
+    @Schema(description = "Time the rebuild took, in milliseconds", example = "5400")
+    private Long durationMs;
+}
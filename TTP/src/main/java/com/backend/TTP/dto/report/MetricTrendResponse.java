@@ -0,0 +1,46 @@
+package com.backend.TTP.dto.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Daily metric history for a user over a trailing window, downsampled to at most 60 points")
+public class MetricTrendResponse {
+    
+    @Schema(description = "Length of the window in days, ending today", example = "90")
+    private Integer days;
+    
+    @Schema(description = "Days folded into each point of the series", example = "2")
+    private Integer bucketDays;
+    
+    @Schema(description = "Series points in date order; days without a snapshot are skipped")
+    private List<TrendPoint> points;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Metrics for one bucket of days")
+    public static class TrendPoint {
+        
+        @Schema(description = "Last day of the bucket that has a snapshot", example = "2024-06-15")
+        private LocalDate date;
+        
+        @Schema(description = "Total points at the end of the bucket", example = "1450")
+        private Integer totalPoints;
+        
+        @Schema(description = "Average course completion rate over the bucket, in percent", example = "62.5")
+        private Double completionRate;
+        
+        @Schema(description = "Average hours spent this week over the bucket", example = "6.0")
+        private Double hoursThisWeek;
+        
+        @Schema(description = "Login streak at the end of the bucket", example = "12")
+        private Integer loginStreak;
+    }
+}
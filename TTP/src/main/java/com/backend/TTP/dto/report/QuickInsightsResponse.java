@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -52,6 +53,11 @@ public class QuickInsightsResponse {
             accessMode = Schema.AccessMode.READ_ONLY)
     private String topRecommendation;
     
+    @Schema(description = "When these insights were computed; they are refreshed shortly after the user's data changes", 
+            example = "2024-01-15T10:30:00",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime generatedAt;
+    
     public String getUsername() {
         return username;
     }
@@ -107,4 +113,12 @@ public class QuickInsightsResponse {
     public void setTopRecommendation(String topRecommendation) {
         this.topRecommendation = topRecommendation;
     }
+    
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+    
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
 }
\ No newline at end of file
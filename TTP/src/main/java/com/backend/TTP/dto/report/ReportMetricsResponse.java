@@ -0,0 +1,60 @@
+package com.backend.TTP.dto.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Latency and SQL statement figures for comprehensive report generation since startup")
+public class ReportMetricsResponse {
+    
+    @Schema(description = "Comprehensive reports generated", example = "15230")
+    private Long reports;
+    
+    @Schema(description = "Reports slower than the slow-report threshold (each one is logged)", example = "4")
+    private Long slowReports;
+    
+    @Schema(description = "Slow-report threshold in milliseconds", example = "2000")
+    private Long slowReportThresholdMs;
+    
+    @Schema(description = "Average SQL statements per report", example = "7.0")
+    private Double averageStatementsPerReport;
+    
+    @Schema(description = "Most SQL statements a single report ran", example = "9")
+    private Long maxStatementsPerReport;
+    
+    @Schema(description = "Latency histogram per report stage: the whole report, each section, the snapshot load and each of its queries")
+    private List<TimerStats> timers;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Latency figures for one report stage; percentiles are bucket upper bounds, accurate to within 2x")
+    public static class TimerStats {
+        
+        @Schema(description = "Stage name", example = "report.section.skillAnalysis")
+        private String name;
+        
+        @Schema(description = "Timings recorded", example = "15230")
+        private Long count;
+        
+        @Schema(description = "Mean duration in milliseconds", example = "12.4")
+        private Double meanMs;
+        
+        @Schema(description = "Longest duration in milliseconds", example = "480.0")
+        private Double maxMs;
+        
+        @Schema(description = "Median duration in milliseconds", example = "8.192")
+        private Double p50Ms;
+        
+        @Schema(description = "95th percentile duration in milliseconds", example = "32.768")
+        private Double p95Ms;
+        
+        @Schema(description = "99th percentile duration in milliseconds", example = "65.536")
+        private Double p99Ms;
+    }
+}
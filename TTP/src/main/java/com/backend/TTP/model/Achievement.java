@@ -1,5 +1,6 @@
 package com.backend.TTP.model;
 
+import com.backend.TTP.service.achievement.AchievementChangeListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import lombok.AllArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(AchievementChangeListener.class) // Rebuilds the badge ladder and achievement rules on change
 public class Achievement {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,4 +23,5 @@ public class Achievement {
     private String badgeLevel; // NOVICE, APPRENTICE, SCHOLAR, EXPERT, MASTER
     private String iconUrl;
     private Boolean isActive = true;
+    private Integer requiredCount; // Courses, streak days, high scores or goals needed for non-badge achievements
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.backend.TTP.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one shard of the leaderboard snapshot job for a date. A shard covers the
+ * UserProfile ids in (rangeStart, rangeEnd]; lastProfileId moves forward with every committed chunk.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"job_date", "shard"}))
+public class LeaderboardJobCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    private LocalDate jobDate;
+    private Integer shard;
+    private Long rangeStart;
+    private Long rangeEnd;
+    private Long lastProfileId;
+    private Long rowsProcessed = 0L;
+    private Boolean completed = false;
+    private LocalDateTime updatedAt;
+}
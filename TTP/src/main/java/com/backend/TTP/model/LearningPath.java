@@ -3,10 +3,15 @@ package com.backend.TTP.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Data
 public class LearningPath {
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_READY = "READY";
+    public static final String STATUS_FAILED = "FAILED";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,6 +25,12 @@ public class LearningPath {
     private String pathContent;
     private LocalDate createdDate;
     
+    private String status = STATUS_READY; // PENDING, READY, FAILED
+    
+    // Bumped whenever the profile inputs change; only a generation for the current version is kept
+    private Long version = 0L;
+    private LocalDateTime updatedAt;
+    
     // Add explicit getters/setters if Lombok isn't working
     public Long getId() {
         return id;
@@ -52,4 +63,28 @@ public class LearningPath {
     public void setCreatedDate(LocalDate createdDate) {
         this.createdDate = createdDate;
     }
-}
\ No newline at end of file
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
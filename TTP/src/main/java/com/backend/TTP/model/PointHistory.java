@@ -23,4 +23,7 @@ public class PointHistory {
     private LocalDateTime earnedAt;
     private String description;
     private Long relatedEntityId; // courseId, goalId, etc.
+    
+    @Column(unique = true)
+    private String ledgerId; // Set when written through the point ledger
 }
\ No newline at end of file
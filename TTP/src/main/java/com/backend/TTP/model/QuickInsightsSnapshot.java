@@ -0,0 +1,38 @@
+package com.backend.TTP.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Last computed quick insights for a user, so a restart or a cache eviction does not mean
+ * recomputing them on the next dashboard load
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id"}))
+public class QuickInsightsSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    private Double completionRate;
+    private Double averageScore;
+    private Integer loginStreak;
+    private String currentBadgeLevel;
+    
+    @Column(length = 500)
+    private String topStrength;
+    
+    @Column(length = 500)
+    private String topRecommendation;
+    
+    private LocalDateTime generatedAt;
+}
@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "achievement_id"}))
 public class UserAchievement {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,38 @@
+package com.backend.TTP.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user rollup of the figures reports read on every request. Refreshed whenever the user's
+ * enrollments, scores or goals change; the weekly figures belong to the week starting weekStart.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_learning_stats", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id"}))
+public class UserLearningStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    private Integer totalCourses = 0;
+    private Integer scoredCourses = 0;
+    private Double averageScore = 0.0;
+    
+    private LocalDate weekStart;
+    private Double allocatedHoursThisWeek = 0.0;
+    private Integer hoursSpentThisWeek = 0;
+    private Integer goalsThisWeek = 0;
+    private Integer completedGoalsThisWeek = 0;
+    
+    private LocalDateTime updatedAt;
+}
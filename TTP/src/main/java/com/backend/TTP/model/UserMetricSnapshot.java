@@ -0,0 +1,36 @@
+package com.backend.TTP.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * One user's key metrics as they stood at the end of a day. Rows are only ever appended, one per
+ * user per day; the (user_id, snapshot_date) index serves trend queries as range scans.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_metric_snapshot",
+       uniqueConstraints = @UniqueConstraint(name = "uk_metric_snapshot_user_date", columnNames = {"user_id", "snapshot_date"}),
+       indexes = @Index(name = "idx_metric_snapshot_date", columnList = "snapshot_date"))
+public class UserMetricSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+    
+    private Integer totalPoints;
+    private Double completionRate;
+    private Double averageScore;
+    private Integer hoursThisWeek;
+    private Integer loginStreak;
+}
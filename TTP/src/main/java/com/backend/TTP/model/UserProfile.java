@@ -2,12 +2,14 @@ package com.backend.TTP.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Data
+@DynamicUpdate // Only write changed columns so profile saves never overwrite ledger point increments
 public class UserProfile {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
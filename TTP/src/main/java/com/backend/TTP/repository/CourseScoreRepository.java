@@ -7,19 +7,61 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseScoreRepository extends JpaRepository<CourseScore, Long> {
     List<CourseScore> findByUser(User user);
+    
+    @Query("SELECT AVG(cs.percentage) AS averagePercentage, COUNT(cs) AS scoreCount, " +
+           "MIN(cs.percentage) AS minPercentage, MAX(cs.percentage) AS maxPercentage " +
+           "FROM CourseScore cs WHERE cs.user.id = :userId")
+    ScoreAggregate summarizeByUserId(@Param("userId") Long userId);
 
     @Query("SELECT AVG(cs.score) FROM CourseScore cs WHERE cs.user = :user")
     Double findAverageScoreByUser(User user);
     
     @Query("SELECT COUNT(cs) FROM CourseScore cs WHERE cs.user = :user")
     Long countByUser(User user);
+    
+    @Query("SELECT COUNT(cs) FROM CourseScore cs WHERE cs.user.id = :userId AND cs.percentage >= :minPercentage")
+    Long countByUserIdWithPercentageAtLeast(@Param("userId") Long userId, @Param("minPercentage") Double minPercentage);
 
     @Query("SELECT cs FROM CourseScore cs WHERE cs.user = :user AND cs.courseId = :courseId")
     Optional<CourseScore> findByUserAndCourseId(@Param("user") User user, @Param("courseId") Long courseId);
+    
+    // Score aggregates per course tag, skipping tags that are too generic to name a skill
+    @Query("SELECT t AS tag, AVG(cs.percentage) AS averagePercentage, COUNT(cs) AS scoreCount, " +
+           "MIN(cs.percentage) AS minPercentage, MAX(cs.percentage) AS maxPercentage " +
+           "FROM CourseScore cs, Course c JOIN c.tags t " +
+           "WHERE c.id = cs.courseId AND cs.user = :user AND LOWER(TRIM(t)) NOT IN :genericTags " +
+           "GROUP BY t")
+    List<TagScoreAggregate> aggregateByTag(@Param("user") User user, @Param("genericTags") Collection<String> genericTags);
+    
+    // Score aggregates per course, for courses with no tag that aggregateByTag would count
+    @Query("SELECT c.title AS title, c.category AS category, AVG(cs.percentage) AS averagePercentage, " +
+           "COUNT(cs) AS scoreCount, MIN(cs.percentage) AS minPercentage, MAX(cs.percentage) AS maxPercentage " +
+           "FROM CourseScore cs, Course c " +
+           "WHERE c.id = cs.courseId AND cs.user = :user AND NOT EXISTS (" +
+           "SELECT t FROM Course tc JOIN tc.tags t WHERE tc.id = c.id AND LOWER(TRIM(t)) NOT IN :genericTags) " +
+           "GROUP BY c.id, c.title, c.category")
+    List<CourseScoreAggregate> aggregateUntaggedByCourse(@Param("user") User user, @Param("genericTags") Collection<String> genericTags);
+    
+    interface ScoreAggregate {
+        Double getAveragePercentage();
+        Long getScoreCount();
+        Double getMinPercentage();
+        Double getMaxPercentage();
+    }
+    
+    interface TagScoreAggregate extends ScoreAggregate {
+        String getTag();
+    }
+    
+    interface CourseScoreAggregate extends ScoreAggregate {
+        String getTitle();
+        String getCategory();
+    }
 }
\ No newline at end of file
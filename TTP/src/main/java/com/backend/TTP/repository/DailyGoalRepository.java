@@ -18,9 +18,26 @@ public interface DailyGoalRepository extends JpaRepository<DailyGoal, Long> {
     
     List<DailyGoal> findByUserIdAndGoalDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
     
+    Long countByUserIdAndIsCompletedTrue(Long userId);
+    
     @Query("SELECT SUM(g.allocatedHours) FROM DailyGoal g WHERE g.user.id = :userId AND g.goalDate BETWEEN :startDate AND :endDate")
     Double sumAllocatedHoursByUserIdAndDateRange(
             @Param("userId") Long userId, 
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+    
+    // Goal count, completed count and allocated hours over a date range, for the learning stats rollup
+    @Query("SELECT COUNT(g) AS goalCount, SUM(CASE WHEN g.isCompleted = true THEN 1 ELSE 0 END) AS completedCount, " +
+           "SUM(g.allocatedHours) AS allocatedHours " +
+           "FROM DailyGoal g WHERE g.user.id = :userId AND g.goalDate BETWEEN :startDate AND :endDate")
+    GoalSummary summarizeByUserIdAndDateRange(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+    
+    interface GoalSummary {
+        Long getGoalCount();
+        Long getCompletedCount();
+        Double getAllocatedHours();
+    }
 }
\ No newline at end of file
@@ -18,7 +18,17 @@ public interface EnrolledCourseRepository extends JpaRepository<EnrolledCourse,
     Optional<EnrolledCourse> findByUserAndCourse(User user, Course course);
     List<EnrolledCourse> findByUserAndTargetCompletionDateBetween(User user, LocalDate startDate, LocalDate endDate);
     Long countByUserAndStatus(User user, String status);
+    Long countByUserIdAndStatus(Long userId, String status);
+    Long countByUserId(Long userId);
+    
+    // Hours logged this week across the user's enrollments; a course last touched in an earlier week counts as 0
+    @Query("SELECT COALESCE(SUM(ec.hoursSpentThisWeek), 0) FROM EnrolledCourse ec WHERE ec.user.id = :userId AND ec.weekStartDate = :weekStart")
+    Long sumHoursSpentThisWeek(@Param("userId") Long userId, @Param("weekStart") LocalDate weekStart);
     
     @Query("SELECT ec FROM EnrolledCourse ec WHERE ec.user = :user AND ec.course.id = :courseId")
     Optional<EnrolledCourse> findByUserAndCourseId(@Param("user") User user, @Param("courseId") Long courseId);
+    
+    // Enrollments with their courses in one statement, for report snapshots
+    @Query("SELECT ec FROM EnrolledCourse ec JOIN FETCH ec.user LEFT JOIN FETCH ec.course WHERE ec.user = :user")
+    List<EnrolledCourse> findWithCoursesByUser(@Param("user") User user);
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.backend.TTP.repository;
 
 import com.backend.TTP.model.LeaderboardEntry;
 import com.backend.TTP.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -17,8 +19,30 @@ public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEnt
     @Query("SELECT le FROM LeaderboardEntry le WHERE le.date = :date ORDER BY le.totalPoints DESC, le.user.username ASC")
     List<LeaderboardEntry> findDailyLeaderboard(LocalDate date);
     
+    // Daily leaderboard rows with badge level in one round trip, limited by the page size
+    @Query("SELECT u.id AS userId, u.username AS username, le.totalPoints AS totalPoints, p.currentBadgeLevel AS badgeLevel " +
+           "FROM LeaderboardEntry le JOIN le.user u LEFT JOIN UserProfile p ON p.user = u " +
+           "WHERE le.date = :date ORDER BY le.totalPoints DESC, u.username ASC")
+    List<LeaderboardRow> findDailyLeaderboardRows(LocalDate date, Pageable pageable);
+    
+    @Query("SELECT u.id AS userId, u.username AS username, le.totalPoints AS totalPoints, p.currentBadgeLevel AS badgeLevel " +
+           "FROM LeaderboardEntry le JOIN le.user u LEFT JOIN UserProfile p ON p.user = u " +
+           "WHERE le.user = :user AND le.date = :date")
+    Optional<LeaderboardRow> findLeaderboardRow(User user, LocalDate date);
+    
+    // Stored snapshot rows for a date, ordered by whichever rank column the pageable sorts on
+    @EntityGraph(attributePaths = "user")
+    List<LeaderboardEntry> findByDate(LocalDate date, Pageable pageable);
+    
     // Get user's daily rank based on TOTAL POINTS
     @Query("SELECT COUNT(DISTINCT le.user) + 1 FROM LeaderboardEntry le WHERE le.date = :date AND le.totalPoints > " +
            "(SELECT COALESCE(le2.totalPoints, 0) FROM LeaderboardEntry le2 WHERE le2.user = :user AND le2.date = :date)")
     Integer findUserDailyRank(User user, LocalDate date);
+    
+    interface LeaderboardRow {
+        Long getUserId();
+        String getUsername();
+        Integer getTotalPoints();
+        String getBadgeLevel();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.backend.TTP.repository;
+
+import com.backend.TTP.model.LeaderboardJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LeaderboardJobCheckpointRepository extends JpaRepository<LeaderboardJobCheckpoint, Long> {
+    List<LeaderboardJobCheckpoint> findByJobDateOrderByShard(LocalDate jobDate);
+    
+    @Modifying
+    void deleteByJobDate(LocalDate jobDate);
+}
@@ -0,0 +1,28 @@
+package com.backend.TTP.repository;
+
+import com.backend.TTP.model.LearningPath;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LearningPathRepository extends JpaRepository<LearningPath, Long> {
+    
+    // Store generated content only if no newer save has bumped the version meanwhile
+    @Modifying
+    @Query("UPDATE LearningPath p SET p.pathContent = :content, p.createdDate = :createdDate, p.status = 'READY', " +
+           "p.updatedAt = :updatedAt WHERE p.id = :id AND p.version = :version")
+    int completeIfCurrent(Long id, Long version, String content, LocalDate createdDate, LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("UPDATE LearningPath p SET p.status = 'FAILED', p.updatedAt = :updatedAt WHERE p.id = :id AND p.version = :version")
+    int failIfCurrent(Long id, Long version, LocalDateTime updatedAt);
+    
+    @Query("SELECT p.userProfile.id FROM LearningPath p WHERE p.status = 'PENDING' AND p.updatedAt < :before ORDER BY p.updatedAt")
+    List<Long> findPendingProfileIdsBefore(LocalDateTime before, Pageable pageable);
+}
@@ -5,7 +5,9 @@ import com.backend.TTP.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +21,28 @@ public interface PointHistoryRepository extends JpaRepository<PointHistory, Long
     
     @Query("SELECT SUM(ph.pointsEarned) FROM PointHistory ph WHERE ph.user = :user AND ph.earnedAt >= :startDate")
     Integer getPointsByUserSince(User user, LocalDateTime startDate);
+    
+    // Points per user per day since a start time, used to seed the leaderboard windows
+    @Query("SELECT ph.user.id AS userId, ph.user.username AS username, CAST(ph.earnedAt AS LocalDate) AS day, " +
+           "SUM(ph.pointsEarned) AS points FROM PointHistory ph WHERE ph.earnedAt >= :since " +
+           "GROUP BY ph.user.id, ph.user.username, CAST(ph.earnedAt AS LocalDate)")
+    List<DailyPoints> findDailyPointTotalsSince(LocalDateTime since);
+    
+    // Total points plus the part of it already written for the given ledger ids, read in one statement
+    @Query("SELECT COALESCE(SUM(ph.pointsEarned), 0) AS totalPoints, " +
+           "COALESCE(SUM(CASE WHEN ph.ledgerId IN :ledgerIds THEN ph.pointsEarned ELSE 0 END), 0) AS ledgerPoints " +
+           "FROM PointHistory ph WHERE ph.user = :user")
+    PointTotals getPointTotals(User user, Collection<String> ledgerIds);
+    
+    interface PointTotals {
+        Long getTotalPoints();
+        Long getLedgerPoints();
+    }
+    
+    interface DailyPoints {
+        Long getUserId();
+        String getUsername();
+        LocalDate getDay();
+        Long getPoints();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.backend.TTP.repository;
+
+import com.backend.TTP.model.QuickInsightsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface QuickInsightsSnapshotRepository extends JpaRepository<QuickInsightsSnapshot, Long> {
+    Optional<QuickInsightsSnapshot> findByUserId(Long userId);
+}
@@ -3,11 +3,17 @@ package com.backend.TTP.repository;
 import com.backend.TTP.model.User;
 import com.backend.TTP.model.UserAchievement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface UserAchievementRepository extends JpaRepository<UserAchievement, Long> {
     List<UserAchievement> findByUser(User user);
     List<UserAchievement> findByUserOrderByEarnedAtDesc(User user);
+    
+    @Query("SELECT ua.achievement.id FROM UserAchievement ua WHERE ua.user.id = :userId")
+    Set<Long> findAchievementIdsByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,21 @@
+package com.backend.TTP.repository;
+
+import com.backend.TTP.model.UserLearningStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserLearningStatsRepository extends JpaRepository<UserLearningStats, Long> {
+    Optional<UserLearningStats> findByUserId(Long userId);
+
+    /**
+     * Users among the given ids that have a profile but no rollup row yet
+     */
+    @Query("SELECT p.user.id FROM UserProfile p WHERE p.user.id IN :userIds " +
+           "AND NOT EXISTS (SELECT s FROM UserLearningStats s WHERE s.userId = p.user.id)")
+    List<Long> findProfileUserIdsWithoutStats(Collection<Long> userIds);
+}
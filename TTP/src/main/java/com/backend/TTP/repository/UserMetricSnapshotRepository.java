@@ -0,0 +1,21 @@
+package com.backend.TTP.repository;
+
+import com.backend.TTP.model.UserMetricSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserMetricSnapshotRepository extends JpaRepository<UserMetricSnapshot, Long> {
+    
+    // Range scan over the (user_id, snapshot_date) index
+    List<UserMetricSnapshot> findByUserIdAndSnapshotDateBetweenOrderBySnapshotDate(Long userId, LocalDate from, LocalDate to);
+    
+    @Query("SELECT MAX(s.loginStreak) FROM UserMetricSnapshot s WHERE s.userId = :userId")
+    Integer findLongestLoginStreak(Long userId);
+    
+    long countBySnapshotDate(LocalDate snapshotDate);
+}
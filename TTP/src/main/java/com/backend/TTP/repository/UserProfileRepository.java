@@ -2,11 +2,71 @@ package com.backend.TTP.repository;
 
 import com.backend.TTP.model.User;
 import com.backend.TTP.model.UserProfile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import java.util.Optional;
 import java.util.List;
 
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
     Optional<UserProfile> findByUser(User user);
     List<UserProfile> findAll();
-}
\ No newline at end of file
+    
+    // Profile with its skills and learning path in one statement, for report snapshots
+    @Query("SELECT p FROM UserProfile p JOIN FETCH p.user LEFT JOIN FETCH p.skills LEFT JOIN FETCH p.learningPath WHERE p.user = :user")
+    Optional<UserProfile> findWithSkillsByUser(User user);
+    
+    // Lightweight points view used to seed the in-memory leaderboard index
+    @Query("SELECT p.user.id AS userId, p.user.username AS username, p.totalPoints AS totalPoints, " +
+           "p.currentBadgeLevel AS badgeLevel FROM UserProfile p")
+    List<PointStanding> findAllPointStandings();
+    
+    // Career stage per user, for the leaderboard index's career stage cohorts
+    @Query("SELECT p.user.id AS userId, p.careerStage AS careerStage FROM UserProfile p")
+    List<CareerStageView> findAllCareerStages();
+    
+    // Current points straight from the database, bypassing any profile already loaded in the session
+    @Query("SELECT p.user.id AS userId, p.user.username AS username, p.totalPoints AS totalPoints, " +
+           "p.currentBadgeLevel AS badgeLevel FROM UserProfile p WHERE p.user = :user")
+    Optional<PointStanding> findPointStanding(User user);
+    
+    // Atomic increment, so concurrent awards for the same user never overwrite each other
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserProfile p SET p.totalPoints = COALESCE(p.totalPoints, 0) + :points WHERE p.user = :user")
+    int addPoints(User user, Integer points);
+    
+    // Compare-and-set on the badge level; returns 0 if another award already moved it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserProfile p SET p.currentBadgeLevel = :newLevel WHERE p.user = :user AND COALESCE(p.currentBadgeLevel, 'NOVICE') = :expectedLevel")
+    int updateBadgeLevel(User user, String expectedLevel, String newLevel);
+    
+    // Keyset page of standings for the leaderboard job: profiles after afterId up to maxId, in id order
+    @Query("SELECT p.id AS profileId, p.user.id AS userId, p.user.username AS username, p.totalPoints AS totalPoints, " +
+           "p.currentBadgeLevel AS badgeLevel FROM UserProfile p WHERE p.id > :afterId AND p.id <= :maxId ORDER BY p.id")
+    List<ProfileStanding> findStandingsAfter(Long afterId, Long maxId, Pageable pageable);
+    
+    @Query("SELECT MIN(p.id) AS minId, MAX(p.id) AS maxId FROM UserProfile p")
+    ProfileIdRange findProfileIdRange();
+    
+    interface PointStanding {
+        Long getUserId();
+        String getUsername();
+        Integer getTotalPoints();
+        String getBadgeLevel();
+    }
+    
+    interface ProfileStanding extends PointStanding {
+        Long getProfileId();
+    }
+    
+    interface CareerStageView {
+        Long getUserId();
+        String getCareerStage();
+    }
+    
+    interface ProfileIdRange {
+        Long getMinId();
+        Long getMaxId();
+    }
+}
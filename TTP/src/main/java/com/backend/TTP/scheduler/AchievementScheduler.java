@@ -13,6 +13,8 @@ public class AchievementScheduler {
     
     /**
      * Update leaderboard daily at midnight
+     * Slides the daily/weekly/monthly windows onto the new day and stores its opening rank snapshot.
+     * The snapshot is written in checkpointed chunks, so a run that fails resumes where it stopped
      */
     @Scheduled(cron = "0 0 0 * * *") // Run at midnight every day
     public void updateDailyLeaderboard() {
@@ -26,6 +28,7 @@ public class AchievementScheduler {
     
     /**
      * Calculate and award leaderboard bonuses daily at 11:59 PM
+     * Stores the closing window points and ranks for the day before the windows slide at midnight
      */
     @Scheduled(cron = "0 59 23 * * *") // Run at 11:59 PM every day
     public void awardDailyLeaderboardBonuses() {
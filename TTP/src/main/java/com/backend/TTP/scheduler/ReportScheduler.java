@@ -0,0 +1,31 @@
+package com.backend.TTP.scheduler;
+
+import com.backend.TTP.service.report.MetricSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class ReportScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ReportScheduler.class);
+    
+    @Autowired
+    private MetricSnapshotService metricSnapshotService;
+    
+    /**
+     * Append the day's metric snapshot for every user just before midnight, after the day's
+     * leaderboard bonuses have been awarded at 23:59
+     */
+    @Scheduled(cron = "${reports.snapshots.cron:30 59 23 * * *}")
+    public void captureDailyMetricSnapshots() {
+        try {
+            metricSnapshotService.captureAll(LocalDate.now());
+        } catch (Exception e) {
+            logger.error("Failed to capture daily metric snapshots: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -3,9 +3,28 @@ package com.backend.TTP.service;
 import com.backend.TTP.dto.*;
 import com.backend.TTP.model.*;
 import com.backend.TTP.repository.*;
+import com.backend.TTP.service.achievement.AchievementEvent;
+import com.backend.TTP.service.achievement.AchievementProfileCache;
+import com.backend.TTP.service.achievement.AchievementProfileChangedEvent;
+import com.backend.TTP.service.badge.BadgeLadder;
+import com.backend.TTP.service.badge.BadgeLadderService;
+import com.backend.TTP.service.leaderboard.LeaderboardIndex;
+import com.backend.TTP.service.leaderboard.LeaderboardPeriod;
+import com.backend.TTP.service.leaderboard.LeaderboardRankService;
+import com.backend.TTP.service.leaderboard.LeaderboardSnapshotJob;
+import com.backend.TTP.service.leaderboard.LeaderboardWindows;
+import com.backend.TTP.service.ledger.PointAccumulator;
+import com.backend.TTP.service.ledger.PointAward;
+import com.backend.TTP.service.ledger.PointLedger;
+import com.backend.TTP.service.report.LearningStatsChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -30,25 +49,64 @@ public class AchievementService {
     @Autowired
     private EnrolledCourseRepository enrolledCourseRepository;
     
-    private static final Map<String, Integer> BADGE_THRESHOLDS = Map.of(
-        "NOVICE", 0,
-        "APPRENTICE", 100,
-        "SCHOLAR", 300,
-        "EXPERT", 700,
-        "MASTER", 1500
-    );
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+    
+    @Autowired
+    private LeaderboardRankService leaderboardRankService;
+    
+    @Autowired
+    private PointLedger pointLedger;
+    
+    @Autowired
+    private PointAccumulator pointAccumulator;
+    
+    @Autowired
+    private LeaderboardWindows leaderboardWindows;
+    
+    @Autowired
+    private LeaderboardSnapshotJob leaderboardSnapshotJob;
+    
+    @Autowired
+    private BadgeLadderService badgeLadderService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private AchievementProfileCache achievementProfileCache;
     
     /**
      * Get user's achievement profile
+     * Served from a per-user cache that is invalidated whenever a change to the profile commits
      */
     public AchievementProfileResponse getAchievementProfile(User user) {
+        return achievementProfileCache.get(user.getId(), () -> loadAchievementProfile(user));
+    }
+    
+    private AchievementProfileResponse loadAchievementProfile(User user) {
         UserProfile profile = userProfileRepository.findByUser(user)
                 .orElseThrow(() -> new RuntimeException("User profile not found"));
         
         Integer totalPoints = profile.getTotalPoints();
         String currentBadge = profile.getCurrentBadgeLevel();
-        String nextBadge = getNextBadgeLevel(currentBadge);
-        Integer pointsToNext = getPointsToNextLevel(totalPoints, nextBadge);
+        if (pointLedger.isEnabled()) {
+            // The running total already counts awards still buffered in the ledger
+            OptionalInt runningTotal = pointAccumulator.current(user.getId());
+            if (runningTotal.isPresent()) {
+                totalPoints = runningTotal.getAsInt();
+                currentBadge = leaderboardIndex.get(user.getId())
+                        .map(LeaderboardIndex.Entry::badgeLevel)
+                        .orElse(currentBadge);
+            }
+        }
+        BadgeLadder ladder = badgeLadderService.current();
+        int level = ladder.indexOf(currentBadge);
+        if (level < 0) {
+            level = ladder.levelIndex(totalPoints);
+        }
+        String nextBadge = ladder.nextLevelName(level);
+        Integer pointsToNext = ladder.pointsToNext(level, totalPoints);
         
         Long completedCourses = enrolledCourseRepository.countByUserAndStatus(user, "COMPLETED");
         Double averageScore = courseScoreRepository.findAverageScoreByUser(user);
@@ -71,17 +129,7 @@ public class AchievementService {
      * Get all badge levels with requirements
      */
     public BadgeLevelResponse getBadgeLevels() {
-        List<BadgeLevelResponse.BadgeLevel> badgeLevels = new ArrayList<>();
-        
-        badgeLevels.add(new BadgeLevelResponse.BadgeLevel("NOVICE", 0, 99, "Learning Explorer", "/badges/novice.png"));
-        badgeLevels.add(new BadgeLevelResponse.BadgeLevel("APPRENTICE", 100, 299, "Knowledge Seeker", "/badges/apprentice.png"));
-        badgeLevels.add(new BadgeLevelResponse.BadgeLevel("SCHOLAR", 300, 699, "Dedicated Learner", "/badges/scholar.png"));
-        badgeLevels.add(new BadgeLevelResponse.BadgeLevel("EXPERT", 700, 1499, "Skill Master", "/badges/expert.png"));
-        badgeLevels.add(new BadgeLevelResponse.BadgeLevel("MASTER", 1500, null, "Learning Champion", "/badges/master.png"));
-        
-        BadgeLevelResponse response = new BadgeLevelResponse();
-        response.setBadgeLevels(badgeLevels);
-        return response;
+        return badgeLadderService.getBadgeLevels();
     }
     
     /**
@@ -138,6 +186,11 @@ public class AchievementService {
                     enrolledCourse.getId());
         }
         
+        // Score-based achievements are evaluated asynchronously once this commits
+        eventPublisher.publishEvent(AchievementEvent.scoreRecorded(user.getId()));
+        eventPublisher.publishEvent(new AchievementProfileChangedEvent(user.getId()));
+        eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
+        
         return courseScore;
     }
     
@@ -167,25 +220,31 @@ public class AchievementService {
             
             // Award login points
             awardPoints(user, "DAILY_LOGIN", 1, "Daily login streak: " + currentStreak, null);
+            eventPublisher.publishEvent(AchievementEvent.loginStreak(user.getId(), currentStreak));
         }
     }
     
     /**
-     * Get leaderboard - SIMPLIFIED FOR DAILY ONLY
+     * Get leaderboard for a period
+     * daily, weekly and monthly rank points earned in that sliding window; anything else ranks total points.
+     * Both are served from in-memory indexes; the table is only read until the all-time index is loaded
      */
     public LeaderboardResponse getLeaderboard(User user, String period, Integer limit) {
-        // Only support daily leaderboard now
+        LeaderboardPeriod window = LeaderboardPeriod.fromParam(period);
         List<LeaderboardUserDTO> topUsers = new ArrayList<>();
         LeaderboardUserDTO currentUserEntry = null;
         
-        LocalDate today = LocalDate.now();
-        
-        // Ensure leaderboard is up to date (but don't trigger from awardPoints to avoid loop)
-        updateDailyLeaderboard();
-        
-        // Get daily leaderboard (showing total points, not daily points)
-        topUsers = getDailyLeaderboard(today, limit);
-        currentUserEntry = getCurrentUserLeaderboardPosition(user, today);
+        if (window != null && leaderboardWindows.isLoaded()) {
+            topUsers = leaderboardRankService.getTopUsers(window, limit);
+            currentUserEntry = leaderboardRankService.getStanding(user, window);
+        } else if (leaderboardIndex.isLoaded()) {
+            topUsers = leaderboardRankService.getTopUsers(limit);
+            currentUserEntry = leaderboardRankService.getStanding(user);
+        } else {
+            LocalDate today = LocalDate.now();
+            topUsers = getDailyLeaderboard(today, limit);
+            currentUserEntry = getCurrentUserLeaderboardPosition(user, today);
+        }
         
         // Set isCurrentUser flag for users in the top list
         for (LeaderboardUserDTO topUser : topUsers) {
@@ -203,15 +262,43 @@ public class AchievementService {
         LeaderboardResponse response = new LeaderboardResponse();
         response.setTopUsers(topUsers);
         response.setCurrentUser(currentUserEntry);
-        response.setPeriod("daily");
+        response.setPeriod(window != null && leaderboardWindows.isLoaded() ? window.getParam() : "all-time");
         
         return response;
     }
     
+    /**
+     * Get the leaderboard snapshot stored for a date, ranked by one window's materialized rank
+     */
+    public LeaderboardResponse getLeaderboardSnapshot(User user, LocalDate date, LeaderboardPeriod period, Integer limit) {
+        String rankColumn = period.getParam() + "Rank";
+        List<LeaderboardEntry> entries = leaderboardEntryRepository.findByDate(date,
+                PageRequest.of(0, Math.max(1, limit), Sort.by(Sort.Order.asc(rankColumn).nullsLast(), Sort.Order.asc("user.username"))));
+        
+        List<LeaderboardUserDTO> topUsers = new ArrayList<>();
+        for (LeaderboardEntry entry : entries) {
+            topUsers.add(toSnapshotDto(entry, period, user));
+        }
+        
+        LeaderboardResponse response = new LeaderboardResponse();
+        response.setTopUsers(topUsers);
+        response.setCurrentUser(leaderboardEntryRepository.findByUserAndDate(user, date)
+                .map(entry -> toSnapshotDto(entry, period, user))
+                .orElse(null));
+        response.setPeriod(period.getParam());
+        return response;
+    }
+    
     /**
      * Get point history for user
      */
     public PointHistoryResponse getPointHistory(User user, LocalDateTime startDate, LocalDateTime endDate) {
+        // Read the ledger's pending awards before the table, so an award flushed in between is
+        // found in the table rather than missed by both reads
+        List<PointAward> pending = pointLedger.isEnabled()
+                ? pointLedger.pendingFor(user.getId())
+                : Collections.emptyList();
+        
         List<PointHistory> history;
         
         if (startDate != null && endDate != null) {
@@ -229,7 +316,35 @@ public class AchievementService {
                 ))
                 .collect(Collectors.toList());
         
-        Integer totalPoints = pointHistoryRepository.getTotalPointsByUser(user);
+        Integer totalPoints;
+        
+        if (pending.isEmpty()) {
+            totalPoints = pointHistoryRepository.getTotalPointsByUser(user);
+        } else {
+            // Include awards the ledger has not flushed yet, newest first like the stored history
+            Set<String> stored = history.stream()
+                    .map(PointHistory::getLedgerId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            for (PointAward award : pending) {
+                boolean inRange = startDate == null || endDate == null
+                        || (!award.earnedAt().isBefore(startDate) && !award.earnedAt().isAfter(endDate));
+                if (inRange && !stored.contains(award.ledgerId())) {
+                    items.add(0, new PointHistoryResponse.PointHistoryItem(
+                            award.activityType(),
+                            award.points(),
+                            award.earnedAt(),
+                            award.description()
+                    ));
+                }
+            }
+            
+            // Stored total and the pending awards that already reached the table, from one consistent read
+            PointHistoryRepository.PointTotals totals = pointHistoryRepository.getPointTotals(user,
+                    pending.stream().map(PointAward::ledgerId).toList());
+            int pendingPoints = pending.stream().mapToInt(PointAward::points).sum();
+            totalPoints = (int) (totals.getTotalPoints() + pendingPoints - totals.getLedgerPoints());
+        }
         
         PointHistoryResponse response = new PointHistoryResponse();
         response.setPointHistory(items);
@@ -240,33 +355,11 @@ public class AchievementService {
     
     /**
      * FIXED: Update leaderboard with TOTAL POINTS - NO BONUS AWARDING
+     * Also materializes today's daily/weekly/monthly window points and ranks from the leaderboard windows
      */
-    @Transactional
     public void updateDailyLeaderboard() {
-        LocalDate today = LocalDate.now();
-        
-        // Get all users with their profiles
-        List<UserProfile> allProfiles = userProfileRepository.findAll();
-        
-        for (UserProfile profile : allProfiles) {
-            User user = profile.getUser();
-            
-            // Use TOTAL POINTS from profile instead of calculating daily points
-            Integer totalPoints = profile.getTotalPoints();
-            
-            // Create or update leaderboard entry
-            LeaderboardEntry entry = leaderboardEntryRepository.findByUserAndDate(user, today)
-                    .orElse(new LeaderboardEntry());
-            
-            entry.setUser(user);
-            entry.setDate(today);
-            entry.setDailyPoints(totalPoints); // Store total points in dailyPoints field
-            entry.setWeeklyPoints(totalPoints); // Keep these for compatibility
-            entry.setMonthlyPoints(totalPoints);
-            entry.setTotalPoints(totalPoints);
-            
-            leaderboardEntryRepository.save(entry);
-        }
+        // Chunked and checkpointed; each chunk commits on its own, so there is no transaction here
+        leaderboardSnapshotJob.run(LocalDate.now());
         
         // REMOVED: Don't award leaderboard bonuses here to avoid infinite loop
         // awardLeaderboardBonuses(today);
@@ -281,13 +374,33 @@ public class AchievementService {
         awardPoints(user, "COURSE_COMPLETION", 20, 
                    "Completed course: " + enrolledCourse.getCourse().getTitle(), 
                    enrolledCourse.getId());
+        eventPublisher.publishEvent(AchievementEvent.courseCompleted(user.getId()));
     }
     
     /**
      * FIXED: Award points WITHOUT triggering leaderboard update to avoid loop
+     * With the point ledger enabled the award is buffered once the caller's transaction commits
+     * and written out by the ledger's next batched flush
      */
     @Transactional
     public void awardPoints(User user, String activityType, Integer points, String description, Long relatedEntityId) {
+        if (pointLedger.isEnabled()) {
+            Long userId = user.getId();
+            String username = user.getUsername();
+            
+            // Seed the running total now so a missing profile still fails the caller's transaction.
+            // Awards only reach the ledger through the accumulator, so an untracked user has none pending.
+            if (!pointAccumulator.isTracked(userId)) {
+                UserProfileRepository.PointStanding standing = userProfileRepository.findPointStanding(user)
+                        .orElseThrow(() -> new RuntimeException("User profile not found"));
+                int storedTotal = standing.getTotalPoints() != null ? standing.getTotalPoints() : 0;
+                pointAccumulator.seedIfAbsent(userId, () -> storedTotal);
+            }
+            
+            runAfterCommit(() -> appendToLedger(userId, username, activityType, points, description, relatedEntityId));
+            return;
+        }
+        
         // Create point history record
         PointHistory pointHistory = new PointHistory();
         pointHistory.setUser(user);
@@ -298,26 +411,29 @@ public class AchievementService {
         pointHistory.setRelatedEntityId(relatedEntityId);
         
         pointHistoryRepository.save(pointHistory);
+        recordWindowPoints(user, points);
         
-        // Update user's total points
-        UserProfile profile = userProfileRepository.findByUser(user)
+        // Update user's total points with an atomic increment rather than read-modify-write
+        if (userProfileRepository.addPoints(user, points) == 0) {
+            throw new RuntimeException("User profile not found");
+        }
+        UserProfileRepository.PointStanding standing = userProfileRepository.findPointStanding(user)
                 .orElseThrow(() -> new RuntimeException("User profile not found"));
         
-        profile.setTotalPoints(profile.getTotalPoints() + points);
-        
-        // Check for badge level up
-        String newBadgeLevel = calculateBadgeLevel(profile.getTotalPoints());
-        if (!newBadgeLevel.equals(profile.getCurrentBadgeLevel())) {
-            profile.setCurrentBadgeLevel(newBadgeLevel);
-            
+        // Check for badge level up; only the award that wins the badge compare-and-set gets the bonus
+        BadgeLadder ladder = badgeLadderService.current();
+        String currentBadgeLevel = standing.getBadgeLevel() != null ? standing.getBadgeLevel() : "NOVICE";
+        int newLevel = ladder.levelIndex(standing.getTotalPoints());
+        String newBadgeLevel = ladder.levelName(newLevel);
+        if (!newBadgeLevel.equals(currentBadgeLevel)
+                && userProfileRepository.updateBadgeLevel(user, currentBadgeLevel, newBadgeLevel) == 1) {
             // Award badge level up bonus (but don't trigger leaderboard update here)
-            awardBadgeLevelUpBonusWithoutUpdate(user, newBadgeLevel);
+            awardBadgeLevelUpBonusWithoutUpdate(user, newBadgeLevel, ladder.bonus(newLevel));
         }
         
-        userProfileRepository.save(profile);
-        
         // Update the user's leaderboard entry immediately (but only for this user)
         updateUserLeaderboardEntry(user);
+        eventPublisher.publishEvent(new AchievementProfileChangedEvent(user.getId()));
     }
     
     /**
@@ -326,39 +442,48 @@ public class AchievementService {
     @Transactional
     public void updateUserLeaderboardEntry(User user) {
         LocalDate today = LocalDate.now();
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
+        // Read the stored standing rather than the session's profile, which may predate atomic increments
+        UserProfileRepository.PointStanding standing = userProfileRepository.findPointStanding(user).orElse(null);
         
-        if (profile != null) {
-            Integer totalPoints = profile.getTotalPoints();
+        if (standing != null) {
+            Integer totalPoints = standing.getTotalPoints();
             
             LeaderboardEntry entry = leaderboardEntryRepository.findByUserAndDate(user, today)
                     .orElse(new LeaderboardEntry());
             
             entry.setUser(user);
             entry.setDate(today);
-            entry.setDailyPoints(totalPoints);
-            entry.setWeeklyPoints(totalPoints);
-            entry.setMonthlyPoints(totalPoints);
             entry.setTotalPoints(totalPoints);
+            // Window ranks are only materialized by updateDailyLeaderboard
             
             leaderboardEntryRepository.save(entry);
+            publishStanding(user, totalPoints, standing.getBadgeLevel());
         }
     }
     
+    /**
+     * Make sure a user with a profile shows up in the leaderboard index (e.g. a newly created profile).
+     * An existing standing is left alone, since it may include awards the profile row has not seen yet.
+     * The career stage is always refreshed, so cohort percentiles follow profile edits.
+     */
+    public void publishStanding(User user, UserProfile profile) {
+        Long userId = user.getId();
+        String username = user.getUsername();
+        int points = profile.getTotalPoints() != null ? profile.getTotalPoints() : 0;
+        String badgeLevel = profile.getCurrentBadgeLevel();
+        String careerStage = profile.getCareerStage();
+        runAfterCommit(() -> {
+            leaderboardIndex.putIfAbsent(userId, username, points, badgeLevel);
+            leaderboardIndex.setCareerStage(userId, careerStage);
+        });
+    }
+    
     // Private helper methods
     
     /**
      * FIXED: Award badge bonus without triggering leaderboard update
      */
-    private void awardBadgeLevelUpBonusWithoutUpdate(User user, String newBadgeLevel) {
-        int bonusPoints = 0;
-        switch (newBadgeLevel) {
-            case "APPRENTICE": bonusPoints = 10; break;
-            case "SCHOLAR": bonusPoints = 25; break;
-            case "EXPERT": bonusPoints = 50; break;
-            case "MASTER": bonusPoints = 100; break;
-        }
-        
+    private void awardBadgeLevelUpBonusWithoutUpdate(User user, String newBadgeLevel, int bonusPoints) {
         if (bonusPoints > 0) {
             // Create separate point history entry for badge bonus
             PointHistory pointHistory = new PointHistory();
@@ -369,79 +494,138 @@ public class AchievementService {
             pointHistory.setDescription("Reached " + newBadgeLevel + " level!");
             
             pointHistoryRepository.save(pointHistory);
+            recordWindowPoints(user, bonusPoints);
             
             // Update total points again
-            UserProfile profile = userProfileRepository.findByUser(user)
-                    .orElseThrow(() -> new RuntimeException("User profile not found"));
-            profile.setTotalPoints(profile.getTotalPoints() + bonusPoints);
-            userProfileRepository.save(profile);
+            userProfileRepository.addPoints(user, bonusPoints);
         }
     }
     
-    private Integer calculateScoreBonus(Integer score) {
-        if (score >= 90) return 5;
-        if (score >= 80) return 3;
-        if (score >= 70) return 1;
-        return 0;
+    /**
+     * Update the leaderboard index once the surrounding transaction commits, so a rolled back
+     * award never shows up in the ranking
+     */
+    private void publishStanding(User user, Integer totalPoints, String badgeLevel) {
+        Long userId = user.getId();
+        String username = user.getUsername();
+        int points = totalPoints != null ? totalPoints : 0;
+        runAfterCommit(() -> leaderboardIndex.upsert(userId, username, points, badgeLevel));
     }
     
-    private String calculateBadgeLevel(Integer totalPoints) {
-        if (totalPoints >= 1500) return "MASTER";
-        if (totalPoints >= 700) return "EXPERT";
-        if (totalPoints >= 300) return "SCHOLAR";
-        if (totalPoints >= 100) return "APPRENTICE";
-        return "NOVICE";
+    /**
+     * Run once the current transaction commits, or right away outside a transaction
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
     
-    private String getNextBadgeLevel(String currentLevel) {
-        switch (currentLevel) {
-            case "NOVICE": return "APPRENTICE";
-            case "APPRENTICE": return "SCHOLAR";
-            case "SCHOLAR": return "EXPERT";
-            case "EXPERT": return "MASTER";
-            case "MASTER": return "MASTER";
-            default: return "APPRENTICE";
+    /**
+     * Apply an award to the user's running total and hand it to the point ledger.
+     * Lock-free: the total moves by compare-and-set, and the level-up bonus is decided in the same
+     * step, so concurrent awards neither lose points nor grant a bonus twice.
+     */
+    private void appendToLedger(Long userId, String username, String activityType, Integer points,
+                                String description, Long relatedEntityId) {
+        BadgeLadder ladder = badgeLadderService.current();
+        PointAccumulator.Accrual accrual = pointAccumulator.add(userId, points, ladder::levelUpBonus);
+        String newBadgeLevel = ladder.levelFor(accrual.after());
+        
+        List<PointAward> awards = new ArrayList<>();
+        awards.add(PointAward.of(userId, activityType, points, description, relatedEntityId,
+                newBadgeLevel, accrual.after()));
+        if (accrual.bonus() > 0) {
+            awards.add(PointAward.of(userId, "BADGE_LEVEL_UP", accrual.bonus(),
+                    "Reached " + newBadgeLevel + " level!", null, newBadgeLevel, accrual.total()));
+        }
+        
+        pointLedger.append(userId, awards);
+        leaderboardIndex.upsertIfHigher(userId, username, accrual.total(), newBadgeLevel);
+        for (PointAward award : awards) {
+            leaderboardWindows.record(userId, username, award.points(), award.earnedAt().toLocalDate());
         }
+        // Runs after commit, so the cached profile is dropped only once the running total includes this award
+        eventPublisher.publishEvent(new AchievementProfileChangedEvent(userId));
+    }
+    
+    /**
+     * Count synchronously awarded points towards the leaderboard windows once they are committed
+     */
+    private void recordWindowPoints(User user, int points) {
+        Long userId = user.getId();
+        String username = user.getUsername();
+        LocalDate earnedOn = LocalDate.now();
+        runAfterCommit(() -> leaderboardWindows.record(userId, username, points, earnedOn));
     }
     
-    private Integer getPointsToNextLevel(Integer currentPoints, String nextLevel) {
-        if ("MASTER".equals(nextLevel) && currentPoints >= 1500) {
-            return 0; // Already at max level
+    private LeaderboardUserDTO toSnapshotDto(LeaderboardEntry entry, LeaderboardPeriod period, User currentUser) {
+        LeaderboardUserDTO dto = new LeaderboardUserDTO();
+        dto.setUserId(entry.getUser().getId());
+        dto.setUsername(entry.getUser().getUsername());
+        switch (period) {
+            case DAILY:
+                dto.setPoints(entry.getDailyPoints());
+                dto.setRank(entry.getDailyRank());
+                break;
+            case WEEKLY:
+                dto.setPoints(entry.getWeeklyPoints());
+                dto.setRank(entry.getWeeklyRank());
+                break;
+            case MONTHLY:
+                dto.setPoints(entry.getMonthlyPoints());
+                dto.setRank(entry.getMonthlyRank());
+                break;
         }
-        Integer threshold = BADGE_THRESHOLDS.get(nextLevel);
-        return threshold != null ? Math.max(0, threshold - currentPoints) : 0;
+        dto.setBadgeLevel(leaderboardIndex.get(dto.getUserId()).map(LeaderboardIndex.Entry::badgeLevel).orElse("NOVICE"));
+        dto.setIsCurrentUser(dto.getUserId().equals(currentUser.getId()));
+        return dto;
+    }
+    
+    private Integer calculateScoreBonus(Integer score) {
+        if (score >= 90) return 5;
+        if (score >= 80) return 3;
+        if (score >= 70) return 1;
+        return 0;
     }
     
     /**
      * FIXED: Daily leaderboard now shows TOTAL POINTS
      */
     private List<LeaderboardUserDTO> getDailyLeaderboard(LocalDate date, Integer limit) {
-        List<LeaderboardEntry> entries = leaderboardEntryRepository.findDailyLeaderboard(date);
+        // Single paged query: only the top rows, with badge level joined in
+        List<LeaderboardEntryRepository.LeaderboardRow> rows = leaderboardEntryRepository.findDailyLeaderboardRows(
+                date, PageRequest.of(0, Math.max(1, limit)));
         
         List<LeaderboardUserDTO> result = new ArrayList<>();
         int currentRank = 1;
         Integer previousPoints = null;
         
-        for (int i = 0; i < Math.min(entries.size(), limit); i++) {
-            LeaderboardEntry entry = entries.get(i);
+        for (int i = 0; i < rows.size(); i++) {
+            LeaderboardEntryRepository.LeaderboardRow row = rows.get(i);
             
             // Handle ranking with ties
-            if (previousPoints == null || !previousPoints.equals(entry.getTotalPoints())) {
+            if (previousPoints == null || !previousPoints.equals(row.getTotalPoints())) {
                 currentRank = i + 1;
             }
             
             LeaderboardUserDTO dto = new LeaderboardUserDTO();
-            dto.setUserId(entry.getUser().getId());
-            dto.setUsername(entry.getUser().getUsername());
-            dto.setPoints(entry.getTotalPoints()); // Use total points instead of daily points
+            dto.setUserId(row.getUserId());
+            dto.setUsername(row.getUsername());
+            dto.setPoints(row.getTotalPoints()); // Use total points instead of daily points
             dto.setRank(currentRank);
             dto.setIsCurrentUser(false); // Will be set later in main method
-            
-            UserProfile profile = userProfileRepository.findByUser(entry.getUser()).orElse(null);
-            dto.setBadgeLevel(profile != null ? profile.getCurrentBadgeLevel() : "NOVICE");
+            dto.setBadgeLevel(row.getBadgeLevel() != null ? row.getBadgeLevel() : "NOVICE");
             
             result.add(dto);
-            previousPoints = entry.getTotalPoints();
+            previousPoints = row.getTotalPoints();
         }
         
         return result;
@@ -451,17 +635,15 @@ public class AchievementService {
      * FIXED: Get current user position using total points
      */
     private LeaderboardUserDTO getCurrentUserLeaderboardPosition(User user, LocalDate date) {
-        LeaderboardEntry entry = leaderboardEntryRepository.findByUserAndDate(user, date).orElse(null);
-        if (entry == null) return null;
+        LeaderboardEntryRepository.LeaderboardRow row = leaderboardEntryRepository.findLeaderboardRow(user, date).orElse(null);
+        if (row == null) return null;
         
         LeaderboardUserDTO dto = new LeaderboardUserDTO();
         dto.setUserId(user.getId());
         dto.setUsername(user.getUsername());
         dto.setIsCurrentUser(true);
-        dto.setPoints(entry.getTotalPoints()); // Use total points
-        
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
-        dto.setBadgeLevel(profile != null ? profile.getCurrentBadgeLevel() : "NOVICE");
+        dto.setPoints(row.getTotalPoints()); // Use total points
+        dto.setBadgeLevel(row.getBadgeLevel() != null ? row.getBadgeLevel() : "NOVICE");
         
         // Calculate rank based on total points
         Integer rank = leaderboardEntryRepository.findUserDailyRank(user, date);
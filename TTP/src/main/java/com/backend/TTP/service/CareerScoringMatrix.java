@@ -0,0 +1,199 @@
+package com.backend.TTP.service;
+
+import com.backend.TTP.service.SkillMappingService.CareerPath;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Career paths precompiled for scoring against a user's career stage, goals and skills.
+ *
+ * Career name words, career skills and related skills each get an int id space. Every career
+ * keeps its name word ids, its skill ids and the related-skill closure of its skills: for each
+ * related skill, the summed weight it adds to the career's related-skill potential. A request
+ * encodes the user's input once into bitsets over those id spaces, after which a career's score is
+ * a few bit tests over its own ids. The scores are the same weighted sum the per-career
+ * calculation produced: name match 0.25, goal keyword overlap 0.4, skill match 0.25 and related
+ * skill potential 0.1.
+ */
+final class CareerScoringMatrix {
+
+    private static final int MAX_CACHED_KEYWORDS = 10_000;
+    private static final int[] NO_IDS = new int[0];
+
+    private final int careerCount;
+
+    private final Map<String, Integer> nameWordIds = new HashMap<>();
+    private final int[][] careerNameWords;
+    private final int[] careerNameLengths;
+
+    private final List<String> skillNames = new ArrayList<>();
+    private final Map<String, int[]> skillIdsByLowercase = new HashMap<>();
+    private final int[][] careerSkills;
+
+    private final Map<String, Integer> relatedIds = new HashMap<>();
+    private final int[][] careerRelated;
+    private final double[][] careerRelatedWeights;
+    private final boolean[] undefinedRelated;
+
+    // Career skills containing each goal keyword, filled as keywords are first seen
+    private final Map<String, BitSet> keywordMatches = new ConcurrentHashMap<>();
+
+    /**
+     * Compile the careers, in the order scores are returned. relatedSkills maps every known skill
+     * (by lowercase name) to its related skills.
+     */
+    CareerScoringMatrix(List<CareerPath> careers, Map<String, List<String>> relatedSkills) {
+        careerCount = careers.size();
+        careerNameWords = new int[careerCount][];
+        careerNameLengths = new int[careerCount];
+        careerSkills = new int[careerCount][];
+        careerRelated = new int[careerCount][];
+        careerRelatedWeights = new double[careerCount][];
+        undefinedRelated = new boolean[careerCount];
+
+        Map<String, Integer> skillIds = new HashMap<>();
+        for (int career = 0; career < careerCount; career++) {
+            CareerPath path = careers.get(career);
+
+            String[] nameWords = path.getName().toLowerCase().split("\\W+");
+            careerNameLengths[career] = nameWords.length;
+            careerNameWords[career] = Arrays.stream(nameWords).distinct()
+                .mapToInt(word -> nameWordIds.computeIfAbsent(word, key -> nameWordIds.size()))
+                .toArray();
+
+            List<String> skills = path.getSkills() != null ? path.getSkills() : List.of();
+            careerSkills[career] = new int[skills.size()];
+            Map<Integer, Double> relatedWeights = new LinkedHashMap<>();
+            for (int i = 0; i < skills.size(); i++) {
+                String skill = skills.get(i);
+                careerSkills[career][i] = skillIds.computeIfAbsent(skill, key -> {
+                    skillNames.add(key);
+                    return skillNames.size() - 1;
+                });
+
+                // A known skill adds count / size for each of its related skills the user has
+                List<String> related = relatedSkills.get(skill.toLowerCase());
+                if (related == null) {
+                    continue;
+                }
+                if (related.isEmpty()) {
+                    undefinedRelated[career] = true;
+                }
+                for (String relatedSkill : related) {
+                    int id = relatedIds.computeIfAbsent(relatedSkill, key -> relatedIds.size());
+                    relatedWeights.merge(id, 1.0 / related.size(), Double::sum);
+                }
+            }
+            careerRelated[career] = relatedWeights.keySet().stream().mapToInt(Integer::intValue).toArray();
+            careerRelatedWeights[career] = relatedWeights.values().stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        Map<String, List<Integer>> byLowercase = new HashMap<>();
+        for (int id = 0; id < skillNames.size(); id++) {
+            byLowercase.computeIfAbsent(skillNames.get(id).toLowerCase(), key -> new ArrayList<>()).add(id);
+        }
+        byLowercase.forEach((key, ids) -> skillIdsByLowercase.put(key, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Match score of every career, in compile order. A career scores NaN where the per-career
+     * calculation divided by zero (no skills, or a known skill with no related skills).
+     */
+    double[] score(String careerInput, String goals, List<String> userSkills) {
+        BitSet inputWords = new BitSet();
+        for (String word : careerInput.toLowerCase().split("\\W+")) {
+            Integer id = nameWordIds.get(word);
+            if (id != null) {
+                inputWords.set(id);
+            }
+        }
+
+        BitSet goalSkills = new BitSet();
+        Arrays.stream(goals.split("\\W+"))
+            .filter(word -> word.length() > 3)
+            .distinct()
+            .forEach(keyword -> goalSkills.or(keywordMatches(keyword)));
+
+        BitSet userSkillIds = new BitSet();
+        BitSet userRelated = new BitSet();
+        for (String skill : userSkills) {
+            for (int id : skillIdsByLowercase.getOrDefault(skill, NO_IDS)) {
+                userSkillIds.set(id);
+            }
+            Integer relatedId = relatedIds.get(skill);
+            if (relatedId != null) {
+                userRelated.set(relatedId);
+            }
+        }
+
+        double[] scores = new double[careerCount];
+        for (int career = 0; career < careerCount; career++) {
+            scores[career] = scoreCareer(career, inputWords, goalSkills, userSkillIds, userRelated);
+        }
+        return scores;
+    }
+
+    // Private helper methods
+
+    private double scoreCareer(int career, BitSet inputWords, BitSet goalSkills,
+                               BitSet userSkillIds, BitSet userRelated) {
+        if (undefinedRelated[career]) {
+            return Double.NaN;
+        }
+
+        int nameHits = 0;
+        for (int word : careerNameWords[career]) {
+            if (inputWords.get(word)) {
+                nameHits++;
+            }
+        }
+
+        int[] skills = careerSkills[career];
+        int goalHits = 0;
+        int skillHits = 0;
+        for (int skill : skills) {
+            if (goalSkills.get(skill)) {
+                goalHits++;
+            }
+            if (userSkillIds.get(skill)) {
+                skillHits++;
+            }
+        }
+
+        double relatedSum = 0.0;
+        int[] related = careerRelated[career];
+        for (int i = 0; i < related.length; i++) {
+            if (userRelated.get(related[i])) {
+                relatedSum += careerRelatedWeights[career][i];
+            }
+        }
+
+        double score = 0.0;
+        score += (double) nameHits / careerNameLengths[career] * 0.25;
+        score += (double) goalHits / skills.length * 0.4;
+        score += (double) skillHits / skills.length * 0.25;
+        score += (skills.length > 0 ? relatedSum / skills.length : 0) * 0.1;
+        return score;
+    }
+
+    /**
+     * Ids of the career skills containing the keyword; cached up to MAX_CACHED_KEYWORDS keywords
+     */
+    private BitSet keywordMatches(String keyword) {
+        BitSet cached = keywordMatches.get(keyword);
+        if (cached != null) {
+            return cached;
+        }
+        BitSet matches = new BitSet(skillNames.size());
+        for (int id = 0; id < skillNames.size(); id++) {
+            if (skillNames.get(id).contains(keyword)) {
+                matches.set(id);
+            }
+        }
+        if (keywordMatches.size() < MAX_CACHED_KEYWORDS) {
+            keywordMatches.put(keyword, matches);
+        }
+        return matches;
+    }
+}
@@ -9,7 +9,11 @@ import com.backend.TTP.model.UserProfile;
 import com.backend.TTP.repository.DailyGoalRepository;
 import com.backend.TTP.repository.EnrolledCourseRepository;
 import com.backend.TTP.repository.UserProfileRepository;
+import com.backend.TTP.service.achievement.AchievementEvent;
+import com.backend.TTP.service.achievement.AchievementProfileChangedEvent;
+import com.backend.TTP.service.report.LearningStatsChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
@@ -34,6 +38,9 @@ public class DailyGoalService {
     @Autowired 
     private SkillMappingService skillMappingService;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Gets today's goals for a user, filtering out completed goals and generating
      * recommendations if needed
@@ -117,6 +124,7 @@ public class DailyGoalService {
         goal.setResourceType(request.getResourceType());
         
         DailyGoal saved = dailyGoalRepository.save(goal);
+        eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
         return convertToDTO(saved);
     }
     
@@ -143,6 +151,10 @@ public class DailyGoalService {
         }
         
         List<DailyGoal> updatedGoals = dailyGoalRepository.saveAll(goals);
+        if (!updatedGoals.isEmpty()) {
+            eventPublisher.publishEvent(AchievementEvent.goalCompleted(user.getId()));
+            eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
+        }
         return updatedGoals.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -171,6 +183,7 @@ public class DailyGoalService {
             if (newProgress >= 100 && !"COMPLETED".equals(course.getStatus())) {
                 course.setStatus("COMPLETED");
                 course.setActualCompletionDate(LocalDate.now());
+                eventPublisher.publishEvent(new AchievementProfileChangedEvent(course.getUser().getId()));
             }
         }
         
@@ -355,7 +368,11 @@ public class DailyGoalService {
         }
         
         // Save all the recommended goals
-        return dailyGoalRepository.saveAll(recommendedGoals);
+        List<DailyGoal> saved = dailyGoalRepository.saveAll(recommendedGoals);
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
+        }
+        return saved;
     }
     
     private String generateArticleRecommendation(String skill, String context) {
@@ -434,6 +451,7 @@ public class DailyGoalService {
         }
         
         dailyGoalRepository.delete(goal);
+        eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
     }
     
     private DailyGoalDTO convertToDTO(DailyGoal goal) {
@@ -11,7 +11,10 @@ import com.backend.TTP.model.UserProfile;
 import com.backend.TTP.repository.CourseRepository;
 import com.backend.TTP.repository.EnrolledCourseRepository;
 import com.backend.TTP.repository.UserProfileRepository;
+import com.backend.TTP.service.achievement.AchievementProfileChangedEvent;
+import com.backend.TTP.service.report.LearningStatsChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
@@ -37,6 +40,9 @@ public class EnrolledCourseService {
     @Autowired
     private AchievementService achievementService;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Get all enrolled courses for a user
      */
@@ -78,6 +84,7 @@ public class EnrolledCourseService {
         enrolledCourse.setWeekStartDate(getStartOfWeek(LocalDate.now()));
         
         enrolledCourse = enrolledCourseRepository.save(enrolledCourse);
+        eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
         
         return convertToDTO(enrolledCourse);
     }
@@ -111,6 +118,7 @@ public class EnrolledCourseService {
         enrolledCourse.setWeekStartDate(getStartOfWeek(LocalDate.now()));
         
         enrolledCourse = enrolledCourseRepository.save(enrolledCourse);
+        eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
         
         return convertToDTO(enrolledCourse);
     }
@@ -153,6 +161,12 @@ public class EnrolledCourseService {
         
         enrolledCourse = enrolledCourseRepository.save(enrolledCourse);
         
+        // The completed course count on the achievement profile changes with the status
+        if (wasCompleted != "COMPLETED".equals(enrolledCourse.getStatus())) {
+            eventPublisher.publishEvent(new AchievementProfileChangedEvent(user.getId()));
+        }
+        eventPublisher.publishEvent(new LearningStatsChangedEvent(user.getId()));
+        
         // NEW: Award achievement points for course completion
         if (!wasCompleted && isNowCompleted) {
             // Award base completion points (20 points)
@@ -0,0 +1,174 @@
+package com.backend.TTP.service;
+
+import com.backend.TTP.model.LearningPath;
+import com.backend.TTP.model.UserProfile;
+import com.backend.TTP.repository.LearningPathRepository;
+import com.backend.TTP.repository.UserProfileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates learning paths in the background so profile saves never wait on it.
+ *
+ * A save marks the path PENDING under a new version and, once it commits, queues the profile
+ * here. A profile is queued at most once: a run reads the profile's latest inputs when it starts,
+ * so saves made while it waits ride along. The generated path is stored only if its version is
+ * still current, otherwise the run for the newer save stores its own. Paths left pending by a full
+ * queue or a restart are picked up again by a periodic sweep.
+ */
+@Service
+public class LearningPathGenerationService {
+    private static final Logger logger = LoggerFactory.getLogger(LearningPathGenerationService.class);
+
+    private static final int RECOVERY_BATCH_SIZE = 100;
+
+    @Value("${learning-paths.threads:2}")
+    private int threads;
+
+    @Value("${learning-paths.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${learning-paths.recovery-after-seconds:300}")
+    private long recoveryAfterSeconds;
+
+    @Autowired
+    private LearningPathService learningPathService;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private LearningPathRepository learningPathRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    private record Request(Long pathId, Long version, UserProfile profile) {
+    }
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "learning-path-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLearningPathRequested(LearningPathRequestedEvent event) {
+        enqueue(event.profileId());
+    }
+
+    /**
+     * Queue generation of the profile's learning path unless it is already queued. Never blocks:
+     * when the queue is full the path stays pending until the recovery sweep.
+     */
+    public void enqueue(Long profileId) {
+        if (!queued.add(profileId)) {
+            return; // The queued run reads the profile when it starts, so it will see this save
+        }
+        try {
+            executor.execute(() -> generate(profileId));
+        } catch (RejectedExecutionException e) {
+            queued.remove(profileId);
+            logger.warn("Learning path queue is full, profile {} stays pending until the next sweep", profileId);
+        }
+    }
+
+    /**
+     * Re-queue paths that have been pending for longer than recovery-after-seconds
+     */
+    @Scheduled(fixedDelayString = "${learning-paths.recovery-interval-ms:60000}")
+    public void requeueStalePaths() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(recoveryAfterSeconds);
+        learningPathRepository.findPendingProfileIdsBefore(before, PageRequest.of(0, RECOVERY_BATCH_SIZE))
+                .forEach(this::enqueue);
+    }
+
+    // Private helper methods
+
+    private void generate(Long profileId) {
+        queued.remove(profileId);
+        try {
+            Request request = transactionTemplate.execute(status ->
+                    userProfileRepository.findById(profileId).map(LearningPathGenerationService::toRequest).orElse(null));
+            if (request == null) {
+                return;
+            }
+
+            long started = System.currentTimeMillis();
+            int stored;
+            try {
+                LearningPath generated = learningPathService.generateLearningPath(request.profile());
+                stored = transactionTemplate.execute(status -> learningPathRepository.completeIfCurrent(
+                        request.pathId(), request.version(), generated.getPathContent(),
+                        generated.getCreatedDate(), LocalDateTime.now()));
+            } catch (Exception e) {
+                logger.error("Failed to generate learning path for profile {}: {}", profileId, e.getMessage(), e);
+                stored = transactionTemplate.execute(status ->
+                        learningPathRepository.failIfCurrent(request.pathId(), request.version(), LocalDateTime.now()));
+            }
+
+            if (stored == 0) {
+                logger.debug("Learning path version {} for profile {} was superseded", request.version(), profileId);
+            } else {
+                logger.info("Learning path version {} for profile {} done in {} ms",
+                        request.version(), profileId, System.currentTimeMillis() - started);
+            }
+        } catch (Exception e) {
+            logger.error("Learning path run for profile {} failed: {}", profileId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copy the inputs generation reads off the managed profile, together with the path version they
+     * belong to; null when there is no pending path
+     */
+    private static Request toRequest(UserProfile profile) {
+        LearningPath path = profile.getLearningPath();
+        if (path == null || !LearningPath.STATUS_PENDING.equals(path.getStatus())) {
+            return null;
+        }
+        UserProfile inputs = new UserProfile();
+        inputs.setId(profile.getId());
+        inputs.setUser(profile.getUser());
+        inputs.setCareerStage(profile.getCareerStage());
+        inputs.setSkills(new ArrayList<>(profile.getSkills()));
+        inputs.setGoals(profile.getGoals());
+        inputs.setHoursPerWeek(profile.getHoursPerWeek());
+        return new Request(path.getId(), path.getVersion(), inputs);
+    }
+}
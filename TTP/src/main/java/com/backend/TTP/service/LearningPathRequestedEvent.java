@@ -0,0 +1,7 @@
+package com.backend.TTP.service;
+
+/**
+ * Published when a profile save leaves the profile's learning path pending
+ */
+public record LearningPathRequestedEvent(Long profileId) {
+}
@@ -1,5 +1,6 @@
 package com.backend.TTP.service;
 
+import com.backend.TTP.dto.LearningPathStatusResponse;
 import com.backend.TTP.dto.ProfileRequest;
 import com.backend.TTP.dto.ProfileResponse;
 import com.backend.TTP.model.*;
@@ -8,6 +9,9 @@ import com.backend.TTP.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.ArrayList;
 import org.slf4j.Logger;
@@ -19,16 +23,17 @@ public class ProfileService {
     
     private final UserProfileRepository userProfileRepository;
     private final UserRepository userRepository;
-    private final LearningPathService learningPathService;
     @Autowired
     private AchievementService achievementService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private SkillMappingService skillMappingService;
 
     public ProfileService(UserProfileRepository userProfileRepository,
-                         UserRepository userRepository,
-                         LearningPathService learningPathService) {
+                         UserRepository userRepository) {
         this.userProfileRepository = userProfileRepository;
         this.userRepository = userRepository;
-        this.learningPathService = learningPathService;
     }
 
     public ProfileResponse getProfile(String username) {
@@ -48,8 +53,33 @@ public class ProfileService {
         return mapToResponse(profile);
     }
     
+    /**
+     * Where the user's learning path generation stands, for polling after a profile save
+     */
+    public LearningPathStatusResponse getLearningPathStatus(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        UserProfile profile = userProfileRepository.findByUser(user)
+                .orElseThrow(() -> new RuntimeException("Profile not found"));
+        
+        LearningPath learningPath = profile.getLearningPath();
+        if (learningPath == null) {
+            throw new RuntimeException("Learning path not found");
+        }
+        return new LearningPathStatusResponse(statusOf(learningPath), versionOf(learningPath), learningPath.getUpdatedAt());
+    }
+    
     @Transactional
     public ProfileResponse createOrUpdateProfile(ProfileRequest request, String username) {
+        return createOrUpdateProfile(request, username, false);
+    }
+    
+    /**
+     * Save the profile; regenerate queues a new learning path even when the inputs are unchanged
+     */
+    @Transactional
+    public ProfileResponse createOrUpdateProfile(ProfileRequest request, String username, boolean regenerate) {
         try {
             logger.info("Creating or updating profile for user: {}", username);
             logger.debug("Profile request: {}", request);
@@ -61,6 +91,7 @@ public class ProfileService {
                     .orElse(new UserProfile());
             
             profile.setUser(user);
+            PathInputs previousInputs = PathInputs.of(profile);
             
             // Handle null values with defaults
             profile.setCareerStage(request.getCareerStage() != null ? request.getCareerStage() : "beginner");
@@ -79,28 +110,21 @@ public class ProfileService {
             profile.setGoals(request.getGoals() != null ? request.getGoals() : "improve skills");
             profile.setHoursPerWeek(request.getHoursPerWeek() != null ? request.getHoursPerWeek() : 5);
             
+            // The path is generated in the background once this save commits; an unchanged, usable
+            // path is kept as it is unless a regeneration was asked for
+            boolean regeneratePath = requestLearningPath(profile, previousInputs, regenerate);
+            if (regenerate) {
+                skillMappingService.evictLearningPath(profile);
+            }
+            
             UserProfile savedProfile = userProfileRepository.save(profile);
             logger.info("Saved user profile with ID: {}", savedProfile.getId());
             
-            try {
-                // Generate learning path after saving the profile
-                LearningPath learningPath = learningPathService.generateLearningPath(savedProfile);
-                
-                if (savedProfile.getLearningPath() == null) {
-                    learningPath.setUserProfile(savedProfile);
-                    savedProfile.setLearningPath(learningPath);
-                } else {
-                    savedProfile.getLearningPath().setPathContent(learningPath.getPathContent());
-                    savedProfile.getLearningPath().setCreatedDate(learningPath.getCreatedDate());
-                }
-                
-                savedProfile = userProfileRepository.save(savedProfile);
-                logger.info("Updated profile with learning path for user: {}", username);
-                
-            } catch (Exception e) {
-                logger.error("Error generating learning path: {}", e.getMessage(), e);
-                logger.info("Continuing with profile creation despite learning path generation error");
-                // Continue even if learning path generation fails
+            // Make sure new profiles show up on the leaderboard
+            achievementService.publishStanding(user, savedProfile);
+            
+            if (regeneratePath) {
+                eventPublisher.publishEvent(new LearningPathRequestedEvent(savedProfile.getId()));
             }
             
             return mapToResponse(savedProfile);
@@ -111,6 +135,39 @@ public class ProfileService {
         }
     }
 
+    /**
+     * Mark the profile's learning path pending under a new version, unless it is not forced, its
+     * inputs are unchanged and the stored path is usable; returns whether a generation is needed
+     */
+    private boolean requestLearningPath(UserProfile profile, PathInputs previousInputs, boolean force) {
+        LearningPath learningPath = profile.getLearningPath();
+        if (!force && learningPath != null && previousInputs.equals(PathInputs.of(profile))
+                && !LearningPath.STATUS_FAILED.equals(learningPath.getStatus())) {
+            return false;
+        }
+        
+        if (learningPath == null) {
+            learningPath = new LearningPath();
+            learningPath.setUserProfile(profile);
+            profile.setLearningPath(learningPath);
+        }
+        learningPath.setStatus(LearningPath.STATUS_PENDING);
+        learningPath.setVersion((learningPath.getVersion() != null ? learningPath.getVersion() : 0L) + 1);
+        learningPath.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+    
+    /**
+     * The profile fields a learning path is generated from
+     */
+    private record PathInputs(String careerStage, List<String> skills, String goals, Integer hoursPerWeek) {
+        static PathInputs of(UserProfile profile) {
+            return new PathInputs(profile.getCareerStage(),
+                    profile.getSkills() != null ? new ArrayList<>(profile.getSkills()) : List.of(),
+                    profile.getGoals(), profile.getHoursPerWeek());
+        }
+    }
+
     private ProfileResponse mapToResponse(UserProfile profile) {
         ProfileResponse response = new ProfileResponse();
         response.setId(profile.getId());
@@ -121,6 +178,8 @@ public class ProfileService {
         
         if (profile.getLearningPath() != null) {
             response.setLearningPath(profile.getLearningPath().getPathContent());
+            response.setLearningPathStatus(statusOf(profile.getLearningPath()));
+            response.setLearningPathVersion(versionOf(profile.getLearningPath()));
         }
         
         // SAFE handling of achievement fields with null checks
@@ -130,4 +189,13 @@ public class ProfileService {
         
         return response;
     }
-}
\ No newline at end of file
+    
+    // Paths stored before statuses existed are complete
+    private static String statusOf(LearningPath learningPath) {
+        return learningPath.getStatus() != null ? learningPath.getStatus() : LearningPath.STATUS_READY;
+    }
+    
+    private static Long versionOf(LearningPath learningPath) {
+        return learningPath.getVersion() != null ? learningPath.getVersion() : 0L;
+    }
+}
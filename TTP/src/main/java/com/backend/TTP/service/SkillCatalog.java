@@ -0,0 +1,109 @@
+package com.backend.TTP.service;
+
+import com.backend.TTP.service.SkillMappingService.CareerPath;
+import com.backend.TTP.service.SkillMappingService.SkillDatabase;
+import com.backend.TTP.service.SkillMappingService.SkillInfo;
+
+import java.util.*;
+
+/**
+ * One loaded version of the skill and career catalog: skills by lowercase name, career paths
+ * (one per lowercase name), the related-skill graph, the token index used for fuzzy skill matching and the compiled career
+ * scoring matrix.
+ *
+ * Never modified after it is built. A reload builds a whole new catalog and SkillMappingService
+ * swaps it in with a single volatile write, so a learning path that is being generated keeps
+ * reading the version it started with.
+ */
+public final class SkillCatalog {
+
+    static final SkillCatalog EMPTY = new SkillCatalog(0L, Map.of(), Map.of(), Map.of());
+
+    private final long version;
+    private final Map<String, SkillInfo> skills;
+    private final List<CareerPath> careerPaths;
+    private final Map<String, List<String>> relatedSkills;
+    private final SkillTokenIndex tokenIndex;
+    private final CareerScoringMatrix careerScoring;
+
+    private SkillCatalog(long version, Map<String, SkillInfo> skills, Map<String, CareerPath> careerPaths,
+                         Map<String, List<String>> relatedSkills) {
+        this.version = version;
+        this.skills = skills;
+        this.careerPaths = List.copyOf(careerPaths.values());
+        this.relatedSkills = relatedSkills;
+        this.tokenIndex = new SkillTokenIndex(skills.keySet());
+        this.careerScoring = new CareerScoringMatrix(this.careerPaths, relatedSkills);
+    }
+
+    /**
+     * Build a catalog from a parsed skill database; later entries win on duplicate names
+     */
+    static SkillCatalog build(SkillDatabase database, long version) {
+        Map<String, SkillInfo> skills = new LinkedHashMap<>();
+        Map<String, List<String>> relatedSkills = new HashMap<>();
+        if (database.getSkills() != null) {
+            for (SkillInfo skill : database.getSkills()) {
+                String key = skill.getName().toLowerCase();
+                skills.put(key, skill);
+                relatedSkills.put(key, skill.getRelatedSkills() != null
+                        ? List.copyOf(skill.getRelatedSkills()) : List.of());
+            }
+        }
+
+        Map<String, CareerPath> careerPaths = new LinkedHashMap<>();
+        if (database.getCareerPaths() != null) {
+            database.getCareerPaths().forEach(path -> careerPaths.put(path.getName().toLowerCase(), path));
+        }
+        return new SkillCatalog(version, Collections.unmodifiableMap(skills), careerPaths, Map.copyOf(relatedSkills));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getSkillCount() {
+        return skills.size();
+    }
+
+    public int getCareerPathCount() {
+        return careerPaths.size();
+    }
+
+    SkillInfo getSkill(String name) {
+        return skills.get(name.toLowerCase());
+    }
+
+    boolean containsSkill(String lowercaseName) {
+        return skills.containsKey(lowercaseName);
+    }
+
+    Collection<SkillInfo> getSkills() {
+        return skills.values();
+    }
+
+    List<CareerPath> getCareerPaths() {
+        return careerPaths;
+    }
+
+    /**
+     * Skills listed as related to the given one; empty for unknown skills
+     */
+    List<String> getRelatedSkills(String name) {
+        return relatedSkills.getOrDefault(name.toLowerCase(), List.of());
+    }
+
+    /**
+     * Match score of every career path, in getCareerPaths() order
+     */
+    double[] scoreCareerPaths(String careerInput, String goals, List<String> userSkills) {
+        return careerScoring.score(careerInput, goals, userSkills);
+    }
+
+    /**
+     * The catalog skill most similar to the given lowercase name, or the name itself
+     */
+    String findBestSkillMatch(String skill, double threshold) {
+        return tokenIndex.bestMatch(skill, threshold).orElse(skill);
+    }
+}
@@ -1,6 +1,9 @@
 package com.backend.TTP.service;
 
+import com.backend.TTP.config.CacheConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -10,8 +13,15 @@ import com.backend.TTP.model.UserProfile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -23,49 +33,30 @@ public class SkillMappingService {
 
     private final RestTemplate restTemplate;
     private final String youtubeApiKey;
-    private Map<String, SkillInfo> skillDatabase = new HashMap<>();
-    private Map<String, CareerPath> careerPathMap = new HashMap<>();
+    private final String catalogPath;
+    private volatile SkillCatalog catalog = SkillCatalog.EMPTY;
+    private long catalogLastModified = -1L;
+    private final Cache learningPaths;
     private static final String YOUTUBE_API_URL = "https://www.googleapis.com/youtube/v3/search";
     
     // Cache for YouTube API responses to avoid rate limiting and improve performance
     private Map<String, List<VideoResource>> videoCache = new ConcurrentHashMap<>();
 
     public SkillMappingService(RestTemplate restTemplate, 
-                              @Value("${youtube.api.key:}") String youtubeApiKey) {
+                              @Value("${youtube.api.key:}") String youtubeApiKey,
+                              @Value("${skills.catalog.path:}") String catalogPath,
+                              CacheManager cacheManager) {
         this.restTemplate = restTemplate;
         this.youtubeApiKey = youtubeApiKey;
+        this.catalogPath = catalogPath;
+        this.learningPaths = cacheManager.getCache(CacheConfig.LEARNING_PATHS);
     }
 
     @PostConstruct
     private void initializeSkillDatabase() throws IOException {
         try {
             logger.info("Initializing skill database...");
-            ObjectMapper mapper = new ObjectMapper();
-            ClassPathResource resource = new ClassPathResource("skill_database.json");
-            
-            if (!resource.exists()) {
-                logger.error("skill_database.json not found in classpath");
-                throw new IOException("skill_database.json not found");
-            }
-            
-            SkillDatabase database = mapper.readValue(resource.getInputStream(), SkillDatabase.class);
-            
-            if (database.getSkills() == null || database.getSkills().isEmpty()) {
-                logger.warn("No skills found in database");
-            } else {
-                logger.info("Loaded {} skills from database", database.getSkills().size());
-                database.getSkills().forEach(skill -> 
-                    skillDatabase.put(skill.getName().toLowerCase(), skill));
-            }
-            
-            if (database.getCareerPaths() == null || database.getCareerPaths().isEmpty()) {
-                logger.warn("No career paths found in database");
-            } else {
-                logger.info("Loaded {} career paths from database", database.getCareerPaths().size());
-                database.getCareerPaths().forEach(path -> 
-                    careerPathMap.put(path.getName().toLowerCase(), path));
-            }
-            
+            reloadCatalog();
             logger.info("Skill database initialization completed");
         } catch (Exception e) {
             logger.error("Failed to initialize skill database: {}", e.getMessage(), e);
@@ -73,21 +64,140 @@ public class SkillMappingService {
         }
     }
 
+    /**
+     * Read the catalog from its source again and publish it as the next version. Learning paths
+     * already being generated finish on the version they started with.
+     */
+    public synchronized SkillCatalog reloadCatalog() throws IOException {
+        long started = System.currentTimeMillis();
+        // Taken before reading, so a write that lands mid-read is picked up by the next check
+        long lastModified = catalogPath.isBlank() ? -1L : Files.getLastModifiedTime(Path.of(catalogPath)).toMillis();
+        SkillDatabase database = readSkillDatabase();
+
+        if (database.getSkills() == null || database.getSkills().isEmpty()) {
+            logger.warn("No skills found in database");
+        }
+        if (database.getCareerPaths() == null || database.getCareerPaths().isEmpty()) {
+            logger.warn("No career paths found in database");
+        }
+
+        SkillCatalog next = SkillCatalog.build(database, catalog.getVersion() + 1);
+        catalog = next;
+        catalogLastModified = lastModified;
+        // Paths from the old version can no longer be hit, since the version is part of the key
+        learningPaths.clear();
+        logger.info("Loaded skill catalog version {} with {} skills and {} career paths in {} ms",
+            next.getVersion(), next.getSkillCount(), next.getCareerPathCount(), System.currentTimeMillis() - started);
+        return next;
+    }
+
+    /**
+     * Reload the catalog if its file changed since it was last read. Only a catalog configured
+     * through skills.catalog.path is watched; a failed reload keeps the current version.
+     */
+    @Scheduled(fixedDelayString = "${skills.catalog.reload-check-ms:30000}",
+               initialDelayString = "${skills.catalog.reload-check-ms:30000}")
+    public synchronized void reloadCatalogIfChanged() {
+        if (catalogPath.isBlank()) {
+            return;
+        }
+        try {
+            if (Files.getLastModifiedTime(Path.of(catalogPath)).toMillis() != catalogLastModified) {
+                reloadCatalog();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reload skill catalog from {}, keeping version {}: {}",
+                catalogPath, catalog.getVersion(), e.getMessage());
+        }
+    }
+
+    /**
+     * The catalog version learning paths are currently generated from
+     */
+    public SkillCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Parse the configured catalog file, or the bundled skill_database.json when none is set
+     */
+    private SkillDatabase readSkillDatabase() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        if (!catalogPath.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(catalogPath))) {
+                return mapper.readValue(in, SkillDatabase.class);
+            }
+        }
+
+        ClassPathResource resource = new ClassPathResource("skill_database.json");
+        if (!resource.exists()) {
+            logger.error("skill_database.json not found in classpath");
+            throw new IOException("skill_database.json not found");
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return mapper.readValue(in, SkillDatabase.class);
+        }
+    }
+
+    /**
+     * The learning path for the profile's career stage, skills, goals and weekly hours. Paths are
+     * shared by every profile with the same inputs under the same catalog version, so the returned
+     * data must not be modified.
+     */
     public LearningPathData generateLearningPath(UserProfile profile) {
+        SkillCatalog catalog = this.catalog;
+        String fingerprint = learningPathFingerprint(catalog.getVersion(), profile);
+        return learningPaths.get(fingerprint, () -> generateLearningPath(catalog, profile));
+    }
+
+    /**
+     * Drop the shared path for the profile's inputs, so the next generation builds it again
+     */
+    public void evictLearningPath(UserProfile profile) {
+        learningPaths.evict(learningPathFingerprint(catalog.getVersion(), profile));
+    }
+
+    /**
+     * SHA-256 over the catalog version and the profile inputs, lowercased the way generation
+     * reads them; skill order is kept since it decides tie order in the plan
+     */
+    static String learningPathFingerprint(long catalogVersion, UserProfile profile) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(catalogVersion).append('\n');
+        appendField(canonical, profile.getCareerStage().toLowerCase());
+        appendField(canonical, profile.getGoals().toLowerCase());
+        appendField(canonical, String.valueOf(profile.getHoursPerWeek()));
+        List<String> skills = profile.getSkills() != null ? profile.getSkills() : List.of();
+        canonical.append(skills.size()).append('\n');
+        skills.forEach(skill -> appendField(canonical, skill.toLowerCase()));
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void appendField(StringBuilder canonical, String value) {
+        canonical.append(value.length()).append(':').append(value).append('\n');
+    }
+
+    private LearningPathData generateLearningPath(SkillCatalog catalog, UserProfile profile) {
         logger.info("Generating learning path for user with career stage: {}", profile.getCareerStage());
         
-        List<String> userSkills = normalizeSkills(profile.getSkills());
+        List<String> userSkills = normalizeSkills(catalog, profile.getSkills());
         String careerStage = profile.getCareerStage().toLowerCase();
         String goals = profile.getGoals().toLowerCase();
         int hoursPerWeek = profile.getHoursPerWeek();
 
-        CareerPath targetCareer = findOptimalCareerPath(careerStage, goals, userSkills);
+        CareerPath targetCareer = findOptimalCareerPath(catalog, careerStage, goals, userSkills);
         logger.info("Identified target career path: {}", targetCareer.getName());
         
-        List<String> requiredSkills = calculateRequiredSkills(targetCareer, goals, userSkills);
+        List<String> requiredSkills = calculateRequiredSkills(catalog, targetCareer, goals, userSkills);
         logger.info("Calculated {} required skills", requiredSkills.size());
         
-        List<SkillGap> skillGaps = identifySkillGaps(userSkills, requiredSkills);
+        List<SkillGap> skillGaps = identifySkillGaps(catalog, userSkills, requiredSkills);
         List<SkillGap> prioritizedGaps = prioritizeSkillGaps(skillGaps, targetCareer, goals);
         logger.info("Identified and prioritized {} skill gaps", prioritizedGaps.size());
         
@@ -98,7 +208,7 @@ public class SkillMappingService {
     }
 
     // Skill Normalization
-    private List<String> normalizeSkills(List<String> skills) {
+    private List<String> normalizeSkills(SkillCatalog catalog, List<String> skills) {
         if (skills == null || skills.isEmpty()) {
             logger.warn("Empty skills list provided, returning empty list");
             return new ArrayList<>();
@@ -106,64 +216,35 @@ public class SkillMappingService {
         
         return skills.stream()
             .map(String::toLowerCase)
-            .map(this::findBestSkillMatch)
+            .map(skill -> catalog.findBestSkillMatch(skill, 0.65))
             .collect(Collectors.toList());
     }
 
-    private String findBestSkillMatch(String skill) {
-        return skillDatabase.keySet().stream()
-            .max(Comparator.comparingDouble(dbSkill -> 
-                calculateSkillSimilarity(dbSkill, skill)))
-            .filter(match -> calculateSkillSimilarity(match, skill) > 0.65)
-            .orElse(skill);
-    }
-
-    private double calculateSkillSimilarity(String a, String b) {
-        Set<String> aWords = new HashSet<>(Arrays.asList(a.split("[^a-zA-Z0-9]")));
-        Set<String> bWords = new HashSet<>(Arrays.asList(b.split("[^a-zA-Z0-9]")));
-        
-        Set<String> intersection = new HashSet<>(aWords);
-        intersection.retainAll(bWords);
-        
-        return (2.0 * intersection.size()) / (aWords.size() + bWords.size());
-    }
-
     // Career Path Detection
-    private CareerPath findOptimalCareerPath(String careerInput, String goals, List<String> userSkills) {
-        Map<CareerPath, Double> careerScores = new HashMap<>();
+    private CareerPath findOptimalCareerPath(SkillCatalog catalog, String careerInput, String goals, List<String> userSkills) {
+        List<CareerPath> careers = catalog.getCareerPaths();
+        double[] scores = catalog.scoreCareerPaths(careerInput, goals, userSkills);
         double maxScore = 0.0;
         CareerPath bestMatch = null;
 
-        for (CareerPath career : careerPathMap.values()) {
-            double score = calculateCareerMatchScore(career, goals, userSkills, careerInput);
-            careerScores.put(career, score);
-            if (score > maxScore) {
-                maxScore = score;
-                bestMatch = career;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > maxScore) {
+                maxScore = scores[i];
+                bestMatch = careers.get(i);
             }
         }
         
         // If score is too low or no match found, create a synthetic career path
         if (maxScore < 0.3 || bestMatch == null) {
             logger.info("No good career match found, creating synthetic career path");
-            return createSyntheticCareer(goals, userSkills);
+            return createSyntheticCareer(catalog, goals, userSkills);
         }
         
         logger.info("Found optimal career path: {} with score {}", bestMatch.getName(), maxScore);
         return bestMatch;
     }
 
-    private double calculateCareerMatchScore(CareerPath career, String goals, 
-                                          List<String> userSkills, String careerInput) {
-        double score = 0.0;
-        score += calculateNameMatchScore(career.getName(), careerInput) * 0.25;
-        score += calculateKeywordOverlap(goals, career.getSkills()) * 0.4;
-        score += calculateSkillMatchScore(userSkills, career.getSkills()) * 0.25;
-        score += calculateRelatedSkillPotential(userSkills, career.getSkills()) * 0.1;
-        return score;
-    }
-
-    private CareerPath createSyntheticCareer(String goals, List<String> userSkills) {
+    private CareerPath createSyntheticCareer(SkillCatalog catalog, String goals, List<String> userSkills) {
         CareerPath synthetic = new CareerPath();
         
         // Create a custom name based on goals and skills
@@ -191,17 +272,14 @@ public class SkillMappingService {
 
         // Add skills based on goal keywords
         extractGoalKeywords(goals).forEach(keyword -> 
-            skillDatabase.values().stream()
+            catalog.getSkills().stream()
                 .filter(skill -> skill.getName().toLowerCase().contains(keyword))
                 .map(SkillInfo::getName)
                 .forEach(skills::add)
         );
 
         // Add related skills from user's existing skills
-        userSkills.forEach(skill -> {
-            SkillInfo info = skillDatabase.get(skill.toLowerCase());
-            if (info != null) skills.addAll(info.getRelatedSkills());
-        });
+        userSkills.forEach(skill -> skills.addAll(catalog.getRelatedSkills(skill)));
 
         // Add fundamental skills
         skills.addAll(getFundamentalSkills(careerName, goals));
@@ -674,17 +752,14 @@ public class SkillMappingService {
     }
 
     // Skill Requirements Calculation
-    private List<String> calculateRequiredSkills(CareerPath career, String goals, 
+    private List<String> calculateRequiredSkills(SkillCatalog catalog, CareerPath career, String goals, 
                                               List<String> userSkills) {
         Set<String> requiredSkills = new LinkedHashSet<>(career.getSkills());
         
-        career.getSkills().forEach(skill -> {
-            SkillInfo info = skillDatabase.get(skill.toLowerCase());
-            if (info != null) requiredSkills.addAll(info.getRelatedSkills());
-        });
+        career.getSkills().forEach(skill -> requiredSkills.addAll(catalog.getRelatedSkills(skill)));
 
         extractGoalKeywords(goals).forEach(keyword -> 
-            skillDatabase.values().stream()
+            catalog.getSkills().stream()
                 .filter(skill -> skill.getName().toLowerCase().contains(keyword))
                 .map(SkillInfo::getName)
                 .forEach(requiredSkills::add)
@@ -873,12 +948,12 @@ public class SkillMappingService {
     }
 
     // Skill Gap Analysis
-    private List<SkillGap> identifySkillGaps(List<String> userSkills, List<String> requiredSkills) {
+    private List<SkillGap> identifySkillGaps(SkillCatalog catalog, List<String> userSkills, List<String> requiredSkills) {
         return requiredSkills.stream()
             .map(String::toLowerCase)
             .filter(skill -> !userSkills.contains(skill))
-            .map(skill -> skillDatabase.containsKey(skill) ? 
-                createSkillGap(skillDatabase.get(skill)) : 
+            .map(skill -> catalog.containsSkill(skill) ? 
+                createSkillGap(catalog.getSkill(skill)) : 
                 createDefaultSkillGap(skill))
             .collect(Collectors.toList());
     }
@@ -961,54 +1036,12 @@ public class SkillMappingService {
     }
 
     // Helper Methods
-    private double calculateNameMatchScore(String careerName, String input) {
-        String[] inputWords = input.toLowerCase().split("\\W+");
-        String[] careerWords = careerName.toLowerCase().split("\\W+");
-        
-        Set<String> intersection = new HashSet<>(Arrays.asList(inputWords));
-        intersection.retainAll(Arrays.asList(careerWords));
-        
-        return (double) intersection.size() / careerWords.length;
-    }
-
-    private double calculateKeywordOverlap(String goals, List<String> skills) {
-        Set<String> goalWords = new HashSet<>(extractGoalKeywords(goals));
-        return (double) skills.stream()
-            .filter(skill -> goalWords.stream().anyMatch(skill::contains))
-            .count() / skills.size();
-    }
-
     private List<String> extractGoalKeywords(String goals) {
         return Arrays.stream(goals.split("\\W+"))
             .filter(word -> word.length() > 3)
             .collect(Collectors.toList());
     }
 
-    private double calculateSkillMatchScore(List<String> userSkills, List<String> careerSkills) {
-        Set<String> userSet = new HashSet<>(userSkills);
-        return (double) careerSkills.stream()
-            .filter(skill -> userSet.contains(skill.toLowerCase()))
-            .count() / careerSkills.size();
-    }
-
-    private double calculateRelatedSkillPotential(List<String> userSkills, List<String> careerSkills) {
-        return careerSkills.stream()
-            .mapToDouble(skill -> {
-                SkillInfo info = skillDatabase.get(skill.toLowerCase());
-                return info != null ? 
-                    calculateSkillProximity(userSkills, info.getRelatedSkills()) : 0;
-            })
-            .average()
-            .orElse(0);
-    }
-
-    private double calculateSkillProximity(List<String> userSkills, List<String> relatedSkills) {
-        Set<String> userSet = new HashSet<>(userSkills);
-        return (double) relatedSkills.stream()
-            .filter(userSet::contains)
-            .count() / relatedSkills.size();
-    }
-
     private double calculateGoalRelevance(String skill, String goals) {
         return extractGoalKeywords(goals).stream()
             .filter(keyword -> skill.toLowerCase().contains(keyword))
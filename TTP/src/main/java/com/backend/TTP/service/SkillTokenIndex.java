@@ -0,0 +1,101 @@
+package com.backend.TTP.service;
+
+import java.util.*;
+
+/**
+ * Inverted token index over skill names, for fuzzy skill matching.
+ *
+ * Every skill name is split into words once, each distinct word gets an int id, and every token
+ * keeps the ascending ids of the skills that contain it. A lookup tokenizes the query once, walks
+ * only the postings of its tokens and scores the skills it meets by Dice similarity
+ * (2 * shared / (tokens in skill + tokens in query)) over those int ids. Skills sharing no token
+ * with the query score 0, so skipping them never changes the best match. Immutable once built,
+ * so it can be shared between threads.
+ */
+final class SkillTokenIndex {
+
+    private static final String TOKEN_SEPARATOR = "[^a-zA-Z0-9]";
+
+    private final String[] skills;
+    private final int[] tokenCounts;
+    private final int[][] postings;
+    private final Map<String, Integer> tokenIds;
+    private final ThreadLocal<int[]> sharedCounts;
+
+    /**
+     * Index the given skill names; ties in a lookup go to the skill that comes first here
+     */
+    SkillTokenIndex(Collection<String> skillNames) {
+        skills = skillNames.toArray(new String[0]);
+        tokenCounts = new int[skills.length];
+        tokenIds = new HashMap<>();
+        List<List<Integer>> postingLists = new ArrayList<>();
+
+        for (int skill = 0; skill < skills.length; skill++) {
+            Set<String> tokens = tokenize(skills[skill]);
+            tokenCounts[skill] = tokens.size();
+            for (String token : tokens) {
+                int tokenId = tokenIds.computeIfAbsent(token, key -> {
+                    postingLists.add(new ArrayList<>());
+                    return postingLists.size() - 1;
+                });
+                postingLists.get(tokenId).add(skill);
+            }
+        }
+
+        postings = new int[postingLists.size()][];
+        for (int tokenId = 0; tokenId < postings.length; tokenId++) {
+            postings[tokenId] = postingLists.get(tokenId).stream().mapToInt(Integer::intValue).toArray();
+        }
+        sharedCounts = ThreadLocal.withInitial(() -> new int[skills.length]);
+    }
+
+    int size() {
+        return skills.length;
+    }
+
+    /**
+     * The indexed skill most similar to the query, if its similarity is above threshold
+     */
+    Optional<String> bestMatch(String query, double threshold) {
+        Set<String> queryTokens = tokenize(query);
+        int[] shared = sharedCounts.get();
+        int[] touched = new int[Math.min(skills.length, 16)];
+        int touchedCount = 0;
+
+        for (String token : queryTokens) {
+            Integer tokenId = tokenIds.get(token);
+            if (tokenId == null) {
+                continue;
+            }
+            for (int skill : postings[tokenId]) {
+                if (shared[skill]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touched.length * 2);
+                    }
+                    touched[touchedCount++] = skill;
+                }
+            }
+        }
+
+        int best = -1;
+        double bestScore = 0.0;
+        for (int i = 0; i < touchedCount; i++) {
+            int skill = touched[i];
+            double score = (2.0 * shared[skill]) / (tokenCounts[skill] + queryTokens.size());
+            if (score > bestScore || (score == bestScore && skill < best)) {
+                best = skill;
+                bestScore = score;
+            }
+            shared[skill] = 0;
+        }
+        return best >= 0 && bestScore > threshold ? Optional.of(skills[best]) : Optional.empty();
+    }
+
+    /**
+     * Distinct words of a skill name, split the same way the similarity has always been computed
+     */
+    static Set<String> tokenize(String text) {
+        return new HashSet<>(Arrays.asList(text.split(TOKEN_SEPARATOR)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.backend.TTP.service.achievement;
+
+import com.backend.TTP.model.Achievement;
+import com.backend.TTP.service.badge.BadgeLadderService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on Achievement that rebuilds the badge ladder and the achievement rule index, and drops
+ * cached achievement profiles, once the change commits. Resolved through Spring's bean container; the services are looked up lazily
+ * because listeners are created with the EntityManagerFactory.
+ */
+@Component
+public class AchievementChangeListener {
+
+    @Autowired
+    private ObjectProvider<BadgeLadderService> badgeLadderService;
+
+    @Autowired
+    private ObjectProvider<AchievementRuleEngine> achievementRuleEngine;
+
+    @Autowired
+    private ObjectProvider<AchievementProfileCache> achievementProfileCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Achievement achievement) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    // Private helper methods
+
+    private void reload() {
+        badgeLadderService.ifAvailable(BadgeLadderService::reload);
+        achievementRuleEngine.ifAvailable(AchievementRuleEngine::reload);
+        achievementProfileCache.ifAvailable(AchievementProfileCache::clear); // Next levels may have moved
+    }
+}
@@ -0,0 +1,41 @@
+package com.backend.TTP.service.achievement;
+
+/**
+ * A domain event that can earn achievements. Only the rules in the trigger's category are
+ * evaluated for it; value carries the progress when the publisher already knows it (the login streak).
+ */
+public record AchievementEvent(Long userId, Trigger trigger, Integer value) {
+
+    public enum Trigger {
+        COURSE_COMPLETED("COURSE_COMPLETION"),
+        SCORE_RECORDED("SCORE_BASED"),
+        LOGIN_STREAK("CONSISTENCY"),
+        GOAL_COMPLETED("GOAL_COMPLETION");
+
+        private final String category;
+
+        Trigger(String category) {
+            this.category = category;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+    }
+
+    public static AchievementEvent courseCompleted(Long userId) {
+        return new AchievementEvent(userId, Trigger.COURSE_COMPLETED, null);
+    }
+
+    public static AchievementEvent scoreRecorded(Long userId) {
+        return new AchievementEvent(userId, Trigger.SCORE_RECORDED, null);
+    }
+
+    public static AchievementEvent loginStreak(Long userId, int streak) {
+        return new AchievementEvent(userId, Trigger.LOGIN_STREAK, streak);
+    }
+
+    public static AchievementEvent goalCompleted(Long userId) {
+        return new AchievementEvent(userId, Trigger.GOAL_COMPLETED, null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.backend.TTP.service.achievement;
+
+import com.backend.TTP.config.BoundedTtlCache;
+import com.backend.TTP.config.CacheConfig;
+import com.backend.TTP.dto.AchievementProfileResponse;
+import com.backend.TTP.dto.CacheStatsResponse;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache-aside store for composed AchievementProfileResponses, keyed by user id.
+ *
+ * Entries are dropped once the change behind an AchievementProfileChangedEvent commits. A load
+ * that overlaps such a change is not cached: every eviction bumps a generation counter for the
+ * user's stripe, and a loaded value is only stored if its stripe's generation did not move while
+ * it was being built, so a reader can never put back a profile from before the change. The
+ * generation check and the put happen under the stripe's lock, which evict also takes, so an
+ * eviction cannot slip in between them.
+ */
+@Component
+public class AchievementProfileCache {
+
+    private static final int STRIPES = 1024;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final Object[] stripeLocks = new Object[STRIPES];
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AchievementProfileCache() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripeLocks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache(CacheConfig.ACHIEVEMENT_PROFILES);
+    }
+
+    public AchievementProfileResponse get(Long userId, Supplier<AchievementProfileResponse> loader) {
+        Cache.ValueWrapper cached = cache.get(userId);
+        if (cached != null) {
+            return (AchievementProfileResponse) cached.get();
+        }
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        AchievementProfileResponse profile = loader.get();
+        synchronized (stripeLocks[stripe]) {
+            if (generations.get(stripe) == generation) {
+                cache.put(userId, profile);
+            }
+        }
+        return profile;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(AchievementProfileChangedEvent event) {
+        evict(event.userId());
+    }
+
+    public void evict(Long userId) {
+        int stripe = stripe(userId);
+        synchronized (stripeLocks[stripe]) {
+            generations.incrementAndGet(stripe);
+            cache.evict(userId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Drop every profile, e.g. when the badge ladder changes what "next level" means. A put that
+     * beats the generation bump is removed by the clear, and one after it fails the generation check.
+     */
+    public void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.clear();
+    }
+
+    public CacheStatsResponse getStats() {
+        CacheStatsResponse stats = new CacheStatsResponse();
+        stats.setName(cache.getName());
+        stats.setInvalidations(invalidations.get());
+        if (cache instanceof BoundedTtlCache bounded) {
+            long reads = bounded.getHits() + bounded.getMisses();
+            stats.setSize(bounded.size());
+            stats.setHits(bounded.getHits());
+            stats.setMisses(bounded.getMisses());
+            stats.setHitRate(reads > 0 ? (double) bounded.getHits() / reads : 0.0);
+            stats.setEvictions(bounded.getEvictions());
+        }
+        return stats;
+    }
+
+    // Private helper methods
+
+    private int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+}
@@ -0,0 +1,8 @@
+package com.backend.TTP.service.achievement;
+
+/**
+ * Published whenever something shown on a user's achievement profile changes: points, badge,
+ * login streak, course scores or completed courses
+ */
+public record AchievementProfileChangedEvent(Long userId) {
+}
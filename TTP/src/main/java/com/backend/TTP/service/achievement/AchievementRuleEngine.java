@@ -0,0 +1,233 @@
+package com.backend.TTP.service.achievement;
+
+import com.backend.TTP.model.Achievement;
+import com.backend.TTP.repository.AchievementRepository;
+import com.backend.TTP.repository.CourseScoreRepository;
+import com.backend.TTP.repository.DailyGoalRepository;
+import com.backend.TTP.repository.EnrolledCourseRepository;
+import com.backend.TTP.repository.UserAchievementRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates achievement rules off the request thread.
+ *
+ * Active achievements are indexed by category, each category's rules sorted by requiredCount, so an
+ * event only looks at the rules of its own category and stops at the first one the user's progress
+ * has not reached. Events are handed over after the publishing transaction commits and run on a
+ * bounded pool; repeated events for the same user and trigger collapse into one evaluation while
+ * they wait. New awards are inserted into UserAchievement as one JDBC batch.
+ */
+@Component
+public class AchievementRuleEngine {
+    private static final Logger logger = LoggerFactory.getLogger(AchievementRuleEngine.class);
+
+    private static final double HIGH_SCORE_PERCENTAGE = 90.0;
+
+    private static final String INSERT_USER_ACHIEVEMENT =
+            "INSERT INTO \"user_achievement\" (\"user_id\", \"achievement_id\", \"earned_at\", \"points_earned\") " +
+            "VALUES (?, ?, ?, ?)";
+
+    @Value("${achievements.engine.threads:2}")
+    private int threads;
+
+    @Value("${achievements.engine.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    @Autowired
+    private UserAchievementRepository userAchievementRepository;
+
+    @Autowired
+    private EnrolledCourseRepository enrolledCourseRepository;
+
+    @Autowired
+    private CourseScoreRepository courseScoreRepository;
+
+    @Autowired
+    private DailyGoalRepository dailyGoalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Map<String, Rule[]> rulesByCategory = Collections.emptyMap();
+    private final ConcurrentHashMap<PendingKey, AchievementEvent> pending = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    private record Rule(Long achievementId, String name, int requiredCount) {
+    }
+
+    private record PendingKey(Long userId, AchievementEvent.Trigger trigger) {
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "achievement-engine-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Rebuild the category index from the active achievements
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        try {
+            Map<String, List<Rule>> grouped = new HashMap<>();
+            for (Achievement achievement : achievementRepository.findByIsActiveTrue()) {
+                if (achievement.getCategory() == null || achievement.getRequiredCount() == null) {
+                    continue; // Badge levels are driven by points, not by rules
+                }
+                grouped.computeIfAbsent(achievement.getCategory(), category -> new ArrayList<>())
+                        .add(new Rule(achievement.getId(), achievement.getName(), achievement.getRequiredCount()));
+            }
+
+            Map<String, Rule[]> index = new HashMap<>();
+            grouped.forEach((category, rules) -> {
+                rules.sort(Comparator.comparingInt(Rule::requiredCount));
+                index.put(category, rules.toArray(new Rule[0]));
+            });
+            rulesByCategory = index;
+            logger.info("Achievement rules loaded for {} categories", index.size());
+        } catch (Exception e) {
+            logger.error("Failed to load achievement rules, keeping the current ones: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queue an event once the publishing transaction has committed. Never blocks the caller:
+     * when the queue is full the event is dropped, and the next event of the same kind re-evaluates
+     * the user's whole progress anyway.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(AchievementEvent event) {
+        if (!rulesByCategory.containsKey(event.trigger().getCategory())) {
+            return;
+        }
+
+        PendingKey key = new PendingKey(event.userId(), event.trigger());
+        if (pending.put(key, event) != null) {
+            return; // An evaluation for this user and trigger is already queued and will see this event
+        }
+        try {
+            executor.execute(() -> {
+                AchievementEvent latest = pending.remove(key);
+                if (latest != null) {
+                    evaluateQuietly(latest);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            logger.warn("Achievement engine queue is full, skipping {} for user {}", event.trigger(), event.userId());
+        }
+    }
+
+    /**
+     * Evaluate an event's rules for its user and insert any newly earned achievements.
+     * Returns the number of achievements awarded.
+     */
+    public int evaluate(AchievementEvent event) {
+        Rule[] rules = rulesByCategory.getOrDefault(event.trigger().getCategory(), new Rule[0]);
+        if (rules.length == 0) {
+            return 0;
+        }
+
+        int progress = progressFor(event);
+        int reached = 0;
+        while (reached < rules.length && rules[reached].requiredCount() <= progress) {
+            reached++;
+        }
+        if (reached == 0) {
+            return 0;
+        }
+
+        Set<Long> earned = userAchievementRepository.findAchievementIdsByUserId(event.userId());
+        List<Rule> awards = new ArrayList<>();
+        for (int i = 0; i < reached; i++) {
+            if (!earned.contains(rules[i].achievementId())) {
+                awards.add(rules[i]);
+            }
+        }
+        if (awards.isEmpty()) {
+            return 0;
+        }
+
+        insertAwards(event.userId(), awards);
+        logger.info("User {} earned {} achievement(s) on {}", event.userId(), awards.size(), event.trigger());
+        return awards.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Private helper methods
+
+    private void evaluateQuietly(AchievementEvent event) {
+        try {
+            evaluate(event);
+        } catch (Exception e) {
+            logger.error("Failed to evaluate achievements for user {} on {}: {}",
+                    event.userId(), event.trigger(), e.getMessage(), e);
+        }
+    }
+
+    private int progressFor(AchievementEvent event) {
+        Long count = switch (event.trigger()) {
+            case COURSE_COMPLETED -> enrolledCourseRepository.countByUserIdAndStatus(event.userId(), "COMPLETED");
+            case SCORE_RECORDED -> courseScoreRepository.countByUserIdWithPercentageAtLeast(event.userId(), HIGH_SCORE_PERCENTAGE);
+            case LOGIN_STREAK -> event.value() != null ? event.value().longValue() : 0L;
+            case GOAL_COMPLETED -> dailyGoalRepository.countByUserIdAndIsCompletedTrue(event.userId());
+        };
+        return count != null ? count.intValue() : 0;
+    }
+
+    private void insertAwards(Long userId, List<Rule> awards) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(awards.size());
+        for (Rule rule : awards) {
+            rows.add(new Object[]{userId, rule.achievementId(), now, 0});
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INSERT_USER_ACHIEVEMENT, rows);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent evaluation got some of these first; insert row by row and skip the duplicates
+            for (Object[] row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_USER_ACHIEVEMENT, row);
+                } catch (DataIntegrityViolationException duplicate) {
+                    logger.debug("User {} already has achievement {}", userId, row[1]);
+                }
+            }
+        }
+    }
+}
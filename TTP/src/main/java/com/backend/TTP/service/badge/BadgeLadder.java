@@ -0,0 +1,182 @@
+package com.backend.TTP.service.badge;
+
+import com.backend.TTP.model.Achievement;
+
+import java.util.*;
+
+/**
+ * Immutable badge ladder: parallel arrays of level names, point thresholds, level-up bonuses,
+ * titles and icons, ordered by threshold.
+ *
+ * levelIndex is a binary search over the thresholds; everything else (next level, points to next,
+ * bonus) is an array read off that index, so evaluating a total allocates nothing and never
+ * compares strings.
+ */
+public final class BadgeLadder {
+
+    public static final String BADGE_LEVEL_CATEGORY = "BADGE_LEVEL";
+
+    // Level-up bonuses are not stored on Achievement, so they stay keyed by level name
+    private static final Map<String, Integer> LEVEL_UP_BONUSES = Map.of(
+        "APPRENTICE", 10,
+        "SCHOLAR", 25,
+        "EXPERT", 50,
+        "MASTER", 100
+    );
+
+    private static final BadgeLadder DEFAULT = new BadgeLadder(
+            new String[]{"NOVICE", "APPRENTICE", "SCHOLAR", "EXPERT", "MASTER"},
+            new int[]{0, 100, 300, 700, 1500},
+            new String[]{"Learning Explorer", "Knowledge Seeker", "Dedicated Learner", "Skill Master", "Learning Champion"},
+            new String[]{"/badges/novice.png", "/badges/apprentice.png", "/badges/scholar.png", "/badges/expert.png", "/badges/master.png"});
+
+    private final String[] levels;
+    private final int[] thresholds;
+    private final int[] bonuses;
+    private final String[] titles;
+    private final String[] iconUrls;
+
+    private BadgeLadder(String[] levels, int[] thresholds, String[] titles, String[] iconUrls) {
+        this.levels = levels;
+        this.thresholds = thresholds;
+        this.titles = titles;
+        this.iconUrls = iconUrls;
+        this.bonuses = new int[levels.length];
+        for (int i = 1; i < levels.length; i++) {
+            bonuses[i] = LEVEL_UP_BONUSES.getOrDefault(levels[i], 0);
+        }
+    }
+
+    /**
+     * The built-in ladder, used until (or unless) badge-level achievements are configured
+     */
+    public static BadgeLadder defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Build a ladder from active BADGE_LEVEL achievements (badgeLevel and requiredPoints).
+     * Falls back to the default ladder when no usable level starts at 0 points.
+     */
+    public static BadgeLadder fromAchievements(Collection<Achievement> achievements) {
+        Map<String, Achievement> byLevel = new HashMap<>();
+        for (Achievement achievement : achievements) {
+            if (!BADGE_LEVEL_CATEGORY.equals(achievement.getCategory())
+                    || Boolean.FALSE.equals(achievement.getIsActive())
+                    || achievement.getBadgeLevel() == null
+                    || achievement.getRequiredPoints() == null
+                    || achievement.getRequiredPoints() < 0) {
+                continue;
+            }
+            // Keep the lowest threshold if a level is configured twice
+            byLevel.merge(achievement.getBadgeLevel(), achievement,
+                    (a, b) -> a.getRequiredPoints() <= b.getRequiredPoints() ? a : b);
+        }
+
+        List<Achievement> steps = new ArrayList<>(byLevel.values());
+        steps.sort(Comparator.comparingInt(Achievement::getRequiredPoints));
+        if (steps.isEmpty() || steps.get(0).getRequiredPoints() != 0) {
+            return DEFAULT;
+        }
+
+        int size = steps.size();
+        String[] levels = new String[size];
+        int[] thresholds = new int[size];
+        String[] titles = new String[size];
+        String[] iconUrls = new String[size];
+        for (int i = 0; i < size; i++) {
+            Achievement step = steps.get(i);
+            if (i > 0 && step.getRequiredPoints() == thresholds[i - 1]) {
+                return DEFAULT; // Two levels on one threshold would make the ladder ambiguous
+            }
+            levels[i] = step.getBadgeLevel();
+            thresholds[i] = step.getRequiredPoints();
+            titles[i] = step.getName();
+            iconUrls[i] = step.getIconUrl();
+        }
+        return new BadgeLadder(levels, thresholds, titles, iconUrls);
+    }
+
+    /**
+     * Index of the highest level whose threshold is at or below the given points
+     */
+    public int levelIndex(int points) {
+        int low = 0;
+        int high = thresholds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (thresholds[mid] <= points) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public String levelName(int index) {
+        return levels[index];
+    }
+
+    public String levelFor(int points) {
+        return levels[levelIndex(points)];
+    }
+
+    /**
+     * Index of a level by name, or -1 if the ladder has no such level
+     */
+    public int indexOf(String level) {
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i].equals(level)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isTopLevel(int index) {
+        return index == levels.length - 1;
+    }
+
+    /**
+     * The level after this one; the top level is its own next level
+     */
+    public String nextLevelName(int index) {
+        return levels[Math.min(index + 1, levels.length - 1)];
+    }
+
+    /**
+     * Points still needed to reach the next level, 0 at the top of the ladder
+     */
+    public int pointsToNext(int index, int points) {
+        return isTopLevel(index) ? 0 : Math.max(0, thresholds[index + 1] - points);
+    }
+
+    public int bonus(int index) {
+        return bonuses[index];
+    }
+
+    /**
+     * Bonus for moving from one total to another: the bonus of the level reached, or 0 if no new level was reached
+     */
+    public int levelUpBonus(int totalBefore, int totalAfter) {
+        int after = levelIndex(totalAfter);
+        return after > levelIndex(totalBefore) ? bonuses[after] : 0;
+    }
+
+    public int size() {
+        return levels.length;
+    }
+
+    public int threshold(int index) {
+        return thresholds[index];
+    }
+
+    public String title(int index) {
+        return titles[index];
+    }
+
+    public String iconUrl(int index) {
+        return iconUrls[index];
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.TTP.service.badge;
+
+import com.backend.TTP.dto.BadgeLevelResponse;
+import com.backend.TTP.repository.AchievementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the current badge ladder and the getBadgeLevels response built from it.
+ *
+ * Both are swapped together behind one volatile reference, so readers never see a ladder paired
+ * with a stale response. AchievementChangeListener rebuilds them once an Achievement change commits.
+ */
+@Service
+public class BadgeLadderService {
+    private static final Logger logger = LoggerFactory.getLogger(BadgeLadderService.class);
+
+    @Autowired
+    private AchievementRepository achievementRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(BadgeLadder.defaults());
+
+    private record Snapshot(BadgeLadder ladder, BadgeLevelResponse badgeLevels) {
+        Snapshot(BadgeLadder ladder) {
+            this(ladder, toResponse(ladder));
+        }
+    }
+
+    public BadgeLadder current() {
+        return snapshot.ladder();
+    }
+
+    /**
+     * All badge levels with their point ranges, built once per ladder
+     */
+    public BadgeLevelResponse getBadgeLevels() {
+        return snapshot.badgeLevels();
+    }
+
+    /**
+     * Rebuild the ladder from the achievements table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        try {
+            BadgeLadder ladder = BadgeLadder.fromAchievements(achievementRepository.findByCategory(BadgeLadder.BADGE_LEVEL_CATEGORY));
+            snapshot = new Snapshot(ladder);
+            logger.info("Badge ladder loaded with {} levels", ladder.size());
+        } catch (Exception e) {
+            logger.error("Failed to load badge ladder, keeping the current one: {}", e.getMessage(), e);
+        }
+    }
+
+    // Private helper methods
+
+    private static BadgeLevelResponse toResponse(BadgeLadder ladder) {
+        List<BadgeLevelResponse.BadgeLevel> badgeLevels = new ArrayList<>(ladder.size());
+        for (int i = 0; i < ladder.size(); i++) {
+            Integer maxPoints = ladder.isTopLevel(i) ? null : ladder.threshold(i + 1) - 1;
+            badgeLevels.add(new BadgeLevelResponse.BadgeLevel(ladder.levelName(i), ladder.threshold(i), maxPoints,
+                    ladder.title(i), ladder.iconUrl(i)));
+        }
+
+        BadgeLevelResponse response = new BadgeLevelResponse();
+        response.setBadgeLevels(Collections.unmodifiableList(badgeLevels));
+        return response;
+    }
+}
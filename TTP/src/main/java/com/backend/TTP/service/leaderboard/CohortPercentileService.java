@@ -0,0 +1,77 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.repository.UserProfileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Active-user counts and point percentiles, overall and within a user's cohort (same career
+ * stage, same badge level).
+ *
+ * Everything is answered from the point histograms of the leaderboard index, which every point
+ * award already updates, so no lookup reads profiles. Users the index has not seen yet have no
+ * percentile.
+ */
+@Service
+public class CohortPercentileService {
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    /**
+     * Number of users with a profile
+     */
+    public int getActiveUserCount() {
+        if (!leaderboardIndex.isLoaded()) {
+            return (int) userProfileRepository.count();
+        }
+        return leaderboardIndex.size();
+    }
+
+    /**
+     * Share of all users ranked at or below this user, as a percentage (100 = top of the board)
+     */
+    public Double getPercentile(Long userId) {
+        return leaderboardIndex.get(userId)
+                .map(entry -> percentile(leaderboardIndex.rankOf(entry.points()), leaderboardIndex.size()))
+                .orElse(null);
+    }
+
+    /**
+     * Percentile among users at the same career stage
+     */
+    public Double getCareerStagePercentile(Long userId) {
+        return leaderboardIndex.getCareerStage(userId)
+                .flatMap(stage -> cohortPercentile(userId, LeaderboardIndex.careerStageCohort(stage)))
+                .orElse(null);
+    }
+
+    /**
+     * Percentile among users at the same badge level
+     */
+    public Double getBadgePercentile(Long userId) {
+        return leaderboardIndex.get(userId)
+                .flatMap(entry -> cohortPercentile(userId, LeaderboardIndex.badgeCohort(entry.badgeLevel())))
+                .orElse(null);
+    }
+
+    // Private helper methods
+
+    private Optional<Double> cohortPercentile(Long userId, String cohort) {
+        return leaderboardIndex.get(userId)
+                .map(entry -> percentile(leaderboardIndex.rankInCohort(cohort, entry.points()),
+                        leaderboardIndex.cohortSize(cohort)));
+    }
+
+    private static Double percentile(int rank, int totalUsers) {
+        if (totalUsers == 0) {
+            return null;
+        }
+        return ((totalUsers - rank + 1.0) / totalUsers) * 100;
+    }
+}
@@ -0,0 +1,93 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.dto.LeaderboardConsistencyReport;
+import com.backend.TTP.repository.LeaderboardEntryRepository;
+import com.backend.TTP.service.ledger.PointLedger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Diffs the in-memory leaderboard index against the LeaderboardEntry rows for a date.
+ *
+ * Table ranks are recomputed exactly like AchievementService's SQL-backed leaderboard
+ * (ordered by total points then username, equal points share a rank), so any
+ * disagreement points at drift in the index rather than a different ranking rule.
+ */
+@Component
+public class LeaderboardConsistencyChecker {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardConsistencyChecker.class);
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private PointLedger pointLedger;
+
+    public LeaderboardConsistencyReport check(LocalDate date, boolean repair) {
+        // Buffered awards are in the index but not the table yet; write them out before comparing
+        pointLedger.flush();
+
+        List<LeaderboardEntryRepository.LeaderboardRow> rows =
+                leaderboardEntryRepository.findDailyLeaderboardRows(date, Pageable.unpaged());
+        Map<Long, LeaderboardIndex.Entry> indexed = leaderboardIndex.snapshot();
+
+        LeaderboardConsistencyReport report = new LeaderboardConsistencyReport();
+        report.setDate(date);
+        report.setIndexedUsers(indexed.size());
+        report.setTableRows(rows.size());
+
+        Set<Long> seen = new HashSet<>();
+        int tableRank = 1;
+        Integer previousPoints = null;
+
+        for (int i = 0; i < rows.size(); i++) {
+            LeaderboardEntryRepository.LeaderboardRow row = rows.get(i);
+            int points = row.getTotalPoints() != null ? row.getTotalPoints() : 0;
+            if (previousPoints == null || previousPoints != points) {
+                tableRank = i + 1;
+            }
+            previousPoints = points;
+
+            Long userId = row.getUserId();
+            seen.add(userId);
+
+            LeaderboardIndex.Entry entry = indexed.get(userId);
+            Integer indexPoints = entry != null ? entry.points() : null;
+            Integer indexRank = entry != null ? leaderboardIndex.rankOf(entry.points()) : null;
+
+            if (entry == null || indexPoints != points || indexRank != tableRank) {
+                report.getMismatches().add(new LeaderboardConsistencyReport.Mismatch(
+                        userId, points, indexPoints, tableRank, indexRank));
+            }
+        }
+
+        for (Long userId : indexed.keySet()) {
+            if (!seen.contains(userId)) {
+                report.getMissingFromTable().add(userId);
+            }
+        }
+
+        report.setConsistent(report.getMismatches().isEmpty() && report.getMissingFromTable().isEmpty());
+        report.setRepaired(false);
+
+        if (!report.getConsistent()) {
+            logger.warn("Leaderboard index drift on {}: {} mismatched rows, {} users missing from table",
+                    date, report.getMismatches().size(), report.getMissingFromTable().size());
+            if (repair) {
+                leaderboardIndex.load();
+                report.setRepaired(true);
+            }
+        }
+
+        return report;
+    }
+}
@@ -0,0 +1,350 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.repository.UserProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranked view of every user's total points.
+ *
+ * Users are kept in a sorted set ordered by points (desc) then username (asc), matching
+ * LeaderboardEntryRepository.findDailyLeaderboard, so top-N is a head walk of the set.
+ * A Fenwick tree over point buckets counts how many users sit above a given score,
+ * which gives competition ranks ("1, 2, 2, 4") in O(log maxPoints). One more histogram per
+ * cohort (badge level, career stage) gives the same ranks within a cohort; every upsert moves
+ * the user in all of them under the same lock.
+ */
+@Component
+public class LeaderboardIndex {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    private static final int INITIAL_CAPACITY = 2048;
+
+    private static final Comparator<Entry> RANK_ORDER = Comparator
+            .comparingInt(Entry::points).reversed()
+            .thenComparing(Entry::username, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Entry::userId);
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entriesByUser = new HashMap<>();
+    private final NavigableSet<Entry> ranking = new TreeSet<>(RANK_ORDER);
+    private final Map<Long, String> careerStagesByUser = new HashMap<>();
+    private final Map<String, PointHistogram> cohorts = new HashMap<>();
+    private PointHistogram pointHistogram = new PointHistogram(INITIAL_CAPACITY);
+    private volatile boolean loaded = false;
+
+    /**
+     * A user's standing as held by the index
+     */
+    public record Entry(Long userId, String username, int points, String badgeLevel) {
+    }
+
+    /**
+     * Load every profile's points once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            Map<Long, String> careerStages = new HashMap<>();
+            for (UserProfileRepository.CareerStageView view : userProfileRepository.findAllCareerStages()) {
+                if (view.getCareerStage() != null) {
+                    careerStages.put(view.getUserId(), view.getCareerStage());
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                careerStagesByUser.clear();
+                careerStagesByUser.putAll(careerStages);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Entry> entries = userProfileRepository.findAllPointStandings().stream()
+                    .map(s -> new Entry(s.getUserId(), s.getUsername(),
+                            s.getTotalPoints() != null ? s.getTotalPoints() : 0,
+                            s.getBadgeLevel() != null ? s.getBadgeLevel() : "NOVICE"))
+                    .toList();
+            rebuild(entries);
+            logger.info("Leaderboard index loaded with {} users", entries.size());
+        } catch (Exception e) {
+            logger.error("Failed to load leaderboard index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replace the whole index content
+     */
+    public void rebuild(Collection<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            entriesByUser.clear();
+            ranking.clear();
+            cohorts.clear();
+            int maxPoints = entries.stream().mapToInt(Entry::points).max().orElse(0);
+            pointHistogram = new PointHistogram(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, maxPoints)) << 1));
+            for (Entry entry : entries) {
+                putLocked(entry);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Insert a user or move them to their new score
+     */
+    public void upsert(Long userId, String username, int points, String badgeLevel) {
+        Entry entry = new Entry(userId, username, Math.max(0, points), badgeLevel != null ? badgeLevel : "NOVICE");
+        lock.writeLock().lock();
+        try {
+            removeLocked(userId);
+            putLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move a user to a new score only if it is above the one held, so racing updates of a
+     * monotonically growing total can apply in any order
+     */
+    public void upsertIfHigher(Long userId, String username, int points, String badgeLevel) {
+        Entry entry = new Entry(userId, username, Math.max(0, points), badgeLevel != null ? badgeLevel : "NOVICE");
+        lock.writeLock().lock();
+        try {
+            Entry existing = entriesByUser.get(userId);
+            if (existing == null || existing.points() < entry.points()) {
+                removeLocked(userId);
+                putLocked(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a user only if the index has no standing for them yet
+     */
+    public void putIfAbsent(Long userId, String username, int points, String badgeLevel) {
+        Entry entry = new Entry(userId, username, Math.max(0, points), badgeLevel != null ? badgeLevel : "NOVICE");
+        lock.writeLock().lock();
+        try {
+            if (!entriesByUser.containsKey(userId)) {
+                putLocked(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move a user into the cohort for their (new) career stage
+     */
+    public void setCareerStage(Long userId, String careerStage) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entriesByUser.get(userId);
+            if (entry != null) {
+                removeLocked(userId);
+            }
+            if (careerStage != null) {
+                careerStagesByUser.put(userId, careerStage);
+            } else {
+                careerStagesByUser.remove(userId);
+            }
+            if (entry != null) {
+                putLocked(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<String> getCareerStage(Long userId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(careerStagesByUser.get(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Entry> get(Long userId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(entriesByUser.get(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top users by points, ties broken by username
+     */
+    public List<Entry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<Entry> result = new ArrayList<>(Math.min(Math.max(limit, 0), ranking.size()));
+            Iterator<Entry> it = ranking.iterator();
+            while (it.hasNext() && result.size() < limit) {
+                result.add(it.next());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to k users either side of the given user in leaderboard order, the user included
+     */
+    public List<Entry> around(Long userId, int k) {
+        lock.readLock().lock();
+        try {
+            Entry self = entriesByUser.get(userId);
+            if (self == null) {
+                return Collections.emptyList();
+            }
+
+            LinkedList<Entry> result = new LinkedList<>();
+            Iterator<Entry> above = ranking.headSet(self, false).descendingIterator();
+            while (above.hasNext() && result.size() < k) {
+                result.addFirst(above.next());
+            }
+            result.add(self);
+            Iterator<Entry> below = ranking.tailSet(self, false).iterator();
+            for (int i = 0; i < k && below.hasNext(); i++) {
+                result.add(below.next());
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Snapshot of every indexed user, used by the consistency checker
+     */
+    public Map<Long, Entry> snapshot() {
+        lock.readLock().lock();
+        try {
+            return new HashMap<>(entriesByUser);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Competition rank for a score: one more than the number of users with strictly more points
+     */
+    public int rankOf(int points) {
+        lock.readLock().lock();
+        try {
+            return countAboveLocked(points) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Competition rank for a score among the users of a cohort (see badgeCohort, careerStageCohort)
+     */
+    public int rankInCohort(String cohort, int points) {
+        lock.readLock().lock();
+        try {
+            PointHistogram histogram = cohorts.get(cohort);
+            return (histogram != null ? histogram.countAbove(points) : 0) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int cohortSize(String cohort) {
+        lock.readLock().lock();
+        try {
+            PointHistogram histogram = cohorts.get(cohort);
+            return histogram != null ? histogram.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String badgeCohort(String badgeLevel) {
+        return "badge:" + badgeLevel;
+    }
+
+    public static String careerStageCohort(String careerStage) {
+        return "stage:" + careerStage.toLowerCase();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Private helper methods
+
+    private void putLocked(Entry entry) {
+        entriesByUser.put(entry.userId(), entry);
+        ranking.add(entry);
+        pointHistogram.add(entry.points());
+        for (String cohort : cohortsOf(entry)) {
+            cohorts.computeIfAbsent(cohort, key -> new PointHistogram(INITIAL_CAPACITY)).add(entry.points());
+        }
+    }
+
+    private void removeLocked(Long userId) {
+        Entry existing = entriesByUser.remove(userId);
+        if (existing != null) {
+            ranking.remove(existing);
+            pointHistogram.remove(existing.points());
+            for (String cohort : cohortsOf(existing)) {
+                PointHistogram histogram = cohorts.get(cohort);
+                histogram.remove(existing.points());
+                if (histogram.size() == 0) {
+                    cohorts.remove(cohort);
+                }
+            }
+        }
+    }
+
+    private List<String> cohortsOf(Entry entry) {
+        String careerStage = careerStagesByUser.get(entry.userId());
+        return careerStage != null
+                ? List.of(badgeCohort(entry.badgeLevel()), careerStageCohort(careerStage))
+                : List.of(badgeCohort(entry.badgeLevel()));
+    }
+
+    private int countAboveLocked(int points) {
+        return pointHistogram.countAbove(points);
+    }
+}
@@ -0,0 +1,98 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.dto.LeaderboardJobStatusResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for the current (or last) leaderboard snapshot job run. Workers update them
+ * concurrently; status() can be read at any time, including while the run is in progress.
+ */
+class LeaderboardJobMetrics {
+
+    private volatile String status = "IDLE";
+    private volatile LocalDate jobDate;
+    private volatile boolean resumed;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile int shards;
+    private volatile String error;
+
+    private final AtomicInteger shardsCompleted = new AtomicInteger();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong totalChunkNanos = new AtomicLong();
+    private final AtomicLong maxChunkNanos = new AtomicLong();
+    private final AtomicLong lastChunkNanos = new AtomicLong();
+
+    void start(LocalDate date, int shardCount, boolean resumedRun) {
+        jobDate = date;
+        shards = shardCount;
+        resumed = resumedRun;
+        error = null;
+        shardsCompleted.set(0);
+        chunks.set(0);
+        rows.set(0);
+        totalChunkNanos.set(0);
+        maxChunkNanos.set(0);
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        startedNanos = System.nanoTime();
+        lastChunkNanos.set(startedNanos);
+        status = "RUNNING";
+    }
+
+    void chunkCommitted(int rowCount, long elapsedNanos) {
+        chunks.incrementAndGet();
+        rows.addAndGet(rowCount);
+        totalChunkNanos.addAndGet(elapsedNanos);
+        maxChunkNanos.accumulateAndGet(elapsedNanos, Math::max);
+        lastChunkNanos.set(System.nanoTime());
+    }
+
+    void shardCompleted() {
+        shardsCompleted.incrementAndGet();
+    }
+
+    void finish(Exception failure) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        error = failure != null ? failure.getMessage() : null;
+        status = failure != null ? "FAILED" : "COMPLETED";
+    }
+
+    LeaderboardJobStatusResponse status() {
+        LeaderboardJobStatusResponse response = new LeaderboardJobStatusResponse();
+        response.setStatus(status);
+        if ("IDLE".equals(status)) {
+            return response;
+        }
+
+        boolean running = "RUNNING".equals(status);
+        long now = System.nanoTime();
+        long elapsedNanos = (running ? now : finishedNanos) - startedNanos;
+        long chunkCount = chunks.get();
+        long rowCount = rows.get();
+
+        response.setJobDate(jobDate);
+        response.setResumed(resumed);
+        response.setStartedAt(startedAt);
+        response.setFinishedAt(finishedAt);
+        response.setDurationMs(elapsedNanos / 1_000_000);
+        response.setShards(shards);
+        response.setShardsCompleted(shardsCompleted.get());
+        response.setChunksCommitted(chunkCount);
+        response.setRowsProcessed(rowCount);
+        response.setRowsPerSecond(elapsedNanos > 0 ? rowCount * 1_000_000_000.0 / elapsedNanos : 0.0);
+        response.setAverageChunkMs(chunkCount > 0 ? totalChunkNanos.get() / 1_000_000.0 / chunkCount : 0.0);
+        response.setMaxChunkMs(maxChunkNanos.get() / 1_000_000);
+        response.setChunkLagMs(running ? (now - lastChunkNanos.get()) / 1_000_000 : 0L);
+        response.setError(error);
+        return response;
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.TTP.service.leaderboard;
+
+/**
+ * Sliding windows the leaderboard can be ranked over, each ending with today
+ */
+public enum LeaderboardPeriod {
+    DAILY("daily", 1),
+    WEEKLY("weekly", 7),
+    MONTHLY("monthly", 30);
+
+    private final String param;
+    private final int days;
+
+    LeaderboardPeriod(String param, int days) {
+        this.param = param;
+        this.days = days;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * The windowed period for a request parameter, or null for the all-time leaderboard
+     */
+    public static LeaderboardPeriod fromParam(String param) {
+        for (LeaderboardPeriod period : values()) {
+            if (period.param.equalsIgnoreCase(param)) {
+                return period;
+            }
+        }
+        return null;
+    }
+}
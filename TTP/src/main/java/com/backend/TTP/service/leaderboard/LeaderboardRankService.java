@@ -0,0 +1,178 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.dto.LeaderboardUserDTO;
+import com.backend.TTP.model.User;
+import com.backend.TTP.model.UserProfile;
+import com.backend.TTP.repository.LeaderboardEntryRepository;
+import com.backend.TTP.repository.UserProfileRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rank lookups answered from the in-memory leaderboard index.
+ *
+ * Ranks use the same tie handling as the SQL leaderboard: users with equal points share a rank
+ * and the next distinct score skips ahead ("1, 2, 2, 4"). While the index is still loading,
+ * rank falls back to LeaderboardEntryRepository.findUserDailyRank.
+ */
+@Service
+public class LeaderboardRankService {
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private LeaderboardWindows leaderboardWindows;
+
+    /**
+     * Rank of a user, or null if the user has no profile
+     */
+    public Integer getRank(User user) {
+        if (!leaderboardIndex.isLoaded()) {
+            return leaderboardEntryRepository.findUserDailyRank(user, LocalDate.now());
+        }
+        return resolve(user)
+                .map(entry -> leaderboardIndex.rankOf(entry.points()))
+                .orElse(null);
+    }
+
+    /**
+     * Share of users ranked at or below this user, as a percentage (100 = top of the board)
+     */
+    public Double getPercentile(User user) {
+        Optional<LeaderboardIndex.Entry> entry = resolve(user);
+        int totalUsers = leaderboardIndex.size();
+        if (entry.isEmpty() || totalUsers == 0) {
+            return null;
+        }
+        int rank = leaderboardIndex.rankOf(entry.get().points());
+        return ((totalUsers - rank + 1.0) / totalUsers) * 100;
+    }
+
+    /**
+     * The user's own leaderboard row, flagged as the current user
+     */
+    public LeaderboardUserDTO getStanding(User user) {
+        return resolve(user)
+                .map(entry -> {
+                    LeaderboardUserDTO dto = toDto(entry);
+                    dto.setIsCurrentUser(true);
+                    if (!leaderboardIndex.isLoaded()) {
+                        Integer rank = getRank(user);
+                        dto.setRank(rank != null ? rank : 999);
+                    }
+                    return dto;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Top users in leaderboard order
+     */
+    public List<LeaderboardUserDTO> getTopUsers(int limit) {
+        List<LeaderboardUserDTO> result = new ArrayList<>();
+        for (LeaderboardIndex.Entry entry : leaderboardIndex.top(limit)) {
+            result.add(toDto(entry));
+        }
+        return result;
+    }
+
+    /**
+     * Top users by points earned within a window
+     */
+    public List<LeaderboardUserDTO> getTopUsers(LeaderboardPeriod period, int limit) {
+        LeaderboardIndex ranking = leaderboardWindows.ranking(period);
+        List<LeaderboardUserDTO> result = new ArrayList<>();
+        for (LeaderboardIndex.Entry entry : ranking.top(limit)) {
+            result.add(toWindowDto(ranking, entry.userId(), entry.username(), entry.points()));
+        }
+        return result;
+    }
+
+    /**
+     * The user's row in a window; users without points in the window rank after everyone who has some
+     */
+    public LeaderboardUserDTO getStanding(User user, LeaderboardPeriod period) {
+        LeaderboardIndex ranking = leaderboardWindows.ranking(period);
+        int points = ranking.get(user.getId()).map(LeaderboardIndex.Entry::points).orElse(0);
+        LeaderboardUserDTO dto = toWindowDto(ranking, user.getId(), user.getUsername(), points);
+        dto.setIsCurrentUser(true);
+        return dto;
+    }
+
+    /**
+     * Users within k places either side of the given user, the user included
+     */
+    public List<LeaderboardUserDTO> getUsersAround(User user, int k) {
+        if (resolve(user).isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<LeaderboardUserDTO> result = new ArrayList<>();
+        for (LeaderboardIndex.Entry entry : leaderboardIndex.around(user.getId(), Math.max(0, k))) {
+            LeaderboardUserDTO dto = toDto(entry);
+            dto.setIsCurrentUser(entry.userId().equals(user.getId()));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    // Private helper methods
+
+    /**
+     * Look the user up in the index, seeding it from the profile the first time they are seen
+     */
+    private Optional<LeaderboardIndex.Entry> resolve(User user) {
+        Optional<LeaderboardIndex.Entry> entry = leaderboardIndex.get(user.getId());
+        if (entry.isPresent()) {
+            return entry;
+        }
+
+        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
+        if (profile == null) {
+            return Optional.empty();
+        }
+        leaderboardIndex.setCareerStage(user.getId(), profile.getCareerStage());
+        leaderboardIndex.upsert(user.getId(), user.getUsername(),
+                profile.getTotalPoints() != null ? profile.getTotalPoints() : 0,
+                profile.getCurrentBadgeLevel());
+        return leaderboardIndex.get(user.getId());
+    }
+
+    private LeaderboardUserDTO toDto(LeaderboardIndex.Entry entry) {
+        LeaderboardUserDTO dto = new LeaderboardUserDTO();
+        dto.setUserId(entry.userId());
+        dto.setUsername(entry.username());
+        dto.setPoints(entry.points());
+        dto.setRank(leaderboardIndex.rankOf(entry.points()));
+        dto.setBadgeLevel(entry.badgeLevel());
+        dto.setIsCurrentUser(false);
+        return dto;
+    }
+
+    /**
+     * Window rows carry the user's current badge from the all-time index
+     */
+    private LeaderboardUserDTO toWindowDto(LeaderboardIndex ranking, Long userId, String username, int points) {
+        LeaderboardUserDTO dto = new LeaderboardUserDTO();
+        dto.setUserId(userId);
+        dto.setUsername(username);
+        dto.setPoints(points);
+        dto.setRank(ranking.rankOf(points));
+        dto.setBadgeLevel(leaderboardIndex.get(userId).map(LeaderboardIndex.Entry::badgeLevel).orElse("NOVICE"));
+        dto.setIsCurrentUser(false);
+        return dto;
+    }
+}
@@ -0,0 +1,313 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.dto.LeaderboardJobStatusResponse;
+import com.backend.TTP.model.LeaderboardJobCheckpoint;
+import com.backend.TTP.repository.LeaderboardJobCheckpointRepository;
+import com.backend.TTP.repository.UserProfileRepository;
+import com.backend.TTP.service.ledger.PointAccumulator;
+import com.backend.TTP.service.ledger.PointLedger;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the day's LeaderboardEntry snapshot for every profile as a chunked, restartable batch.
+ *
+ * Profile ids are split into one contiguous range per worker, and each worker walks its range with
+ * keyset pagination (id > last id, ordered by id) so memory stays at one chunk per worker. A chunk's
+ * rows and the shard's checkpoint commit in the same transaction; a run that dies part way leaves
+ * its checkpoints unfinished, and the next run for the same date picks up after the last committed
+ * chunk instead of starting over.
+ */
+@Component
+public class LeaderboardSnapshotJob {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardSnapshotJob.class);
+
+    private static final String SELECT_ENTRIES =
+            "SELECT \"id\", \"user_id\" FROM \"leaderboard_entry\" WHERE \"date\" = :date AND \"user_id\" IN (:ids)";
+    private static final String UPDATE_ENTRY =
+            "UPDATE \"leaderboard_entry\" SET \"daily_points\" = ?, \"weekly_points\" = ?, \"monthly_points\" = ?, " +
+            "\"total_points\" = ?, \"daily_rank\" = ?, \"weekly_rank\" = ?, \"monthly_rank\" = ? WHERE \"id\" = ?";
+    private static final String INSERT_ENTRY =
+            "INSERT INTO \"leaderboard_entry\" (\"user_id\", \"date\", \"daily_points\", \"weekly_points\", " +
+            "\"monthly_points\", \"total_points\", \"daily_rank\", \"weekly_rank\", \"monthly_rank\") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_CHECKPOINT =
+            "UPDATE \"leaderboard_job_checkpoint\" SET \"last_profile_id\" = ?, \"rows_processed\" = ?, " +
+            "\"updated_at\" = ? WHERE \"id\" = ?";
+    private static final String COMPLETE_CHECKPOINT =
+            "UPDATE \"leaderboard_job_checkpoint\" SET \"completed\" = TRUE, \"updated_at\" = ? WHERE \"id\" = ?";
+
+    @Value("${leaderboard.job.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${leaderboard.job.workers:4}")
+    private int workers;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private LeaderboardJobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private LeaderboardWindows leaderboardWindows;
+
+    @Autowired
+    private PointLedger pointLedger;
+
+    @Autowired
+    private PointAccumulator pointAccumulator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final LeaderboardJobMetrics metrics = new LeaderboardJobMetrics();
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Snapshot every profile for the date with the configured chunk size and worker count
+     */
+    public LeaderboardJobStatusResponse run(LocalDate date) {
+        return run(date, chunkSize, workers);
+    }
+
+    /**
+     * Snapshot every profile for the date. Resumes the date's unfinished run if there is one;
+     * otherwise plans a fresh run split across the given number of workers.
+     */
+    public LeaderboardJobStatusResponse run(LocalDate date, int chunkSize, int workers) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Leaderboard job is already running");
+        }
+
+        ExecutorService executor = null;
+        try {
+            // Write out buffered awards first so the snapshot reflects every committed point
+            pointLedger.flush();
+            leaderboardWindows.rollTo(date);
+            Map<LeaderboardPeriod, LeaderboardIndex> rankings = new EnumMap<>(LeaderboardPeriod.class);
+            for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+                rankings.put(period, leaderboardWindows.ranking(period));
+            }
+
+            List<LeaderboardJobCheckpoint> checkpoints = checkpointRepository.findByJobDateOrderByShard(date);
+            boolean resumed = checkpoints.stream().anyMatch(checkpoint -> !Boolean.TRUE.equals(checkpoint.getCompleted()));
+            if (!resumed) {
+                checkpoints = planShards(date, Math.max(1, workers));
+            }
+            List<LeaderboardJobCheckpoint> pendingShards = checkpoints.stream()
+                    .filter(checkpoint -> !Boolean.TRUE.equals(checkpoint.getCompleted()))
+                    .toList();
+
+            metrics.start(date, checkpoints.size(), resumed);
+            if (resumed) {
+                logger.info("Resuming leaderboard job for {}: {} of {} shards unfinished", date, pendingShards.size(), checkpoints.size());
+            }
+
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Math.max(1, pendingShards.size()), r -> {
+                Thread thread = new Thread(r, "leaderboard-job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            List<Future<?>> futures = new ArrayList<>();
+            for (LeaderboardJobCheckpoint checkpoint : pendingShards) {
+                futures.add(executor.submit(() -> runShard(date, checkpoint, chunkSize, rankings)));
+            }
+
+            Throwable failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failure = failure != null ? failure : e.getCause();
+                }
+            }
+            if (failure != null) {
+                throw new RuntimeException("Leaderboard job failed for " + date + ", the next run resumes from its checkpoints: "
+                        + failure.getMessage(), failure);
+            }
+
+            metrics.finish(null);
+            LeaderboardJobStatusResponse status = metrics.status();
+            logger.info("Leaderboard job for {} wrote {} rows in {} chunks in {} ms ({} rows/s)", date,
+                    status.getRowsProcessed(), status.getChunksCommitted(), status.getDurationMs(),
+                    String.format("%.0f", status.getRowsPerSecond()));
+            return status;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            metrics.finish(e);
+            throw new RuntimeException("Leaderboard job was interrupted", e);
+        } catch (RuntimeException e) {
+            metrics.finish(e);
+            throw e;
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            running.set(false);
+        }
+    }
+
+    /**
+     * Progress of the running job, or the outcome of the last one
+     */
+    public LeaderboardJobStatusResponse getStatus() {
+        return metrics.status();
+    }
+
+    // Private helper methods
+
+    /**
+     * Replace the date's checkpoints with one per id range. The last range is open-ended so
+     * profiles created while the run is in progress are still picked up.
+     */
+    private List<LeaderboardJobCheckpoint> planShards(LocalDate date, int shardCount) {
+        UserProfileRepository.ProfileIdRange range = userProfileRepository.findProfileIdRange();
+        return transactionTemplate.execute(status -> {
+            checkpointRepository.deleteByJobDate(date);
+            checkpointRepository.flush();
+            if (range == null || range.getMinId() == null) {
+                return Collections.emptyList();
+            }
+
+            long first = range.getMinId() - 1;
+            long span = range.getMaxId() - first;
+            long shardSize = Math.max(1, (span + shardCount - 1) / shardCount);
+            List<LeaderboardJobCheckpoint> checkpoints = new ArrayList<>();
+            for (int shard = 0; shard < shardCount && first + (long) shard * shardSize < range.getMaxId(); shard++) {
+                long start = first + (long) shard * shardSize;
+                boolean last = start + shardSize >= range.getMaxId() || shard == shardCount - 1;
+                LeaderboardJobCheckpoint checkpoint = new LeaderboardJobCheckpoint();
+                checkpoint.setJobDate(date);
+                checkpoint.setShard(shard);
+                checkpoint.setRangeStart(start);
+                checkpoint.setRangeEnd(last ? Long.MAX_VALUE : start + shardSize);
+                checkpoint.setLastProfileId(start);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpoints.add(checkpoint);
+            }
+            return checkpointRepository.saveAll(checkpoints);
+        });
+    }
+
+    private void runShard(LocalDate date, LeaderboardJobCheckpoint checkpoint, int chunkSize,
+                          Map<LeaderboardPeriod, LeaderboardIndex> rankings) {
+        long afterId = checkpoint.getLastProfileId();
+        long rowsProcessed = checkpoint.getRowsProcessed() != null ? checkpoint.getRowsProcessed() : 0L;
+
+        while (true) {
+            long chunkStarted = System.nanoTime();
+            List<UserProfileRepository.ProfileStanding> chunk = userProfileRepository.findStandingsAfter(
+                    afterId, checkpoint.getRangeEnd(), PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            long lastId = chunk.get(chunk.size() - 1).getProfileId();
+            long rowsAfterChunk = rowsProcessed + chunk.size();
+            transactionTemplate.executeWithoutResult(status -> {
+                writeChunk(date, chunk, rankings);
+                jdbcTemplate.update(UPDATE_CHECKPOINT, lastId, rowsAfterChunk, Timestamp.valueOf(LocalDateTime.now()), checkpoint.getId());
+            });
+
+            // Keep the index on the running total, which includes anything awarded since the flush
+            for (UserProfileRepository.ProfileStanding standing : chunk) {
+                int totalPoints = standing.getTotalPoints() != null ? standing.getTotalPoints() : 0;
+                int indexedPoints = pointAccumulator.current(standing.getUserId()).orElse(totalPoints);
+                leaderboardIndex.upsert(standing.getUserId(), standing.getUsername(), indexedPoints, standing.getBadgeLevel());
+            }
+
+            metrics.chunkCommitted(chunk.size(), System.nanoTime() - chunkStarted);
+            afterId = lastId;
+            rowsProcessed = rowsAfterChunk;
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        jdbcTemplate.update(COMPLETE_CHECKPOINT, Timestamp.valueOf(LocalDateTime.now()), checkpoint.getId());
+        metrics.shardCompleted();
+    }
+
+    /**
+     * Update the chunk's existing rows for the date and insert the missing ones, each as one JDBC batch
+     */
+    private void writeChunk(LocalDate date, List<UserProfileRepository.ProfileStanding> chunk,
+                            Map<LeaderboardPeriod, LeaderboardIndex> rankings) {
+        List<Long> userIds = chunk.stream().map(UserProfileRepository.ProfileStanding::getUserId).toList();
+        Map<Long, Long> entryIds = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_ENTRIES,
+                new MapSqlParameterSource().addValue("date", Date.valueOf(date)).addValue("ids", userIds),
+                rs -> {
+                    entryIds.putIfAbsent(rs.getLong("user_id"), rs.getLong("id"));
+                });
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (UserProfileRepository.ProfileStanding standing : chunk) {
+            Long userId = standing.getUserId();
+            int totalPoints = standing.getTotalPoints() != null ? standing.getTotalPoints() : 0;
+            int dailyPoints = windowPoints(rankings.get(LeaderboardPeriod.DAILY), userId);
+            int weeklyPoints = windowPoints(rankings.get(LeaderboardPeriod.WEEKLY), userId);
+            int monthlyPoints = windowPoints(rankings.get(LeaderboardPeriod.MONTHLY), userId);
+            int dailyRank = rankings.get(LeaderboardPeriod.DAILY).rankOf(dailyPoints);
+            int weeklyRank = rankings.get(LeaderboardPeriod.WEEKLY).rankOf(weeklyPoints);
+            int monthlyRank = rankings.get(LeaderboardPeriod.MONTHLY).rankOf(monthlyPoints);
+
+            Long entryId = entryIds.get(userId);
+            if (entryId != null) {
+                updates.add(new Object[]{dailyPoints, weeklyPoints, monthlyPoints, totalPoints,
+                        dailyRank, weeklyRank, monthlyRank, entryId});
+            } else {
+                inserts.add(new Object[]{userId, Date.valueOf(date), dailyPoints, weeklyPoints, monthlyPoints,
+                        totalPoints, dailyRank, weeklyRank, monthlyRank});
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ENTRY, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ENTRY, inserts);
+        }
+    }
+
+    private int windowPoints(LeaderboardIndex ranking, Long userId) {
+        return ranking.get(userId).map(LeaderboardIndex.Entry::points).orElse(0);
+    }
+}
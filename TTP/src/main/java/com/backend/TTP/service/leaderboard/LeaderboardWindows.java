@@ -0,0 +1,221 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.repository.PointHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daily, weekly and monthly point windows for every user, kept up to date as points are awarded.
+ *
+ * Each user holds a ring of per-day point buckets covering the longest window plus a running sum
+ * per window. An award adds to today's bucket and every sum; when the day changes, the buckets
+ * that slide out of a window are subtracted from its sum. Each window is ranked by its own
+ * LeaderboardIndex, so a weekly or monthly query costs the same as the all-time one.
+ * PointHistory is only read once at startup to seed the buckets.
+ */
+@Component
+public class LeaderboardWindows {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardWindows.class);
+
+    private static final LeaderboardPeriod[] PERIODS = LeaderboardPeriod.values();
+    private static final int HORIZON_DAYS = Arrays.stream(PERIODS).mapToInt(LeaderboardPeriod::getDays).max().orElse(1);
+
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private final Map<Long, UserWindow> windowsByUser = new HashMap<>();
+    private final Map<LeaderboardPeriod, LeaderboardIndex> rankings = new EnumMap<>(LeaderboardPeriod.class);
+    private volatile long currentDay = LocalDate.now().toEpochDay();
+    private volatile boolean loaded = false;
+
+    public LeaderboardWindows() {
+        for (LeaderboardPeriod period : PERIODS) {
+            rankings.put(period, new LeaderboardIndex());
+        }
+    }
+
+    /**
+     * Seed the buckets from the last HORIZON_DAYS of point history
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            LocalDate today = LocalDate.now();
+            LocalDate since = today.minusDays(HORIZON_DAYS - 1);
+            List<PointHistoryRepository.DailyPoints> rows =
+                    pointHistoryRepository.findDailyPointTotalsSince(since.atStartOfDay());
+
+            stateLock.lock();
+            try {
+                windowsByUser.clear();
+                currentDay = today.toEpochDay();
+                for (PointHistoryRepository.DailyPoints row : rows) {
+                    if (row.getPoints() == null || row.getDay() == null) continue;
+                    windowsByUser.computeIfAbsent(row.getUserId(), id -> new UserWindow(row.getUsername(), currentDay))
+                            .add(row.getDay().toEpochDay(), row.getPoints().intValue());
+                }
+                rebuildRankingsLocked();
+                loaded = true;
+            } finally {
+                stateLock.unlock();
+            }
+            logger.info("Leaderboard windows loaded for {} users from {} daily totals", windowsByUser.size(), rows.size());
+        } catch (Exception e) {
+            logger.error("Failed to load leaderboard windows: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Count points awarded to a user on the given day towards every window that covers it
+     */
+    public void record(Long userId, String username, int points, LocalDate earnedOn) {
+        if (points == 0) {
+            return;
+        }
+        rollTo(LocalDate.now());
+
+        stateLock.lock();
+        try {
+            UserWindow window = windowsByUser.computeIfAbsent(userId, id -> new UserWindow(username, currentDay));
+            window.username = username;
+            window.advance(currentDay);
+            window.add(earnedOn.toEpochDay(), points);
+            for (LeaderboardPeriod period : PERIODS) {
+                int windowPoints = window.sum(period);
+                if (windowPoints > 0) {
+                    rankings.get(period).upsert(userId, username, windowPoints, null);
+                } else {
+                    rankings.get(period).remove(userId);
+                }
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Slide every window forward to the given day. Cheap when the day has not changed.
+     */
+    public void rollTo(LocalDate day) {
+        long target = day.toEpochDay();
+        if (target <= currentDay) {
+            return;
+        }
+
+        stateLock.lock();
+        try {
+            if (target <= currentDay) {
+                return;
+            }
+            currentDay = target;
+            windowsByUser.values().forEach(window -> window.advance(target));
+            rebuildRankingsLocked();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * The ranked view of one window, current as of today
+     */
+    public LeaderboardIndex ranking(LeaderboardPeriod period) {
+        rollTo(LocalDate.now());
+        return rankings.get(period);
+    }
+
+    // Private helper methods
+
+    /**
+     * Users only appear in a window they have points in
+     */
+    private void rebuildRankingsLocked() {
+        for (LeaderboardPeriod period : PERIODS) {
+            List<LeaderboardIndex.Entry> entries = new ArrayList<>();
+            windowsByUser.forEach((userId, window) -> {
+                int points = window.sum(period);
+                if (points > 0) {
+                    entries.add(new LeaderboardIndex.Entry(userId, window.username, points, "NOVICE"));
+                }
+            });
+            rankings.get(period).rebuild(entries);
+        }
+    }
+
+    /**
+     * Per-day buckets for the last HORIZON_DAYS days and a running sum per window
+     */
+    private static final class UserWindow {
+        private final int[] dayPoints = new int[HORIZON_DAYS];
+        private final long[] dayStamp = new long[HORIZON_DAYS];
+        private final int[] sums = new int[PERIODS.length];
+        private String username;
+        private long day;
+
+        UserWindow(String username, long day) {
+            this.username = username;
+            this.day = day;
+            Arrays.fill(dayStamp, Long.MIN_VALUE);
+        }
+
+        int sum(LeaderboardPeriod period) {
+            return sums[period.ordinal()];
+        }
+
+        void add(long onDay, int points) {
+            if (onDay > day) {
+                advance(onDay);
+            }
+            if (onDay <= day - HORIZON_DAYS) {
+                return;
+            }
+
+            int slot = (int) Math.floorMod(onDay, (long) HORIZON_DAYS);
+            if (dayStamp[slot] != onDay) {
+                dayStamp[slot] = onDay;
+                dayPoints[slot] = 0;
+            }
+            dayPoints[slot] += points;
+
+            for (LeaderboardPeriod period : PERIODS) {
+                if (onDay > day - period.getDays()) {
+                    sums[period.ordinal()] += points;
+                }
+            }
+        }
+
+        /**
+         * Subtract the days that fall out of each window when moving from day to newDay
+         */
+        void advance(long newDay) {
+            if (newDay <= day) {
+                return;
+            }
+            for (LeaderboardPeriod period : PERIODS) {
+                long firstLeaving = day - period.getDays() + 1;
+                long lastLeaving = Math.min(day, newDay - period.getDays());
+                for (long d = firstLeaving; d <= lastLeaving; d++) {
+                    sums[period.ordinal()] -= pointsOn(d);
+                }
+            }
+            day = newDay;
+        }
+
+        private int pointsOn(long onDay) {
+            int slot = (int) Math.floorMod(onDay, (long) HORIZON_DAYS);
+            return dayStamp[slot] == onDay ? dayPoints[slot] : 0;
+        }
+    }
+}
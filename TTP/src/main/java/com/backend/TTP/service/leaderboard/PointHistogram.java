@@ -0,0 +1,84 @@
+package com.backend.TTP.service.leaderboard;
+
+/**
+ * Count of users per point score, kept in a Fenwick tree so "how many users have more than
+ * N points" is O(log maxPoints) and moving a user is two updates. Not thread-safe; LeaderboardIndex
+ * guards it with its own lock.
+ */
+final class PointHistogram {
+
+    private int[] buckets;
+    private int size = 0;
+
+    PointHistogram(int capacity) {
+        buckets = new int[capacity + 1];
+    }
+
+    void add(int points) {
+        ensureCapacity(points);
+        update(points, 1);
+        size++;
+    }
+
+    void remove(int points) {
+        update(points, -1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Number of users with strictly more than the given points
+     */
+    int countAbove(int points) {
+        int capacity = buckets.length - 1;
+        if (points >= capacity) {
+            return 0;
+        }
+        return size - prefixCount(Math.max(points, -1));
+    }
+
+    // Private helper methods
+
+    /**
+     * Number of users with points in [0, points]
+     */
+    private int prefixCount(int points) {
+        int count = 0;
+        for (int i = points + 1; i > 0; i -= i & -i) {
+            count += buckets[i];
+        }
+        return count;
+    }
+
+    private void update(int points, int delta) {
+        for (int i = points + 1; i < buckets.length; i += i & -i) {
+            buckets[i] += delta;
+        }
+    }
+
+    /**
+     * Grow to fit the given score, re-adding the existing counts bucket by bucket
+     */
+    private void ensureCapacity(int points) {
+        int capacity = buckets.length - 1;
+        if (points < capacity) {
+            return;
+        }
+        int[] counts = new int[capacity];
+        for (int p = 0; p < capacity; p++) {
+            counts[p] = prefixCount(p) - (p > 0 ? prefixCount(p - 1) : 0);
+        }
+        while (capacity <= points) {
+            capacity <<= 1;
+        }
+        buckets = new int[capacity + 1];
+        for (int p = 0; p < counts.length; p++) {
+            if (counts[p] != 0) {
+                update(p, counts[p]);
+            }
+        }
+    }
+}
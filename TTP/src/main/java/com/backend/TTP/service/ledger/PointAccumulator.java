@@ -0,0 +1,80 @@
+package com.backend.TTP.service.ledger;
+
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntSupplier;
+
+/**
+ * Lock-free running point totals per user, including awards the ledger has not flushed yet.
+ *
+ * Each user has an AtomicInteger in a ConcurrentHashMap (whose bins act as the stripes), and an
+ * award is applied with a compare-and-set loop. Two awards for the same user therefore never
+ * block each other and never lose an update; the one that loses the CAS just retries on the new total.
+ */
+@Component
+public class PointAccumulator {
+
+    private final ConcurrentHashMap<Long, AtomicInteger> totals = new ConcurrentHashMap<>();
+
+    /**
+     * The outcome of one award: the total before it, the total after the award itself,
+     * and any bonus that was added on top in the same step
+     */
+    public record Accrual(int before, int after, int bonus) {
+        public int total() {
+            return after + bonus;
+        }
+    }
+
+    /**
+     * Start tracking a user from their stored total if they are not tracked yet
+     */
+    public void seedIfAbsent(Long userId, IntSupplier storedTotal) {
+        totals.computeIfAbsent(userId, id -> new AtomicInteger(storedTotal.getAsInt()));
+    }
+
+    public boolean isTracked(Long userId) {
+        return totals.containsKey(userId);
+    }
+
+    public OptionalInt current(Long userId) {
+        AtomicInteger total = totals.get(userId);
+        return total != null ? OptionalInt.of(total.get()) : OptionalInt.empty();
+    }
+
+    /**
+     * Add points to a tracked user. bonusRule gets the totals before and after the award and
+     * returns extra points to add atomically with it (e.g. a level-up bonus), so a bonus is
+     * granted exactly once even when several awards cross a threshold at the same time.
+     */
+    public Accrual add(Long userId, int points, IntBinaryOperator bonusRule) {
+        AtomicInteger total = totals.get(userId);
+        if (total == null) {
+            throw new IllegalStateException("Point total for user " + userId + " has not been seeded");
+        }
+
+        while (true) {
+            int before = total.get();
+            int after = before + points;
+            int bonus = bonusRule.applyAsInt(before, after);
+            if (total.compareAndSet(before, after + bonus)) {
+                return new Accrual(before, after, bonus);
+            }
+        }
+    }
+
+    /**
+     * Take back points that will never be stored, such as dead-lettered awards; untracked users are
+     * seeded from the database later anyway
+     */
+    public void withdraw(Long userId, int points) {
+        AtomicInteger total = totals.get(userId);
+        if (total != null) {
+            total.addAndGet(-points);
+        }
+    }
+}
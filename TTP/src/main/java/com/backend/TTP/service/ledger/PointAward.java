@@ -0,0 +1,26 @@
+package com.backend.TTP.service.ledger;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One buffered point award. The ledger id is stored with the PointHistory row so a WAL replay
+ * can tell which awards already reached the database; badgeLevel and totalAfter are the user's
+ * level and running total once this award is applied.
+ */
+public record PointAward(String ledgerId,
+                         Long userId,
+                         String activityType,
+                         int points,
+                         LocalDateTime earnedAt,
+                         String description,
+                         Long relatedEntityId,
+                         String badgeLevel,
+                         int totalAfter) {
+
+    public static PointAward of(Long userId, String activityType, int points, String description,
+                                Long relatedEntityId, String badgeLevel, int totalAfter) {
+        return new PointAward(UUID.randomUUID().toString(), userId, activityType, points,
+                LocalDateTime.now(), description, relatedEntityId, badgeLevel, totalAfter);
+    }
+}
@@ -0,0 +1,460 @@
+package com.backend.TTP.service.ledger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind ledger for point awards.
+ *
+ * Awards are buffered per user and written in one flush every flush-interval-ms, or as soon as
+ * max-batch awards are waiting. A flush inserts the PointHistory rows, bumps each profile's total
+ * with a single relative UPDATE and upserts today's LeaderboardEntry, all as JDBC batches in one
+ * transaction. With the WAL enabled every award is also appended to a local log before it is
+ * acknowledged, and anything left in the log is replayed on the next start. The log is fsynced
+ * after the buffer lock is released, so concurrent awards share one fsync instead of queueing
+ * behind each other's.
+ *
+ * Off by default, and only for single-instance deployments: running totals are kept in this
+ * process's PointAccumulator and buffered awards in its memory and local WAL, so a second instance
+ * would compute its totals and level-ups without seeing the first one's awards.
+ *
+ * When a batch fails, each user's awards are retried in a transaction of their own so one bad row
+ * only holds back its own user. A user whose awards keep failing is dead-lettered after max-retries
+ * attempts. Attempts only count when the database rejected the data itself or took other users'
+ * awards in the same flush, so an outage never dead-letters anything.
+ */
+@Component
+public class PointLedger {
+    private static final Logger logger = LoggerFactory.getLogger(PointLedger.class);
+
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    private static final String INSERT_HISTORY =
+            "INSERT INTO \"point_history\" (\"user_id\", \"activity_type\", \"points_earned\", \"earned_at\", " +
+            "\"description\", \"related_entity_id\", \"ledger_id\") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PROFILE =
+            "UPDATE \"user_profile\" SET \"total_points\" = COALESCE(\"total_points\", 0) + ?, " +
+            "\"current_badge_level\" = COALESCE(?, \"current_badge_level\") WHERE \"user_id\" = ?";
+    private static final String SELECT_TOTALS =
+            "SELECT \"user_id\", \"total_points\" FROM \"user_profile\" WHERE \"user_id\" IN (:ids)";
+    private static final String UPDATE_LEADERBOARD =
+            "UPDATE \"leaderboard_entry\" SET \"total_points\" = ? WHERE \"user_id\" = ? AND \"date\" = ?";
+    private static final String INSERT_LEADERBOARD =
+            "INSERT INTO \"leaderboard_entry\" (\"user_id\", \"date\", \"total_points\") VALUES (?, ?, ?)";
+    private static final String SELECT_LEDGER_IDS =
+            "SELECT \"ledger_id\" FROM \"point_history\" WHERE \"ledger_id\" IN (:ids)";
+
+    @Value("${points.ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${points.ledger.max-batch:200}")
+    private int maxBatch;
+
+    @Value("${points.ledger.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${points.ledger.wal.enabled:true}")
+    private boolean walEnabled;
+
+    @Value("${points.ledger.wal.dir:./data/point-ledger}")
+    private String walDir;
+
+    @Value("${points.ledger.wal.fsync:true}")
+    private boolean walFsync;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PointAccumulator pointAccumulator;
+
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean(false);
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "point-ledger-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Map<Long, List<PointAward>> buffer = new LinkedHashMap<>();
+    private Map<Long, List<PointAward>> inFlight = Collections.emptyMap();
+    private int buffered = 0;
+    // Counted failed attempts per user, only touched while holding flushLock
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+
+    private TransactionTemplate transactionTemplate;
+    private PointLedgerWal wal;
+
+    /**
+     * Open the WAL and replay whatever a previous run left behind
+     */
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        if (!enabled || !walEnabled) {
+            return;
+        }
+        try {
+            wal = new PointLedgerWal(Paths.get(walDir), walFsync);
+            replay();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to open point ledger WAL in " + walDir, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffer awards for one user. Once this returns the awards are durable if the WAL is enabled.
+     */
+    public void append(Long userId, List<PointAward> awards) {
+        if (awards.isEmpty()) {
+            return;
+        }
+
+        boolean full;
+        long walSequence = 0;
+        bufferLock.lock();
+        try {
+            if (wal != null) {
+                try {
+                    walSequence = wal.append(awards);
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to write point awards to the ledger WAL", e);
+                }
+            }
+            buffer.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(awards);
+            buffered += awards.size();
+            full = buffered >= maxBatch;
+        } finally {
+            bufferLock.unlock();
+        }
+
+        if (wal != null) {
+            try {
+                wal.sync(walSequence);
+            } catch (Exception e) {
+                // Already buffered, so the awards still reach the database unless the process dies first
+                throw new RuntimeException("Failed to sync point awards to the ledger WAL", e);
+            }
+        }
+
+        if (full && flushQueued.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Awards for a user that have not reached the database yet, oldest first
+     */
+    public List<PointAward> pendingFor(Long userId) {
+        bufferLock.lock();
+        try {
+            List<PointAward> pending = new ArrayList<>(inFlight.getOrDefault(userId, Collections.emptyList()));
+            pending.addAll(buffer.getOrDefault(userId, Collections.emptyList()));
+            return pending;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    public int pendingPoints(Long userId) {
+        return pendingFor(userId).stream().mapToInt(PointAward::points).sum();
+    }
+
+    /**
+     * Write every buffered award to the database. Users whose awards fail go back into the buffer
+     * until they are dead-lettered.
+     */
+    @Scheduled(fixedDelayString = "${points.ledger.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, List<PointAward>> drained;
+            long segment = -1;
+
+            bufferLock.lock();
+            try {
+                if (buffered == 0) {
+                    return;
+                }
+                drained = buffer;
+                inFlight = drained;
+                buffer = new LinkedHashMap<>();
+                buffered = 0;
+                if (wal != null) {
+                    segment = wal.rotate();
+                }
+            } catch (Exception e) {
+                // Rotation failed; the awards are still in the current segment, so just retry later
+                logger.error("Failed to rotate point ledger WAL: {}", e.getMessage(), e);
+                buffer = inFlight;
+                buffered = buffer.values().stream().mapToInt(List::size).sum();
+                inFlight = Collections.emptyMap();
+                return;
+            } finally {
+                bufferLock.unlock();
+            }
+
+            Map<Long, List<PointAward>> retry;
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(drained));
+                failedAttempts.keySet().removeAll(drained.keySet());
+                retry = Collections.emptyMap();
+            } catch (Exception e) {
+                logger.warn("Point ledger batch of {} users failed, retrying each user on its own: {}",
+                        drained.size(), e.getMessage());
+                retry = writeEachUser(drained);
+            }
+
+            // Requeued awards are logged again in the current segment, so the drained ones can go
+            if (requeue(retry) && wal != null) {
+                wal.deleteUpTo(segment);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (wal != null) {
+            try {
+                wal.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close point ledger WAL: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Private helper methods
+
+    private void write(Map<Long, List<PointAward>> awardsByUser) {
+        List<Object[]> historyRows = new ArrayList<>();
+        List<Object[]> profileRows = new ArrayList<>();
+
+        for (Map.Entry<Long, List<PointAward>> e : awardsByUser.entrySet()) {
+            int delta = 0;
+            String badgeLevel = null;
+            int highestTotal = Integer.MIN_VALUE;
+            for (PointAward award : e.getValue()) {
+                historyRows.add(new Object[]{award.userId(), award.activityType(), award.points(), award.earnedAt(),
+                        award.description(), award.relatedEntityId(), award.ledgerId()});
+                delta += award.points();
+                // Concurrent awards can be appended out of order; the badge comes from the highest running total
+                if (award.badgeLevel() != null && award.totalAfter() >= highestTotal) {
+                    badgeLevel = award.badgeLevel();
+                    highestTotal = award.totalAfter();
+                }
+            }
+            profileRows.add(new Object[]{delta, badgeLevel, e.getKey()});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, historyRows);
+        jdbcTemplate.batchUpdate(UPDATE_PROFILE, profileRows);
+        writeLeaderboardEntries(new ArrayList<>(awardsByUser.keySet()));
+    }
+
+    /**
+     * Mirror the new profile totals into today's LeaderboardEntry rows; window columns are left to the daily snapshot
+     */
+    private void writeLeaderboardEntries(List<Long> userIds) {
+        LocalDate today = LocalDate.now();
+
+        for (int from = 0; from < userIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, userIds.size()));
+            Map<Long, Integer> totals = new LinkedHashMap<>();
+            namedParameterJdbcTemplate.query(SELECT_TOTALS, new MapSqlParameterSource("ids", chunk), rs -> {
+                totals.put(rs.getLong(1), rs.getInt(2));
+            });
+
+            List<Object[]> updates = new ArrayList<>();
+            List<Long> updateOrder = new ArrayList<>();
+            for (Map.Entry<Long, Integer> e : totals.entrySet()) {
+                updates.add(new Object[]{e.getValue(), e.getKey(), today});
+                updateOrder.add(e.getKey());
+            }
+
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_LEADERBOARD, updates);
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    inserts.add(new Object[]{updateOrder.get(i), today, totals.get(updateOrder.get(i))});
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_LEADERBOARD, inserts);
+            }
+        }
+    }
+
+    /**
+     * Write each user's awards in its own transaction after a failed batch; returns the users to
+     * retry on the next flush. Users past max-retries are dead-lettered instead.
+     */
+    private Map<Long, List<PointAward>> writeEachUser(Map<Long, List<PointAward>> drained) {
+        Map<Long, List<PointAward>> failed = new LinkedHashMap<>();
+        Map<Long, Exception> errors = new HashMap<>();
+        for (Map.Entry<Long, List<PointAward>> e : drained.entrySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(Map.of(e.getKey(), e.getValue())));
+                failedAttempts.remove(e.getKey());
+            } catch (Exception ex) {
+                failed.put(e.getKey(), e.getValue());
+                errors.put(e.getKey(), ex);
+            }
+        }
+
+        boolean databaseReachable = failed.size() < drained.size();
+        Map<Long, List<PointAward>> retry = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<PointAward>> e : failed.entrySet()) {
+            Long userId = e.getKey();
+            Exception error = errors.get(userId);
+            int attempts = databaseReachable || error instanceof DataIntegrityViolationException
+                    ? failedAttempts.merge(userId, 1, Integer::sum)
+                    : failedAttempts.getOrDefault(userId, 0);
+            if (attempts > maxRetries) {
+                failedAttempts.remove(userId);
+                deadLetter(userId, e.getValue(), error);
+            } else {
+                logger.error("Point ledger write for user {} failed (attempt {} of {}), keeping {} awards for the next flush: {}",
+                        userId, attempts, maxRetries, e.getValue().size(), error.getMessage());
+                retry.put(userId, e.getValue());
+            }
+        }
+        return retry;
+    }
+
+    /**
+     * Give up on a user's awards: log every one of them, and keep them in the WAL's dead-letter file
+     */
+    private void deadLetter(Long userId, List<PointAward> awards, Exception error) {
+        logger.error("Point ledger gave up on {} awards for user {} after {} attempts: {}",
+                awards.size(), userId, maxRetries, error.getMessage(), error);
+        awards.forEach(award -> logger.error("Dead-lettered point award: {}", award));
+        pointAccumulator.withdraw(userId, awards.stream().mapToInt(PointAward::points).sum());
+        if (wal != null) {
+            try {
+                wal.deadLetter(awards);
+            } catch (Exception e) {
+                logger.error("Failed to write dead-lettered point awards for user {}: {}", userId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Put failed users' awards back in front of anything buffered since, keeping award order per
+     * user, and clear the in-flight view. Returns false if the awards could not be logged to the
+     * WAL again, in which case the drained segments have to stay.
+     */
+    private boolean requeue(Map<Long, List<PointAward>> failed) {
+        boolean logged = true;
+        long walSequence = 0;
+        bufferLock.lock();
+        try {
+            if (wal != null && !failed.isEmpty()) {
+                try {
+                    walSequence = wal.append(failed.values().stream().flatMap(List::stream).toList());
+                } catch (Exception e) {
+                    logger.error("Failed to log requeued point awards to the WAL: {}", e.getMessage(), e);
+                    logged = false;
+                }
+            }
+            Map<Long, List<PointAward>> merged = new LinkedHashMap<>();
+            failed.forEach((userId, awards) -> merged.put(userId, new ArrayList<>(awards)));
+            buffer.forEach((userId, awards) -> merged.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(awards));
+            buffer = merged;
+            buffered = merged.values().stream().mapToInt(List::size).sum();
+            inFlight = Collections.emptyMap();
+        } finally {
+            bufferLock.unlock();
+        }
+
+        if (logged && walSequence > 0) {
+            try {
+                wal.sync(walSequence);
+            } catch (Exception e) {
+                logger.error("Failed to sync requeued point awards to the WAL: {}", e.getMessage(), e);
+                logged = false;
+            }
+        }
+        return logged;
+    }
+
+    /**
+     * Write WAL records whose ledger id is not in point_history yet, then drop the old segments
+     */
+    private void replay() throws Exception {
+        List<PointAward> logged = wal.readAll();
+        long lastSegment = wal.currentSegment() - 1;
+        if (logged.isEmpty()) {
+            wal.deleteUpTo(lastSegment);
+            return;
+        }
+
+        Set<String> written = new HashSet<>();
+        List<String> ids = logged.stream().map(PointAward::ledgerId).toList();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            written.addAll(namedParameterJdbcTemplate.queryForList(SELECT_LEDGER_IDS,
+                    new MapSqlParameterSource("ids", chunk), String.class));
+        }
+
+        Map<Long, List<PointAward>> missing = new LinkedHashMap<>();
+        for (PointAward award : logged) {
+            if (!written.contains(award.ledgerId())) {
+                missing.computeIfAbsent(award.userId(), id -> new ArrayList<>()).add(award);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> write(missing));
+        }
+        wal.deleteUpTo(lastSegment);
+        logger.info("Point ledger WAL replayed: {} records, {} written to the database",
+                logged.size(), missing.values().stream().mapToInt(List::size).sum());
+    }
+}
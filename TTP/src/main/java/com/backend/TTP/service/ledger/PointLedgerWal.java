@@ -0,0 +1,204 @@
+package com.backend.TTP.service.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only write-ahead log for buffered point awards.
+ *
+ * Awards are written as JSON lines into numbered segments. The ledger rotates to a new segment
+ * when it drains its buffer, and deletes every segment up to the drained one once the flush has
+ * committed, so whatever is left on disk at startup is exactly what may not have reached the database.
+ * Awards the ledger gives up on are kept in a separate dead-letter file that replay never reads.
+ *
+ * Appends only write to the file; making them durable is a separate sync call that callers make
+ * outside their own locks. Writes are numbered, and one fsync covers every write made before it,
+ * so concurrent appenders waiting on sync share a single fsync (group commit).
+ */
+class PointLedgerWal {
+    private static final Logger logger = LoggerFactory.getLogger(PointLedgerWal.class);
+
+    private static final String SEGMENT_PREFIX = "points-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;
+    private long segment;
+    private long written;
+    private volatile long synced;
+
+    PointLedgerWal(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.segment = listSegments().stream().mapToLong(PointLedgerWal::segmentNumber).max().orElse(0) + 1;
+        openSegment();
+    }
+
+    /**
+     * Write awards to the current segment without forcing them to disk; returns the sequence
+     * number to pass to sync
+     */
+    synchronized long append(List<PointAward> awards) throws IOException {
+        write(channel, awards, false);
+        return ++written;
+    }
+
+    /**
+     * Make every write up to the given sequence number durable. Called without holding other
+     * locks; a caller whose write was covered by another caller's fsync returns without one.
+     */
+    void sync(long sequence) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return;
+            }
+            FileChannel target;
+            long upTo;
+            synchronized (this) {
+                target = channel;
+                upTo = written;
+            }
+            try {
+                target.force(false);
+            } catch (ClosedChannelException e) {
+                // Rotated meanwhile; rotate forces a segment before closing it
+                if (synced < sequence) {
+                    throw e;
+                }
+                return;
+            }
+            synced = Math.max(synced, upTo);
+        }
+    }
+
+    /**
+     * Keep awards that could not be written to the database for manual recovery
+     */
+    synchronized void deadLetter(List<PointAward> awards) throws IOException {
+        try (FileChannel deadLetters = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            write(deadLetters, awards, fsync);
+        }
+    }
+
+    /**
+     * Start a new segment and return the number of the one just closed
+     */
+    synchronized long rotate() throws IOException {
+        long closed = segment;
+        if (fsync) {
+            channel.force(false);
+            synced = written;
+        }
+        channel.close();
+        segment++;
+        openSegment();
+        return closed;
+    }
+
+    /**
+     * Drop every segment whose awards are now in the database
+     */
+    synchronized void deleteUpTo(long lastSegment) {
+        for (Path path : listSegments()) {
+            if (segmentNumber(path) <= lastSegment) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warn("Could not delete point ledger segment {}: {}", path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Every award still on disk, oldest segment first
+     */
+    synchronized List<PointAward> readAll() throws IOException {
+        List<PointAward> awards = new ArrayList<>();
+        for (Path path : listSegments()) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    try {
+                        awards.add(mapper.readValue(line, PointAward.class));
+                    } catch (IOException e) {
+                        // A torn last line from a crash mid-write; the award was never acknowledged
+                        logger.warn("Skipping unreadable point ledger record in {}", path);
+                    }
+                }
+            }
+        }
+        return awards;
+    }
+
+    synchronized long currentSegment() {
+        return segment;
+    }
+
+    synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // Private helper methods
+
+    private void write(FileChannel target, List<PointAward> awards, boolean force) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (PointAward award : awards) {
+            lines.append(mapper.writeValueAsString(award)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        if (force) {
+            target.force(false);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Path path = directory.resolve(SEGMENT_PREFIX + String.format("%012d", segment) + SEGMENT_SUFFIX);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Could not list point ledger segments in {}: {}", directory, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.backend.TTP.service.report;
+
+/**
+ * Course, score, time and profile figures for one user. Rates and scores are percentages
+ * rounded to one decimal place.
+ */
+public record BasicMetrics(int totalCourses, int completedCourses, double completionRate, double averageScore,
+                           int hoursThisWeek, int targetHoursPerWeek, int loginStreak, int totalPoints,
+                           String currentBadgeLevel) {
+}
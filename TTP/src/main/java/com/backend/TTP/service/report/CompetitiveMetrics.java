@@ -0,0 +1,9 @@
+package com.backend.TTP.service.report;
+
+/**
+ * Today's leaderboard standing for one user. An unranked user has rank UNRANKED and no points.
+ */
+public record CompetitiveMetrics(int currentRank, int totalPoints, int dailyPoints) {
+
+    public static final int UNRANKED = 999;
+}
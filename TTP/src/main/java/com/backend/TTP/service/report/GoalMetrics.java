@@ -0,0 +1,8 @@
+package com.backend.TTP.service.report;
+
+/**
+ * Daily goal figures for the current week; the completion rate is a percentage rounded to one
+ * decimal place
+ */
+public record GoalMetrics(int totalGoalsThisWeek, int completedGoalsThisWeek, double goalCompletionRate) {
+}
@@ -0,0 +1,65 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.dto.report.ReportMetricsResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets (bucket i holds durations
+ * below 2^i microseconds). Recording is a few atomic adds and never allocates; percentiles are
+ * reported as the upper bound of the bucket they fall in, so they are accurate to within 2x.
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    ReportMetricsResponse.TimerStats stats() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        double meanMs = total > 0 ? totalNanos.sum() / 1_000_000.0 / total : 0.0;
+        return new ReportMetricsResponse.TimerStats(name, total, meanMs, maxNanos.get() / 1_000_000.0,
+                percentileMs(counts, total, 0.50), percentileMs(counts, total, 0.95), percentileMs(counts, total, 0.99));
+    }
+
+    // Private helper methods
+
+    private static double percentileMs(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (1L << i) / 1_000.0;
+            }
+        }
+        return (1L << (counts.length - 1)) / 1_000.0;
+    }
+}
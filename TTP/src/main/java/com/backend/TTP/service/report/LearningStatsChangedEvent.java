@@ -0,0 +1,8 @@
+package com.backend.TTP.service.report;
+
+/**
+ * Published whenever something rolled up into a user's learning stats changes: enrollments,
+ * course progress, course scores or daily goals
+ */
+public record LearningStatsChangedEvent(Long userId) {
+}
@@ -0,0 +1,152 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.dto.report.LearningStatsRebuildResponse;
+import com.backend.TTP.model.UserLearningStats;
+import com.backend.TTP.repository.*;
+import com.backend.TTP.repository.CourseScoreRepository.ScoreAggregate;
+import com.backend.TTP.repository.DailyGoalRepository.GoalSummary;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Maintains the user_learning_stats rollup that report metrics are read from.
+ *
+ * A user's row is recomputed from a few aggregate queries over that user's rows only, once a
+ * change behind a LearningStatsChangedEvent commits. Reads that find no row, or a row from an
+ * earlier week, refresh it first, so a missed event costs one recompute rather than a stale report.
+ */
+@Service
+public class LearningStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(LearningStatsService.class);
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Autowired
+    private UserLearningStatsRepository userLearningStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EnrolledCourseRepository enrolledCourseRepository;
+
+    @Autowired
+    private CourseScoreRepository courseScoreRepository;
+
+    @Autowired
+    private DailyGoalRepository dailyGoalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        // Refreshes run after the triggering transaction has committed, so they need their own
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The user's stats for the current week, refreshing the row first if it is missing or from an earlier week
+     */
+    public UserLearningStats getStats(Long userId) {
+        UserLearningStats stats = userLearningStatsRepository.findByUserId(userId).orElse(null);
+        if (stats == null || !currentWeekStart().equals(stats.getWeekStart())) {
+            stats = refresh(userId);
+        }
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLearningStatsChanged(LearningStatsChangedEvent event) {
+        try {
+            refresh(event.userId());
+        } catch (Exception e) {
+            // The change itself is committed; the row is fixed by the next change or a rebuild
+            logger.error("Failed to refresh learning stats for user {}: {}", event.userId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recompute one user's row from the source tables
+     */
+    public UserLearningStats refresh(Long userId) {
+        try {
+            return transactionTemplate.execute(status -> recompute(userId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent refresh inserted the row first; recompute onto it
+            return transactionTemplate.execute(status -> recompute(userId));
+        }
+    }
+
+    /**
+     * Recompute every user's row, e.g. to backfill the rollup after it was added or after a failed refresh
+     */
+    public LearningStatsRebuildResponse rebuildAll() {
+        long started = System.currentTimeMillis();
+        int usersProcessed = 0;
+        int failures = 0;
+        long afterId = 0L;
+
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Long userId : userIds) {
+                try {
+                    refresh(userId);
+                    usersProcessed++;
+                } catch (Exception e) {
+                    failures++;
+                    logger.error("Failed to rebuild learning stats for user {}: {}", userId, e.getMessage(), e);
+                }
+                afterId = userId;
+            }
+        } while (userIds.size() == REBUILD_PAGE_SIZE);
+
+        long durationMs = System.currentTimeMillis() - started;
+        logger.info("Rebuilt learning stats for {} users in {} ms ({} failed)", usersProcessed, durationMs, failures);
+        return new LearningStatsRebuildResponse(usersProcessed, failures, durationMs);
+    }
+
+    // Private helper methods
+
+    private UserLearningStats recompute(Long userId) {
+        LocalDate weekStart = currentWeekStart();
+        ScoreAggregate scores = courseScoreRepository.summarizeByUserId(userId);
+        GoalSummary goals = dailyGoalRepository.summarizeByUserIdAndDateRange(userId, weekStart, weekStart.plusDays(6));
+
+        UserLearningStats stats = userLearningStatsRepository.findByUserId(userId).orElseGet(UserLearningStats::new);
+        stats.setUserId(userId);
+        stats.setTotalCourses(enrolledCourseRepository.countByUserId(userId).intValue());
+        stats.setScoredCourses(scores.getScoreCount().intValue());
+        stats.setAverageScore(scores.getAveragePercentage() != null ? scores.getAveragePercentage() : 0.0);
+        stats.setWeekStart(weekStart);
+        stats.setAllocatedHoursThisWeek(goals.getAllocatedHours() != null ? goals.getAllocatedHours() : 0.0);
+        stats.setHoursSpentThisWeek(enrolledCourseRepository.sumHoursSpentThisWeek(userId, weekStart).intValue());
+        stats.setGoalsThisWeek(goals.getGoalCount().intValue());
+        stats.setCompletedGoalsThisWeek(goals.getCompletedCount() != null ? goals.getCompletedCount().intValue() : 0);
+        stats.setUpdatedAt(LocalDateTime.now());
+        return userLearningStatsRepository.saveAndFlush(stats);
+    }
+
+    private LocalDate currentWeekStart() {
+        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,159 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.dto.report.MetricTrendResponse;
+import com.backend.TTP.model.UserMetricSnapshot;
+import com.backend.TTP.repository.UserLearningStatsRepository;
+import com.backend.TTP.repository.UserMetricSnapshotRepository;
+import com.backend.TTP.repository.UserRepository;
+import com.backend.TTP.service.ledger.PointLedger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Daily metric snapshots and the trend series built from them.
+ *
+ * Once a day every profile's points, completion rate, average score, weekly hours and login
+ * streak are appended to user_metric_snapshot, read from the profile and the learning stats rollup
+ * with one INSERT ... SELECT per keyset page of users. Users on a page who have no rollup row yet
+ * get one computed first, so nobody is snapshotted with zeros just because no event has touched
+ * them. Capturing a date twice adds nothing, so a failed run can simply be repeated. Trends are a
+ * range scan over one user's rows.
+ */
+@Service
+public class MetricSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(MetricSnapshotService.class);
+
+    public static final int MAX_TREND_DAYS = 365;
+
+    private static final int CAPTURE_PAGE_SIZE = 500;
+    private static final int MAX_TREND_POINTS = 60;
+
+    // Weekly hours only count if the rollup row belongs to the snapshot's week
+    private static final String CAPTURE_PAGE =
+            "INSERT INTO \"user_metric_snapshot\" (\"user_id\", \"snapshot_date\", \"total_points\", " +
+            "\"completion_rate\", \"average_score\", \"hours_this_week\", \"login_streak\") " +
+            "SELECT p.\"user_id\", :date, COALESCE(p.\"total_points\", 0), " +
+            "CASE WHEN s.\"total_courses\" > 0 THEN s.\"scored_courses\" * 100.0 / s.\"total_courses\" ELSE 0 END, " +
+            "COALESCE(s.\"average_score\", 0), " +
+            "CASE WHEN s.\"week_start\" = :weekStart THEN COALESCE(s.\"hours_spent_this_week\", 0) ELSE 0 END, " +
+            "COALESCE(p.\"login_streak\", 0) " +
+            "FROM \"user_profile\" p LEFT JOIN \"user_learning_stats\" s ON s.\"user_id\" = p.\"user_id\" " +
+            "WHERE p.\"user_id\" > :afterId AND p.\"user_id\" <= :lastId " +
+            "AND NOT EXISTS (SELECT 1 FROM \"user_metric_snapshot\" m " +
+            "WHERE m.\"user_id\" = p.\"user_id\" AND m.\"snapshot_date\" = :date)";
+
+    @Autowired
+    private UserMetricSnapshotRepository userMetricSnapshotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserLearningStatsRepository userLearningStatsRepository;
+
+    @Autowired
+    private LearningStatsService learningStatsService;
+
+    @Autowired
+    private PointLedger pointLedger;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Append the date's snapshot for every user with a profile, returning the number of rows written
+     */
+    public int captureAll(LocalDate date) {
+        long started = System.currentTimeMillis();
+        // Write out buffered awards first so the snapshot includes every committed point
+        pointLedger.flush();
+
+        LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int written = 0;
+        long afterId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, CAPTURE_PAGE_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            long lastId = userIds.get(userIds.size() - 1);
+            backfillLearningStats(userIds);
+            written += namedParameterJdbcTemplate.update(CAPTURE_PAGE, new MapSqlParameterSource()
+                    .addValue("date", Date.valueOf(date))
+                    .addValue("weekStart", Date.valueOf(weekStart))
+                    .addValue("afterId", afterId)
+                    .addValue("lastId", lastId));
+            afterId = lastId;
+        } while (userIds.size() == CAPTURE_PAGE_SIZE);
+
+        logger.info("Captured {} metric snapshots for {} in {} ms", written, date, System.currentTimeMillis() - started);
+        return written;
+    }
+
+    /**
+     * The user's metrics over the last days days (today included), folded into equal buckets of
+     * days so the series has at most MAX_TREND_POINTS points. Points and streak are taken from the
+     * last snapshot in a bucket; completion rate and hours are averaged over it.
+     */
+    public MetricTrendResponse getTrend(Long userId, int days) {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(days - 1L);
+        int bucketDays = (days + MAX_TREND_POINTS - 1) / MAX_TREND_POINTS;
+        List<UserMetricSnapshot> snapshots =
+                userMetricSnapshotRepository.findByUserIdAndSnapshotDateBetweenOrderBySnapshotDate(userId, from, to);
+
+        List<MetricTrendResponse.TrendPoint> points = new ArrayList<>();
+        int i = 0;
+        while (i < snapshots.size()) {
+            long bucket = (snapshots.get(i).getSnapshotDate().toEpochDay() - from.toEpochDay()) / bucketDays;
+            double completionRate = 0.0;
+            double hours = 0.0;
+            int count = 0;
+            UserMetricSnapshot last = null;
+            while (i < snapshots.size()
+                    && (snapshots.get(i).getSnapshotDate().toEpochDay() - from.toEpochDay()) / bucketDays == bucket) {
+                last = snapshots.get(i++);
+                completionRate += valueOrZero(last.getCompletionRate());
+                hours += last.getHoursThisWeek() != null ? last.getHoursThisWeek() : 0;
+                count++;
+            }
+            points.add(new MetricTrendResponse.TrendPoint(
+                    last.getSnapshotDate(),
+                    last.getTotalPoints(),
+                    Math.round(completionRate / count * 10.0) / 10.0,
+                    Math.round(hours / count * 10.0) / 10.0,
+                    last.getLoginStreak()));
+        }
+        return new MetricTrendResponse(days, bucketDays, points);
+    }
+
+    // Private helper methods
+
+    private void backfillLearningStats(List<Long> userIds) {
+        for (Long userId : userLearningStatsRepository.findProfileUserIdsWithoutStats(userIds)) {
+            try {
+                learningStatsService.refresh(userId);
+            } catch (Exception e) {
+                // The snapshot falls back to zeros for this user, as it would have without the backfill
+                logger.error("Failed to backfill learning stats for user {}: {}", userId, e.getMessage(), e);
+            }
+        }
+    }
+
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
@@ -0,0 +1,188 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.config.CacheConfig;
+import com.backend.TTP.dto.report.LearningOverviewReport;
+import com.backend.TTP.dto.report.QuickInsightsResponse;
+import com.backend.TTP.model.QuickInsightsSnapshot;
+import com.backend.TTP.model.User;
+import com.backend.TTP.repository.QuickInsightsSnapshotRepository;
+import com.backend.TTP.repository.UserRepository;
+import com.backend.TTP.service.achievement.AchievementProfileChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precomputed quick insights for the dashboard.
+ *
+ * Reads are one cache lookup; on a miss the last persisted insights are used, and only a user
+ * with nothing recent enough is computed inline. Insights are rebuilt in the background once a
+ * change to the user's learning data or achievement profile commits. Rebuilds are debounced: the
+ * first change schedules a rebuild debounce-ms later and further changes in that window ride
+ * along, so a burst of progress updates costs one rebuild. Insights older than
+ * max-staleness-seconds are never served.
+ */
+@Service
+public class QuickInsightsService {
+    private static final Logger logger = LoggerFactory.getLogger(QuickInsightsService.class);
+
+    @Value("${reports.quick-insights.debounce-ms:2000}")
+    private long debounceMs;
+
+    @Value("${reports.quick-insights.max-staleness-seconds:900}")
+    private long maxStalenessSeconds;
+
+    @Autowired
+    private ReportGeneratorService reportGeneratorService;
+
+    @Autowired
+    private QuickInsightsSnapshotRepository quickInsightsSnapshotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache cache;
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+    private ScheduledThreadPoolExecutor scheduler;
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache(CacheConfig.QUICK_INSIGHTS);
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "quick-insights-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public QuickInsightsResponse getQuickInsights(User user) {
+        Cache.ValueWrapper cached = cache.get(user.getId());
+        if (cached != null && isFresh((QuickInsightsResponse) cached.get())) {
+            return (QuickInsightsResponse) cached.get();
+        }
+
+        QuickInsightsResponse stored = quickInsightsSnapshotRepository.findByUserId(user.getId())
+                .map(snapshot -> toResponse(user, snapshot))
+                .orElse(null);
+        if (stored != null && isFresh(stored)) {
+            cache.put(user.getId(), stored);
+            return stored;
+        }
+        return rebuild(user);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLearningStatsChanged(LearningStatsChangedEvent event) {
+        scheduleRebuild(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAchievementProfileChanged(AchievementProfileChangedEvent event) {
+        scheduleRebuild(event.userId());
+    }
+
+    /**
+     * Rebuild a user's insights after the debounce window, unless a rebuild is already waiting
+     */
+    public void scheduleRebuild(Long userId) {
+        if (!scheduled.add(userId)) {
+            return; // The waiting rebuild runs after this change committed, so it will see it
+        }
+        scheduler.schedule(() -> {
+            scheduled.remove(userId);
+            try {
+                userRepository.findById(userId).ifPresent(this::rebuild);
+            } catch (Exception e) {
+                logger.error("Failed to rebuild quick insights for user {}: {}", userId, e.getMessage(), e);
+            }
+        }, debounceMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Compute a user's insights now, then store and cache them
+     */
+    public QuickInsightsResponse rebuild(User user) {
+        LocalDateTime generatedAt = LocalDateTime.now();
+        LearningOverviewReport overview = reportGeneratorService.generateOverviewReport(user);
+
+        QuickInsightsResponse insights = new QuickInsightsResponse();
+        insights.setUsername(user.getUsername());
+        insights.setCompletionRate(overview.getPerformance().getCompletionRate());
+        insights.setAverageScore(overview.getPerformance().getAverageScore());
+        insights.setLoginStreak(overview.getPerformance().getLoginStreak());
+        insights.setCurrentBadgeLevel(overview.getPerformance().getCurrentBadgeLevel());
+        insights.setTopStrength(overview.getStrengths().isEmpty() ? "Active learner" : overview.getStrengths().get(0));
+        insights.setTopRecommendation(overview.getRecommendations().isEmpty() ? "Keep learning!" : overview.getRecommendations().get(0));
+        insights.setGeneratedAt(generatedAt);
+
+        try {
+            store(user.getId(), insights);
+        } catch (DataIntegrityViolationException e) {
+            store(user.getId(), insights); // A concurrent rebuild inserted the row first
+        }
+        cache.put(user.getId(), insights);
+        return insights;
+    }
+
+    // Private helper methods
+
+    private void store(Long userId, QuickInsightsResponse insights) {
+        QuickInsightsSnapshot snapshot = quickInsightsSnapshotRepository.findByUserId(userId)
+                .orElseGet(QuickInsightsSnapshot::new);
+        if (snapshot.getGeneratedAt() != null && snapshot.getGeneratedAt().isAfter(insights.getGeneratedAt())) {
+            return; // A rebuild that started later already stored newer insights
+        }
+        snapshot.setUserId(userId);
+        snapshot.setCompletionRate(insights.getCompletionRate());
+        snapshot.setAverageScore(insights.getAverageScore());
+        snapshot.setLoginStreak(insights.getLoginStreak());
+        snapshot.setCurrentBadgeLevel(insights.getCurrentBadgeLevel());
+        snapshot.setTopStrength(insights.getTopStrength());
+        snapshot.setTopRecommendation(insights.getTopRecommendation());
+        snapshot.setGeneratedAt(insights.getGeneratedAt());
+        quickInsightsSnapshotRepository.saveAndFlush(snapshot);
+    }
+
+    private QuickInsightsResponse toResponse(User user, QuickInsightsSnapshot snapshot) {
+        QuickInsightsResponse insights = new QuickInsightsResponse();
+        insights.setUsername(user.getUsername());
+        insights.setCompletionRate(snapshot.getCompletionRate());
+        insights.setAverageScore(snapshot.getAverageScore());
+        insights.setLoginStreak(snapshot.getLoginStreak());
+        insights.setCurrentBadgeLevel(snapshot.getCurrentBadgeLevel());
+        insights.setTopStrength(snapshot.getTopStrength());
+        insights.setTopRecommendation(snapshot.getTopRecommendation());
+        insights.setGeneratedAt(snapshot.getGeneratedAt());
+        return insights;
+    }
+
+    private boolean isFresh(QuickInsightsResponse insights) {
+        return insights.getGeneratedAt() != null
+                && insights.getGeneratedAt().isAfter(LocalDateTime.now().minusSeconds(maxStalenessSeconds));
+    }
+}
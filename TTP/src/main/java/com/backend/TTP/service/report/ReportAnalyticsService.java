@@ -2,8 +2,15 @@ package com.backend.TTP.service.report;
 
 import com.backend.TTP.model.*;
 import com.backend.TTP.repository.*;
+import com.backend.TTP.repository.CourseScoreRepository.CourseScoreAggregate;
+import com.backend.TTP.repository.CourseScoreRepository.ScoreAggregate;
+import com.backend.TTP.repository.CourseScoreRepository.TagScoreAggregate;
+import com.backend.TTP.service.leaderboard.LeaderboardRankService;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
@@ -17,15 +24,19 @@ import java.util.Arrays;
 @Service
 public class ReportAnalyticsService {
     
+    // Tags too generic to be useful as a skill name
+    private static final Set<String> GENERIC_TAGS = Set.of(
+        "beginner", "intermediate", "advanced", 
+        "course", "tutorial", "lesson", "training",
+        "external", "internal", "online", "certification"
+    );
+    
     @Autowired
     private CourseScoreRepository courseScoreRepository;
     
     @Autowired
     private EnrolledCourseRepository enrolledCourseRepository;
     
-    @Autowired
-    private DailyGoalRepository dailyGoalRepository;
-    
     @Autowired
     private UserProfileRepository userProfileRepository;
     
@@ -33,115 +44,145 @@ public class ReportAnalyticsService {
     private LeaderboardEntryRepository leaderboardEntryRepository;
     
     @Autowired
-    private CourseRepository courseRepository;
+    private LeaderboardRankService leaderboardRankService;
     
-    public Map<String, Object> getBasicMetrics(User user) {
-        Map<String, Object> metrics = new HashMap<>();
-        
-        List<CourseScore> scores = courseScoreRepository.findByUser(user);
-        List<EnrolledCourse> enrolledCourses = enrolledCourseRepository.findByUser(user);
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
+    @Autowired
+    private LearningStatsService learningStatsService;
+    
+    @Autowired
+    private UserMetricSnapshotRepository userMetricSnapshotRepository;
+    
+    @Autowired
+    private ReportMetrics reportMetrics;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Load everything the report methods below need about a user, with a fixed number of queries
+     * however many courses, scores and goals the user has.
+     * 
+     * The learning stats row is read, and refreshed if stale, before the read-only transaction
+     * opens, so a refresh never holds a second pooled connection while the snapshot holds one.
+     */
+    public UserLearningSnapshot loadSnapshot(User user) {
+        long t = System.nanoTime();
+        UserLearningStats stats = learningStatsService.getStats(user.getId());
+        reportMetrics.record(ReportStage.QUERY_LEARNING_STATS, t);
+        return readOnlyTransaction.execute(status -> loadSnapshot(user, stats));
+    }
+
+    private UserLearningSnapshot loadSnapshot(User user, UserLearningStats stats) {
+        long t = System.nanoTime();
+        UserProfile profile = userProfileRepository.findWithSkillsByUser(user).orElse(null);
+        t = reportMetrics.record(ReportStage.QUERY_PROFILE, t);
+        List<EnrolledCourse> enrollments = enrolledCourseRepository.findWithCoursesByUser(user);
+        t = reportMetrics.record(ReportStage.QUERY_ENROLLMENTS, t);
+        List<TagScoreAggregate> tagScores = courseScoreRepository.aggregateByTag(user, GENERIC_TAGS);
+        t = reportMetrics.record(ReportStage.QUERY_TAG_SCORES, t);
+        List<CourseScoreAggregate> untaggedCourseScores = courseScoreRepository.aggregateUntaggedByCourse(user, GENERIC_TAGS);
+        t = reportMetrics.record(ReportStage.QUERY_UNTAGGED_SCORES, t);
+        
+        LeaderboardEntry todayEntry = leaderboardEntryRepository.findByUserAndDate(user, LocalDate.now()).orElse(null);
+        t = reportMetrics.record(ReportStage.QUERY_LEADERBOARD_ENTRY, t);
+        Integer rank = todayEntry != null ? leaderboardRankService.getRank(user) : null;
+        t = reportMetrics.record(ReportStage.QUERY_RANK, t);
+        Integer longestRecordedStreak = userMetricSnapshotRepository.findLongestLoginStreak(user.getId());
+        reportMetrics.record(ReportStage.QUERY_LONGEST_STREAK, t);
+        
+        return new UserLearningSnapshot(user, profile, enrollments, stats, tagScores, untaggedCourseScores,
+            todayEntry, rank, longestRecordedStreak != null ? longestRecordedStreak : 0);
+    }
+    
+    public BasicMetrics getBasicMetrics(UserLearningSnapshot snapshot) {
+        UserLearningStats stats = snapshot.getStats();
+        UserProfile profile = snapshot.getProfile();
         
         // Course completion metrics
-        int totalCourses = enrolledCourses.size();
-        int completedCourses = scores.size();
+        int totalCourses = stats.getTotalCourses();
+        int completedCourses = stats.getScoredCourses();
         double completionRate = totalCourses > 0 ? (completedCourses * 100.0 / totalCourses) : 0.0;
         
         // Score metrics
-        Double averageScore = scores.stream()
-            .mapToDouble(CourseScore::getPercentage)
-            .average().orElse(0.0);
+        double averageScore = stats.getAverageScore();
         
         // Time metrics
-        LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-        LocalDate weekEnd = weekStart.plusDays(6);
-        
-        Double hoursThisWeek = dailyGoalRepository.sumAllocatedHoursByUserIdAndDateRange(
-            user.getId(), weekStart, weekEnd);
-        
-        metrics.put("totalCourses", totalCourses);
-        metrics.put("completedCourses", completedCourses);
-        metrics.put("completionRate", Math.round(completionRate * 10.0) / 10.0);
-        metrics.put("averageScore", Math.round(averageScore * 10.0) / 10.0);
-        metrics.put("hoursThisWeek", hoursThisWeek != null ? hoursThisWeek.intValue() : 0);
-        metrics.put("targetHoursPerWeek", profile != null ? profile.getHoursPerWeek() : 0);
-        metrics.put("loginStreak", profile != null ? profile.getLoginStreak() : 0);
-        metrics.put("totalPoints", profile != null ? profile.getTotalPoints() : 0);
-        metrics.put("currentBadgeLevel", profile != null ? profile.getCurrentBadgeLevel() : "NOVICE");
-        
-        return metrics;
+        double hoursThisWeek = stats.getAllocatedHoursThisWeek();
+        
+        return new BasicMetrics(
+            totalCourses,
+            completedCourses,
+            Math.round(completionRate * 10.0) / 10.0,
+            Math.round(averageScore * 10.0) / 10.0,
+            (int) hoursThisWeek,
+            profile != null ? intOrZero(profile.getHoursPerWeek()) : 0,
+            profile != null ? intOrZero(profile.getLoginStreak()) : 0,
+            profile != null ? intOrZero(profile.getTotalPoints()) : 0,
+            profile != null && profile.getCurrentBadgeLevel() != null ? profile.getCurrentBadgeLevel() : "NOVICE"
+        );
     }
     
-    public Map<String, Double> getSkillScores(User user) {
-        List<CourseScore> scores = courseScoreRepository.findByUser(user);
-        Map<String, List<Double>> skillScoreMap = new HashMap<>();
-
-        for (CourseScore score : scores) {
-            Course course = courseRepository.findById(score.getCourseId()).orElse(null);
-            if (course != null) {
-                String skillName = extractSkillName(course);
-                skillScoreMap.computeIfAbsent(skillName, k -> new ArrayList<>())
-                    .add(score.getPercentage());
-            }
-        }
-
+    public Map<String, Double> getSkillScores(UserLearningSnapshot snapshot) {
         Map<String, Double> avgSkillScores = new HashMap<>();
-        for (Map.Entry<String, List<Double>> entry : skillScoreMap.entrySet()) {
-            double avg = entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            avgSkillScores.put(entry.getKey(), Math.round(avg * 10.0) / 10.0);
+        for (SkillScoreStats stats : getSkillScoreStats(snapshot).values()) {
+            avgSkillScores.put(stats.skill(), Math.round(stats.averagePercentage() * 10.0) / 10.0);
         }
-
         return avgSkillScores;
     }
 
     /**
-     * Extract meaningful skill name from course data
-     * Priority: tags -> title -> category
+     * Score statistics per skill. A course counts toward every one of its skill tags; a course
+     * with no skill tag counts toward a skill named after its title (or category).
      */
-    private String extractSkillName(Course course) {
-    // First, try to get skill from tags (if any meaningful tags exist)
-    if (course.getTags() != null && !course.getTags().isEmpty()) {
-        // Look for skill-related tags
-        Set<String> tags = course.getTags();
-        for (String tag : tags) {
-            String cleanTag = tag.toLowerCase().trim();
-            // Skip generic tags and use specific skill tags
-            if (!isGenericTag(cleanTag)) {
-                return formatSkillName(tag);
-            }
+    public Map<String, SkillScoreStats> getSkillScoreStats(UserLearningSnapshot snapshot) {
+        Map<String, SkillScoreStats> skillStats = new HashMap<>();
+        for (TagScoreAggregate aggregate : snapshot.getTagScores()) {
+            addSkillStats(skillStats, formatSkillName(aggregate.getTag()), aggregate);
+        }
+        for (CourseScoreAggregate aggregate : snapshot.getUntaggedCourseScores()) {
+            addSkillStats(skillStats, extractSkillName(aggregate.getTitle(), aggregate.getCategory()), aggregate);
         }
+        return skillStats;
     }
 
-    // If no meaningful tags, use course title
-    if (course.getTitle() != null && !course.getTitle().trim().isEmpty()) {
-        return formatSkillName(course.getTitle());
+    private void addSkillStats(Map<String, SkillScoreStats> skillStats, String skillName, ScoreAggregate aggregate) {
+        if (aggregate.getAveragePercentage() == null) {
+            return; // Only scores without a percentage
+        }
+        SkillScoreStats stats = new SkillScoreStats(skillName, aggregate.getAveragePercentage(),
+            aggregate.getScoreCount(), aggregate.getMinPercentage(), aggregate.getMaxPercentage());
+        skillStats.merge(skillName, stats, SkillScoreStats::merge);
     }
 
-    // Fallback to category if everything else is null
-    if (course.getCategory() != null && !course.getCategory().trim().isEmpty()) {
-        // If category is generic like "EXTERNAL", use course title instead
-        if ("EXTERNAL".equalsIgnoreCase(course.getCategory()) || 
-            "INTERNAL".equalsIgnoreCase(course.getCategory())) {
-            return course.getTitle() != null ? 
-                formatSkillName(course.getTitle()) : 
-                course.getCategory() + " Course";
-        }
-        return formatSkillName(course.getCategory());
+    /**
+     * Extract meaningful skill name from an untagged course
+     * Priority: title -> category
+     */
+    private String extractSkillName(String title, String category) {
+    // Use course title
+    if (title != null && !title.trim().isEmpty()) {
+        return formatSkillName(title);
     }
 
-    return "Unknown Skill";
+    // Fallback to category if the title is empty
+    if (category != null && !category.trim().isEmpty()) {
+        // If category is generic like "EXTERNAL" there is no better name for the skill
+        if ("EXTERNAL".equalsIgnoreCase(category) || 
+            "INTERNAL".equalsIgnoreCase(category)) {
+            return category + " Course";
+        }
+        return formatSkillName(category);
     }
 
-    /**
-     * Check if a tag is too generic to be useful as a skill name
-     */
-    private boolean isGenericTag(String tag) {
-    Set<String> genericTags = Set.of(
-        "beginner", "intermediate", "advanced", 
-        "course", "tutorial", "lesson", "training",
-        "external", "internal", "online", "certification"
-    );
-    return genericTags.contains(tag);
+    return "Unknown Skill";
     }
 
     /**
@@ -199,59 +240,48 @@ public class ReportAnalyticsService {
     }
     
     // Goal Completion Analysis
-    public Map<String, Object> getGoalMetrics(User user) {
-        Map<String, Object> metrics = new HashMap<>();
-        
-        LocalDate weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-        LocalDate weekEnd = weekStart.plusDays(6);
-        
-        List<DailyGoal> weekGoals = dailyGoalRepository.findByUserIdAndGoalDateBetween(
-            user.getId(), weekStart, weekEnd);
+    public GoalMetrics getGoalMetrics(UserLearningSnapshot snapshot) {
+        UserLearningStats stats = snapshot.getStats();
+        int goalsThisWeek = stats.getGoalsThisWeek();
+        int completedGoals = stats.getCompletedGoalsThisWeek();
         
-        List<DailyGoal> completedGoals = weekGoals.stream()
-            .filter(goal -> goal.getIsCompleted())
-            .collect(Collectors.toList());
+        double completionRate = goalsThisWeek > 0 ? 
+            (completedGoals * 100.0 / goalsThisWeek) : 0.0;
         
-        double completionRate = weekGoals.size() > 0 ? 
-            (completedGoals.size() * 100.0 / weekGoals.size()) : 0.0;
-        
-        metrics.put("totalGoalsThisWeek", weekGoals.size());
-        metrics.put("completedGoalsThisWeek", completedGoals.size());
-        metrics.put("goalCompletionRate", Math.round(completionRate * 10.0) / 10.0);
-        
-        return metrics;
+        return new GoalMetrics(goalsThisWeek, completedGoals, Math.round(completionRate * 10.0) / 10.0);
     }
     
     // Competitive Analysis
-    public Map<String, Object> getCompetitiveMetrics(User user) {
-        Map<String, Object> metrics = new HashMap<>();
-        
-        LocalDate today = LocalDate.now();
-        Optional<LeaderboardEntry> todayEntry = leaderboardEntryRepository.findByUserAndDate(user, today);
+    public CompetitiveMetrics getCompetitiveMetrics(UserLearningSnapshot snapshot) {
+        Optional<LeaderboardEntry> todayEntry = snapshot.getTodayEntry();
         
         if (todayEntry.isPresent()) {
             LeaderboardEntry entry = todayEntry.get();
-            Integer rank = leaderboardEntryRepository.findUserDailyRank(user, today);
+            Integer rank = snapshot.getRank();
             
-            metrics.put("currentRank", rank != null ? rank : 999);
-            metrics.put("totalPoints", entry.getTotalPoints());
-            metrics.put("dailyPoints", entry.getDailyPoints());
-        } else {
-            metrics.put("currentRank", 999);
-            metrics.put("totalPoints", 0);
-            metrics.put("dailyPoints", 0);
+            return new CompetitiveMetrics(
+                rank != null ? rank : CompetitiveMetrics.UNRANKED,
+                intOrZero(entry.getTotalPoints()),
+                intOrZero(entry.getDailyPoints())
+            );
         }
-        
-        return metrics;
+        return new CompetitiveMetrics(CompetitiveMetrics.UNRANKED, 0, 0);
+    }
+    
+    /**
+     * Hours logged against enrolled courses this week
+     */
+    public int getHoursSpentThisWeek(UserLearningSnapshot snapshot) {
+        return snapshot.getStats().getHoursSpentThisWeek();
     }
     
     // Helper methods for analysis
-    public List<String> identifyStrengths(Map<String, Object> basicMetrics, Map<String, Double> skillScores) {
+    public List<String> identifyStrengths(BasicMetrics basicMetrics, Map<String, Double> skillScores) {
         List<String> strengths = new ArrayList<>();
         
-        Double completionRate = (Double) basicMetrics.get("completionRate");
-        Double averageScore = (Double) basicMetrics.get("averageScore");
-        Integer loginStreak = (Integer) basicMetrics.get("loginStreak");
+        double completionRate = basicMetrics.completionRate();
+        double averageScore = basicMetrics.averageScore();
+        int loginStreak = basicMetrics.loginStreak();
         
         if (completionRate >= 80.0) {
             strengths.add("Excellent course completion rate (" + completionRate + "%)");
@@ -278,12 +308,12 @@ public class ReportAnalyticsService {
         return strengths;
     }
     
-    public List<String> identifyWeaknesses(Map<String, Object> basicMetrics, Map<String, Double> skillScores) {
+    public List<String> identifyWeaknesses(BasicMetrics basicMetrics, Map<String, Double> skillScores) {
         List<String> weaknesses = new ArrayList<>();
         
-        Double completionRate = (Double) basicMetrics.get("completionRate");
-        Double averageScore = (Double) basicMetrics.get("averageScore");
-        Integer loginStreak = (Integer) basicMetrics.get("loginStreak");
+        double completionRate = basicMetrics.completionRate();
+        double averageScore = basicMetrics.averageScore();
+        int loginStreak = basicMetrics.loginStreak();
         
         if (completionRate < 50.0) {
             weaknesses.add("Low course completion rate (" + completionRate + "%)");
@@ -310,15 +340,15 @@ public class ReportAnalyticsService {
         return weaknesses;
     }
     
-    public List<String> generateRecommendations(Map<String, Object> basicMetrics, 
+    public List<String> generateRecommendations(BasicMetrics basicMetrics, 
                                               Map<String, Double> skillScores,
-                                              Map<String, Object> goalMetrics) {
+                                              GoalMetrics goalMetrics) {
         List<String> recommendations = new ArrayList<>();
         
-        Double completionRate = (Double) basicMetrics.get("completionRate");
-        Integer hoursThisWeek = (Integer) basicMetrics.get("hoursThisWeek");
-        Integer targetHours = (Integer) basicMetrics.get("targetHoursPerWeek");
-        Double goalCompletionRate = (Double) goalMetrics.get("goalCompletionRate");
+        double completionRate = basicMetrics.completionRate();
+        int hoursThisWeek = basicMetrics.hoursThisWeek();
+        int targetHours = basicMetrics.targetHoursPerWeek();
+        double goalCompletionRate = goalMetrics.goalCompletionRate();
         
         // Time management recommendations
         if (hoursThisWeek < targetHours * 0.7) {
@@ -352,4 +382,8 @@ public class ReportAnalyticsService {
         
         return recommendations;
     }
-}
\ No newline at end of file
+    
+    private static int intOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.TTP.service.report;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Analytics inputs for one report request: the user's snapshot, and the metrics derived from it,
+ * each computed at most once.
+ *
+ * Report sections running in parallel ask the context for the metrics they need; the first
+ * section to ask computes a metric and any section asking at the same time waits for that result
+ * instead of computing it again. The snapshot is fully loaded before the sections start, so
+ * sections on different threads only ever read it.
+ */
+final class ReportContext {
+
+    private final UserLearningSnapshot snapshot;
+    private final ReportAnalyticsService analyticsService;
+    private final Map<String, CompletableFuture<Object>> values = new ConcurrentHashMap<>();
+
+    ReportContext(UserLearningSnapshot snapshot, ReportAnalyticsService analyticsService) {
+        this.snapshot = snapshot;
+        this.analyticsService = analyticsService;
+    }
+
+    UserLearningSnapshot snapshot() {
+        return snapshot;
+    }
+
+    BasicMetrics basicMetrics() {
+        return memo("basicMetrics", () -> analyticsService.getBasicMetrics(snapshot));
+    }
+
+    Map<String, Double> skillScores() {
+        return memo("skillScores", () -> analyticsService.getSkillScores(snapshot));
+    }
+
+    GoalMetrics goalMetrics() {
+        return memo("goalMetrics", () -> analyticsService.getGoalMetrics(snapshot));
+    }
+
+    CompetitiveMetrics competitiveMetrics() {
+        return memo("competitiveMetrics", () -> analyticsService.getCompetitiveMetrics(snapshot));
+    }
+
+    // Private helper methods
+
+    @SuppressWarnings("unchecked")
+    private <T> T memo(String key, Supplier<T> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = values.putIfAbsent(key, created);
+        if (existing == null) {
+            try {
+                created.complete(loader.get());
+            } catch (RuntimeException e) {
+                // Let a later caller retry rather than replaying the failure
+                values.remove(key, created);
+                created.completeExceptionally(e);
+                throw e;
+            }
+            existing = created;
+        }
+        try {
+            return (T) existing.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
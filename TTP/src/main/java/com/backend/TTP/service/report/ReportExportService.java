@@ -0,0 +1,140 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.dto.report.ComprehensiveReport;
+import com.backend.TTP.model.User;
+import com.backend.TTP.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exports the comprehensive report of every user as NDJSON, one report per line.
+ *
+ * Users are walked in keyset pages of page-size ids. The reports of a page are computed in
+ * parallel on the export pool and written in id order as they finish; the next page is only read
+ * once the current one has been written and flushed. A slow reader therefore blocks the writes,
+ * which holds back the next page, so at most one page of users and reports is in memory at a time.
+ * Each report runs its sections inline on its export thread, leaving the shared section pool to
+ * interactive report requests.
+ */
+@Service
+public class ReportExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportExportService.class);
+
+    @Value("${reports.export.page-size:200}")
+    private int pageSize;
+
+    @Value("${reports.export.threads:4}")
+    private int exportThreads;
+
+    @Autowired
+    private ReportGeneratorService reportGeneratorService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ThreadPoolExecutor exportExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // When the pool and queue are full the exporting thread computes the report itself
+        exportExecutor = new ThreadPoolExecutor(exportThreads, exportThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(pageSize, 1)), r -> {
+                    Thread thread = new Thread(r, "report-export-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exportExecutor.shutdownNow();
+    }
+
+    /**
+     * Write the comprehensive report of every user to out, returning the number of reports written.
+     * A user whose report fails is logged and left out.
+     */
+    public int exportAll(OutputStream out) throws IOException {
+        return exportAll(out, pageSize);
+    }
+
+    int exportAll(OutputStream out, int pageSize) throws IOException {
+        long started = System.currentTimeMillis();
+        int written = 0;
+        int failures = 0;
+        Long afterId = 0L;
+
+        while (true) {
+            List<Long> ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, pageSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+
+            List<User> users = new ArrayList<>(userRepository.findAllById(ids));
+            users.sort(Comparator.comparing(User::getId));
+            List<Future<ComprehensiveReport>> reports = new ArrayList<>(users.size());
+            for (User user : users) {
+                reports.add(exportExecutor.submit(() -> reportGeneratorService.generateComprehensiveReportInline(user)));
+            }
+
+            try {
+                for (int i = 0; i < reports.size(); i++) {
+                    ComprehensiveReport report = awaitReport(users.get(i), reports.get(i));
+                    if (report == null) {
+                        failures++;
+                        continue;
+                    }
+                    out.write(objectMapper.writeValueAsBytes(report));
+                    out.write('\n');
+                    written++;
+                }
+                out.flush();
+            } finally {
+                // If the reader went away, don't keep computing the rest of the page
+                reports.forEach(report -> report.cancel(true));
+            }
+        }
+
+        logger.info("Exported {} comprehensive reports ({} failed) in {} ms",
+                written, failures, System.currentTimeMillis() - started);
+        return written;
+    }
+
+    // Private helper methods
+
+    private ComprehensiveReport awaitReport(User user, Future<ComprehensiveReport> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Report export interrupted", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to export report for user {}: {}", user.getId(), e.getCause().getMessage(), e.getCause());
+            return null;
+        }
+    }
+}
@@ -6,52 +6,113 @@ import com.backend.TTP.dto.report.*;
 import com.backend.TTP.model.*;
 import com.backend.TTP.repository.*;
 import com.backend.TTP.service.AchievementService;
-import com.backend.TTP.service.EnrolledCourseService;
+import com.backend.TTP.service.badge.BadgeLadder;
+import com.backend.TTP.service.badge.BadgeLadderService;
+import com.backend.TTP.service.leaderboard.CohortPercentileService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class ReportGeneratorService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportGeneratorService.class);
     
     @Autowired
     private ReportAnalyticsService analyticsService;
     
     @Autowired
-    private UserProfileRepository userProfileRepository;
+    private CohortPercentileService cohortPercentileService;
+    
+    @Autowired
+    private ReportMetrics reportMetrics;
     
     @Autowired
     private AchievementService achievementService;
     
     @Autowired
-    private EnrolledCourseRepository enrolledCourseRepository;
+    private BadgeLadderService badgeLadderService;
     
     @Autowired
     private CourseRepository courseRepository;
     
     @Autowired
-    private EnrolledCourseService enrolledCourseService;
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${reports.sections.threads:8}")
+    private int sectionThreads;
+    
+    @Value("${reports.sections.queue-capacity:100}")
+    private int sectionQueueCapacity;
+    
+    @Value("${reports.sections.timeout-ms:5000}")
+    private long sectionTimeoutMs;
+    
+    private ThreadPoolExecutor sectionExecutor;
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        // When the pool and queue are full the request thread runs the section itself
+        sectionExecutor = new ThreadPoolExecutor(sectionThreads, sectionThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sectionQueueCapacity), r -> {
+                    Thread thread = new Thread(r, "report-section-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
     
     public LearningOverviewReport generateOverviewReport(User user) {
-        Map<String, Object> basicMetrics = analyticsService.getBasicMetrics(user);
-        Map<String, Double> skillScores = analyticsService.getSkillScores(user);
-        Map<String, Object> goalMetrics = analyticsService.getGoalMetrics(user);
+        return generateOverviewReport(newContext(user));
+    }
+    
+    public SkillAnalysisReport generateSkillAnalysisReport(User user) {
+        return generateSkillAnalysisReport(newContext(user));
+    }
+    
+    public ConsistencyReport generateConsistencyReport(User user) {
+        return generateConsistencyReport(newContext(user));
+    }
+    
+    public TimeManagementReport generateTimeManagementReport(User user) {
+        return generateTimeManagementReport(newContext(user));
+    }
+    
+    public CompetitiveReport generateCompetitiveReport(User user) {
+        return generateCompetitiveReport(newContext(user));
+    }
+    
+    private LearningOverviewReport generateOverviewReport(ReportContext context) {
+        BasicMetrics basicMetrics = context.basicMetrics();
+        Map<String, Double> skillScores = context.skillScores();
+        GoalMetrics goalMetrics = context.goalMetrics();
         
         // Create performance metrics
         LearningOverviewReport.PerformanceMetrics performance = new LearningOverviewReport.PerformanceMetrics();
-        performance.setTotalCourses((Integer) basicMetrics.get("totalCourses"));
-        performance.setCompletedCourses((Integer) basicMetrics.get("completedCourses"));
-        performance.setCompletionRate((Double) basicMetrics.get("completionRate"));
-        performance.setAverageScore((Double) basicMetrics.get("averageScore"));
-        performance.setTotalPoints((Integer) basicMetrics.get("totalPoints"));
-        performance.setLoginStreak((Integer) basicMetrics.get("loginStreak"));
-        performance.setHoursThisWeek((Integer) basicMetrics.get("hoursThisWeek"));
-        performance.setTargetHoursPerWeek((Integer) basicMetrics.get("targetHoursPerWeek"));
-        performance.setCurrentBadgeLevel((String) basicMetrics.get("currentBadgeLevel"));
+        performance.setTotalCourses(basicMetrics.totalCourses());
+        performance.setCompletedCourses(basicMetrics.completedCourses());
+        performance.setCompletionRate(basicMetrics.completionRate());
+        performance.setAverageScore(basicMetrics.averageScore());
+        performance.setTotalPoints(basicMetrics.totalPoints());
+        performance.setLoginStreak(basicMetrics.loginStreak());
+        performance.setHoursThisWeek(basicMetrics.hoursThisWeek());
+        performance.setTargetHoursPerWeek(basicMetrics.targetHoursPerWeek());
+        performance.setCurrentBadgeLevel(basicMetrics.currentBadgeLevel());
         
         // Generate insights
         List<String> strengths = analyticsService.identifyStrengths(basicMetrics, skillScores);
@@ -71,9 +132,11 @@ public class ReportGeneratorService {
         return report;
     }
     
-    public SkillAnalysisReport generateSkillAnalysisReport(User user) {
-        Map<String, Double> skillScores = analyticsService.getSkillScores(user);
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
+    private SkillAnalysisReport generateSkillAnalysisReport(ReportContext context) {
+        Map<String, Double> skillScores = context.skillScores();
+        UserProfile profile = context.snapshot().getProfile();
+        
+        Map<String, Integer> completedCoursesByCategory = countCompletedCoursesByCategory(context.snapshot());
         
         // Identify strong skills (>75%)
         List<SkillAnalysisReport.SkillStrength> strongSkills = skillScores.entrySet().stream()
@@ -81,7 +144,7 @@ public class ReportGeneratorService {
             .map(entry -> new SkillAnalysisReport.SkillStrength(
                 entry.getKey(),
                 entry.getValue(),
-                getCoursesCountForSkill(entry.getKey(), user),
+                completedCoursesByCategory.getOrDefault(entry.getKey(), 0),
                 "Consistently high performance"
             ))
             .collect(Collectors.toList());
@@ -92,7 +155,7 @@ public class ReportGeneratorService {
             .map(entry -> new SkillAnalysisReport.SkillWeakness(
                 entry.getKey(),
                 entry.getValue(),
-                getCoursesCountForSkill(entry.getKey(), user),
+                completedCoursesByCategory.getOrDefault(entry.getKey(), 0),
                 "Below target performance",
                 "Focus on foundational concepts and practice"
             ))
@@ -117,17 +180,17 @@ public class ReportGeneratorService {
         return report;
     }
     
-    public ConsistencyReport generateConsistencyReport(User user) {
-        Map<String, Object> basicMetrics = analyticsService.getBasicMetrics(user);
-        Map<String, Object> goalMetrics = analyticsService.getGoalMetrics(user);
+    private ConsistencyReport generateConsistencyReport(ReportContext context) {
+        BasicMetrics basicMetrics = context.basicMetrics();
+        GoalMetrics goalMetrics = context.goalMetrics();
         
         // Create consistency metrics
         ConsistencyReport.ConsistencyMetrics metrics = new ConsistencyReport.ConsistencyMetrics();
-        metrics.setCurrentLoginStreak((Integer) basicMetrics.get("loginStreak"));
-        metrics.setLongestLoginStreak(getLongestLoginStreak(user));
-        metrics.setGoalCompletionRate((Double) goalMetrics.get("goalCompletionRate"));
-        metrics.setGoalsCompletedThisWeek((Integer) goalMetrics.get("completedGoalsThisWeek"));
-        metrics.setTotalGoalsThisWeek((Integer) goalMetrics.get("totalGoalsThisWeek"));
+        metrics.setCurrentLoginStreak(basicMetrics.loginStreak());
+        metrics.setLongestLoginStreak(getLongestLoginStreak(context.snapshot()));
+        metrics.setGoalCompletionRate(goalMetrics.goalCompletionRate());
+        metrics.setGoalsCompletedThisWeek(goalMetrics.completedGoalsThisWeek());
+        metrics.setTotalGoalsThisWeek(goalMetrics.totalGoalsThisWeek());
         
         // Determine consistency level
         String consistencyLevel = determineConsistencyLevel(metrics);
@@ -148,12 +211,13 @@ public class ReportGeneratorService {
         return report;
     }
     
-    public TimeManagementReport generateTimeManagementReport(User user) {
-        Map<String, Object> basicMetrics = analyticsService.getBasicMetrics(user);
+    private TimeManagementReport generateTimeManagementReport(ReportContext context) {
+        User user = context.snapshot().getUser();
+        BasicMetrics basicMetrics = context.basicMetrics();
         
-        // Get actual hours from the new API endpoint
-        Integer actualHours = enrolledCourseService.getTotalHoursThisWeek(user);
-        Integer plannedHours = (Integer) basicMetrics.get("targetHoursPerWeek");
+        // Hours logged against enrolled courses this week
+        int actualHours = analyticsService.getHoursSpentThisWeek(context.snapshot());
+        int plannedHours = basicMetrics.targetHoursPerWeek();
         
         TimeManagementReport.TimeAnalysis analysis = new TimeManagementReport.TimeAnalysis();
         analysis.setPlannedHoursPerWeek(plannedHours);
@@ -172,7 +236,7 @@ public class ReportGeneratorService {
         String learningPace = determineLearningPace(basicMetrics);
         analysis.setLearningPace(learningPace);
         
-        analysis.setHasOverdueDeadlines(checkOverdueDeadlines(user));
+        analysis.setHasOverdueDeadlines(checkOverdueDeadlines(context.snapshot()));
         
         List<String> insights = generateTimeInsights(analysis, actualHours);
         List<String> tips = generateOptimizationTips(analysis);
@@ -188,22 +252,25 @@ public class ReportGeneratorService {
         return report;
     }
     
-    public CompetitiveReport generateCompetitiveReport(User user) {
-        Map<String, Object> competitiveMetrics = analyticsService.getCompetitiveMetrics(user);
-        Map<String, Object> basicMetrics = analyticsService.getBasicMetrics(user);
+    private CompetitiveReport generateCompetitiveReport(ReportContext context) {
+        User user = context.snapshot().getUser();
+        CompetitiveMetrics competitiveMetrics = context.competitiveMetrics();
+        BasicMetrics basicMetrics = context.basicMetrics();
         
         CompetitiveReport.CompetitiveMetrics metrics = new CompetitiveReport.CompetitiveMetrics();
-        metrics.setCurrentRank((Integer) competitiveMetrics.get("currentRank"));
-        metrics.setTotalUsers(getTotalActiveUsers());
+        metrics.setCurrentRank(competitiveMetrics.currentRank());
+        metrics.setTotalUsers(cohortPercentileService.getActiveUserCount());
         
         // Calculate percentile
-        Integer rank = (Integer) competitiveMetrics.get("currentRank");
+        int rank = competitiveMetrics.currentRank();
         String percentile = calculatePercentile(rank, metrics.getTotalUsers());
         metrics.setPercentile(percentile);
+        metrics.setCareerStagePercentile(formatPercentile(cohortPercentileService.getCareerStagePercentile(user.getId())));
+        metrics.setBadgePercentile(formatPercentile(cohortPercentileService.getBadgePercentile(user.getId())));
         
-        metrics.setPointsThisWeek((Integer) competitiveMetrics.get("dailyPoints"));
+        metrics.setPointsThisWeek(competitiveMetrics.dailyPoints());
         metrics.setPointsToNextRank(calculatePointsToNextRank(user, rank));
-        metrics.setBadgeLevel((String) basicMetrics.get("currentBadgeLevel"));
+        metrics.setBadgeLevel(basicMetrics.currentBadgeLevel());
         metrics.setPointsToNextBadge(calculatePointsToNextBadge(basicMetrics));
         
         List<String> insights = generateCompetitiveInsights(metrics);
@@ -220,48 +287,96 @@ public class ReportGeneratorService {
         return report;
     }
     
+    /**
+     * Generate all five sections concurrently. Sections share one ReportContext, so the user's data
+     * is loaded once and metrics used by several sections are only computed once. A section that fails or misses the section timeout is
+     * left out and listed in unavailableSections instead of failing the whole report.
+     */
     public ComprehensiveReport generateComprehensiveReport(User user) {
+        return generateComprehensiveReport(user, sectionExecutor);
+    }
+    
+    /**
+     * Generate the report with its sections run one after another on the calling thread. For bulk
+     * callers that already run reports in parallel, so they don't take the section pool away from
+     * interactive requests.
+     */
+    public ComprehensiveReport generateComprehensiveReportInline(User user) {
+        return generateComprehensiveReport(user, Runnable::run);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
+    
+    // Helper methods for calculations and text generation
+    
+    private ComprehensiveReport generateComprehensiveReport(User user, Executor sections) {
         ComprehensiveReport report = new ComprehensiveReport();
         
         report.setUserId(user.getId().toString());
         report.setUsername(user.getUsername());
         report.setGeneratedAt(LocalDateTime.now());
         
-        // Generate all sub-reports
-        LearningOverviewReport overview = generateOverviewReport(user);
-        SkillAnalysisReport skillAnalysis = generateSkillAnalysisReport(user);
-        ConsistencyReport consistency = generateConsistencyReport(user);
-        TimeManagementReport timeManagement = generateTimeManagementReport(user);
-        CompetitiveReport competitive = generateCompetitiveReport(user);
+        ReportMetrics.Trace trace = reportMetrics.startReport();
+        List<String> unavailableSections = new ArrayList<>();
+        LearningOverviewReport overview;
+        SkillAnalysisReport skillAnalysis;
+        ConsistencyReport consistency;
+        TimeManagementReport timeManagement;
+        CompetitiveReport competitive;
+        try {
+            // Load the user's data once, then generate all sub-reports from it in parallel
+            ReportContext context = trace.time(ReportStage.SNAPSHOT, () -> newContext(user));
+            Future<LearningOverviewReport> overviewTask = submitSection(sections, trace, ReportStage.SECTION_OVERVIEW, () -> generateOverviewReport(context));
+            Future<SkillAnalysisReport> skillTask = submitSection(sections, trace, ReportStage.SECTION_SKILL_ANALYSIS, () -> generateSkillAnalysisReport(context));
+            Future<ConsistencyReport> consistencyTask = submitSection(sections, trace, ReportStage.SECTION_CONSISTENCY, () -> generateConsistencyReport(context));
+            Future<TimeManagementReport> timeTask = submitSection(sections, trace, ReportStage.SECTION_TIME_MANAGEMENT, () -> generateTimeManagementReport(context));
+            Future<CompetitiveReport> competitiveTask = submitSection(sections, trace, ReportStage.SECTION_COMPETITIVE, () -> generateCompetitiveReport(context));
+            
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+            overview = awaitSection("overview", overviewTask, deadline, unavailableSections);
+            skillAnalysis = awaitSection("skillAnalysis", skillTask, deadline, unavailableSections);
+            consistency = awaitSection("consistency", consistencyTask, deadline, unavailableSections);
+            timeManagement = awaitSection("timeManagement", timeTask, deadline, unavailableSections);
+            competitive = awaitSection("competitive", competitiveTask, deadline, unavailableSections);
+        } finally {
+            trace.finish();
+        }
         
         report.setOverview(overview);
         report.setSkillAnalysis(skillAnalysis);
         report.setConsistency(consistency);
         report.setTimeManagement(timeManagement);
         report.setCompetitive(competitive);
+        report.setPartial(!unavailableSections.isEmpty());
+        report.setUnavailableSections(unavailableSections);
         
         // Generate executive summary
-        String executiveSummary = generateExecutiveSummary(overview, skillAnalysis, consistency);
+        String executiveSummary = overview != null && skillAnalysis != null && consistency != null
+            ? generateExecutiveSummary(overview, skillAnalysis, consistency)
+            : "Part of your report could not be generated right now; the available sections are shown below.";
         report.setExecutiveSummary(executiveSummary);
         
         // Compile key recommendations
         List<String> keyRecommendations = compileKeyRecommendations(
-            overview.getRecommendations(),
-            skillAnalysis.getRecommendedSkills(),
-            consistency.getImprovementSuggestions(),
-            timeManagement.getOptimizationTips()
+            overview != null ? overview.getRecommendations() : null,
+            skillAnalysis != null ? skillAnalysis.getRecommendedSkills() : null,
+            consistency != null ? consistency.getImprovementSuggestions() : null,
+            timeManagement != null ? timeManagement.getOptimizationTips() : null
         );
         report.setKeyRecommendations(keyRecommendations);
         
         // Generate immediate actions
-        List<String> immediateActions = generateImmediateActions(overview, timeManagement);
+        List<String> immediateActions = overview != null && timeManagement != null
+            ? generateImmediateActions(overview, timeManagement)
+            : List.of("Set 2-3 achievable goals for tomorrow");
         report.setImmediateActions(immediateActions);
         
         return report;
     }
     
-    // Helper methods for calculations and text generation
-    
     private String generateOverviewSummary(LearningOverviewReport.PerformanceMetrics performance, 
                                          List<String> strengths, List<String> weaknesses) {
         return String.format("You have completed %d out of %d courses (%.1f%% completion rate) with an average score of %.1f%%. " +
@@ -295,17 +410,16 @@ public class ReportGeneratorService {
             metrics.getBadgeLevel(), metrics.getPointsThisWeek());
     }
     
-    private Integer getCoursesCountForSkill(String skill, User user) {
-        // Get all completed courses for the user
-        List<EnrolledCourse> completedCourses = enrolledCourseRepository.findByUserAndStatus(user, "COMPLETED");
-        
-        // Count courses that match the skill category
-        return (int) completedCourses.stream()
-            .filter(enrolledCourse -> {
-                Course course = enrolledCourse.getCourse();
-                return course != null && skill.equals(course.getCategory());
-            })
-            .count();
+    private Map<String, Integer> countCompletedCoursesByCategory(UserLearningSnapshot snapshot) {
+        // Count completed courses per category once, rather than rescanning enrollments for every skill
+        Map<String, Integer> counts = new HashMap<>();
+        for (EnrolledCourse enrolledCourse : snapshot.getEnrollments()) {
+            Course course = enrolledCourse.getCourse();
+            if ("COMPLETED".equals(enrolledCourse.getStatus()) && course != null && course.getCategory() != null) {
+                counts.merge(course.getCategory(), 1, Integer::sum);
+            }
+        }
+        return counts;
     }
     
     private List<String> identifySkillGaps(UserProfile profile, Map<String, Double> skillScores) {
@@ -395,11 +509,11 @@ public class ReportGeneratorService {
             Arrays.asList("Continue building on your strong foundation") : recommendations;
     }
     
-    private Integer getLongestLoginStreak(User user) {
-        // Since we only track current streak, return current streak
-        // Could be enhanced by tracking historical streak data
-        UserProfile profile = userProfileRepository.findByUser(user).orElse(null);
-        return profile != null ? profile.getLoginStreak() : 0;
+    private Integer getLongestLoginStreak(UserLearningSnapshot snapshot) {
+        // The current streak may already be longer than any captured in a daily snapshot
+        UserProfile profile = snapshot.getProfile();
+        int currentStreak = profile != null && profile.getLoginStreak() != null ? profile.getLoginStreak() : 0;
+        return Math.max(currentStreak, snapshot.getLongestRecordedStreak());
     }
     
     private String determineConsistencyLevel(ConsistencyReport.ConsistencyMetrics metrics) {
@@ -443,15 +557,15 @@ public class ReportGeneratorService {
         return suggestions;
     }
     
-    private String determineTimeRecommendation(Integer actualHours, Integer plannedHours) {
+    private String determineTimeRecommendation(int actualHours, int plannedHours) {
         if (actualHours < plannedHours * 0.7) return "increase";
         if (actualHours > plannedHours * 1.3) return "decrease";
         return "maintain";
     }
     
-    private Integer calculateOptimalHours(User user, Map<String, Object> basicMetrics) {
-        Double completionRate = (Double) basicMetrics.get("completionRate");
-        Integer currentTarget = (Integer) basicMetrics.get("targetHoursPerWeek");
+    private Integer calculateOptimalHours(User user, BasicMetrics basicMetrics) {
+        double completionRate = basicMetrics.completionRate();
+        int currentTarget = basicMetrics.targetHoursPerWeek();
         
         // Base recommendation on completion rate and current performance
         if (completionRate >= 80.0) {
@@ -462,18 +576,18 @@ public class ReportGeneratorService {
         return currentTarget; // Current target is appropriate
     }
     
-    private String determineLearningPace(Map<String, Object> basicMetrics) {
-        Double completionRate = (Double) basicMetrics.get("completionRate");
+    private String determineLearningPace(BasicMetrics basicMetrics) {
+        double completionRate = basicMetrics.completionRate();
         if (completionRate >= 80) return "Fast";
         if (completionRate >= 50) return "Moderate";
         return "Slow";
     }
     
-    private Boolean checkOverdueDeadlines(User user) {
+    private Boolean checkOverdueDeadlines(UserLearningSnapshot snapshot) {
         LocalDate today = LocalDate.now();
         
         // Get all enrolled courses that are not completed
-        List<EnrolledCourse> activeCourses = enrolledCourseRepository.findByUser(user).stream()
+        List<EnrolledCourse> activeCourses = snapshot.getEnrollments().stream()
             .filter(course -> !"COMPLETED".equals(course.getStatus()))
             .collect(Collectors.toList());
         
@@ -521,13 +635,13 @@ public class ReportGeneratorService {
         return tips;
     }
     
-    private Integer getTotalActiveUsers() {
-        return userProfileRepository.findAll().size();
-    }
-    
     private String calculatePercentile(Integer rank, Integer totalUsers) {
         if (rank == null || totalUsers == null || totalUsers == 0) return "N/A";
-        double percentile = ((totalUsers - rank + 1.0) / totalUsers) * 100;
+        return formatPercentile(((totalUsers - rank + 1.0) / totalUsers) * 100);
+    }
+    
+    private String formatPercentile(Double percentile) {
+        if (percentile == null) return "N/A";
         return String.format("Top %.0f%%", percentile);
     }
     
@@ -536,7 +650,7 @@ public class ReportGeneratorService {
         if (currentRank <= 1) return 0; // Already at top
         
         try {
-            LeaderboardResponse leaderboard = achievementService.getLeaderboard(user, "daily", currentRank);
+            LeaderboardResponse leaderboard = achievementService.getLeaderboard(user, "all-time", currentRank);
             if (leaderboard.getTopUsers().size() >= currentRank - 1) {
                 LeaderboardUserDTO userAbove = leaderboard.getTopUsers().get(currentRank - 2);
                 LeaderboardUserDTO currentUser = leaderboard.getCurrentUser();
@@ -550,19 +664,10 @@ public class ReportGeneratorService {
         return 10; // Default estimate
     }
     
-    private Integer calculatePointsToNextBadge(Map<String, Object> basicMetrics) {
-        String currentBadge = (String) basicMetrics.get("currentBadgeLevel");
-        Integer totalPoints = (Integer) basicMetrics.get("totalPoints");
-        
-        // Badge thresholds from AchievementService
-        return switch (currentBadge) {
-            case "NOVICE" -> Math.max(0, 100 - totalPoints);
-            case "APPRENTICE" -> Math.max(0, 300 - totalPoints);
-            case "SCHOLAR" -> Math.max(0, 700 - totalPoints);
-            case "EXPERT" -> Math.max(0, 1500 - totalPoints);
-            case "MASTER" -> 0; // Already at max level
-            default -> 100; // Default to APPRENTICE threshold
-        };
+    private Integer calculatePointsToNextBadge(BasicMetrics basicMetrics) {
+        BadgeLadder ladder = badgeLadderService.current();
+        int totalPoints = basicMetrics.totalPoints();
+        return ladder.pointsToNext(badgeIndex(ladder, basicMetrics.currentBadgeLevel(), totalPoints), totalPoints);
     }
     
     private List<String> generateCompetitiveInsights(CompetitiveReport.CompetitiveMetrics metrics) {
@@ -636,14 +741,16 @@ public class ReportGeneratorService {
     }
     
     private String getNextBadgeName(String currentBadge) {
-        return switch (currentBadge) {
-            case "NOVICE" -> "APPRENTICE";
-            case "APPRENTICE" -> "SCHOLAR"; 
-            case "SCHOLAR" -> "EXPERT";
-            case "EXPERT" -> "MASTER";
-            case "MASTER" -> "MASTER";
-            default -> "APPRENTICE";
-        };
+        BadgeLadder ladder = badgeLadderService.current();
+        return ladder.nextLevelName(Math.max(ladder.indexOf(currentBadge), 0));
+    }
+    
+    /**
+     * Index of the badge on the current ladder, or of the level the points reach if the ladder has no such badge
+     */
+    private int badgeIndex(BadgeLadder ladder, String badge, int points) {
+        int index = ladder.indexOf(badge);
+        return index >= 0 ? index : ladder.levelIndex(points);
     }
     
     private String generateExecutiveSummary(LearningOverviewReport overview, 
@@ -685,4 +792,35 @@ public class ReportGeneratorService {
         
         return actions;
     }
-}
\ No newline at end of file
+    
+    private ReportContext newContext(User user) {
+        return new ReportContext(analyticsService.loadSnapshot(user), analyticsService);
+    }
+    
+    /**
+     * Run a section on the given executor in its own transaction, since the request's
+     * persistence context is not available on the worker thread. The section is timed and its
+     * statements counted as part of the report's trace.
+     */
+    private <T> Future<T> submitSection(Executor sections, ReportMetrics.Trace trace, ReportStage stage, Supplier<T> section) {
+        FutureTask<T> task = new FutureTask<>(() -> trace.time(stage, () -> transactionTemplate.execute(status -> section.get())));
+        sections.execute(task);
+        return task;
+    }
+    
+    private <T> T awaitSection(String name, Future<T> task, long deadline, List<String> unavailableSections) {
+        try {
+            return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            logger.warn("Report section {} timed out after {} ms", name, sectionTimeoutMs);
+        } catch (ExecutionException e) {
+            logger.error("Report section {} failed: {}", name, e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(true);
+        }
+        unavailableSections.add(name);
+        return null;
+    }
+}
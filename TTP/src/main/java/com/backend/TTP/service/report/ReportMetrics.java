@@ -0,0 +1,122 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.dto.report.ReportMetricsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Latency histograms per report stage, SQL statement counts per report and slow-report logging.
+ *
+ * Every stage's histogram is created up front and looked up by ordinal, so recording a timing is
+ * a clock read and a few atomic adds with no lookup, allocation or string building. Only a report
+ * slower than slow-report-ms builds a log line, listing its stage timings and statement count.
+ */
+@Component
+public class ReportMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(ReportMetrics.class);
+
+    private static final ReportStage[] STAGES = ReportStage.values();
+
+    @Value("${reports.metrics.slow-report-ms:2000}")
+    private long slowReportMs;
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+    private final LongAdder statements = new LongAdder();
+    private final AtomicLong maxStatements = new AtomicLong();
+    private final LongAdder slowReports = new LongAdder();
+
+    public ReportMetrics() {
+        for (ReportStage stage : STAGES) {
+            histograms[stage.ordinal()] = new LatencyHistogram(stage.metricName());
+        }
+    }
+
+    /**
+     * Record the time since startNanos against a stage, returning the current time so calls can
+     * be chained through consecutive steps
+     */
+    public long record(ReportStage stage, long startNanos) {
+        long now = System.nanoTime();
+        histograms[stage.ordinal()].record(now - startNanos);
+        return now;
+    }
+
+    /**
+     * Start timing one report: its SQL statements on this thread are counted until the returned
+     * trace is finished
+     */
+    Trace startReport() {
+        return new Trace();
+    }
+
+    public ReportMetricsResponse getMetrics() {
+        List<ReportMetricsResponse.TimerStats> timers = new ArrayList<>(STAGES.length);
+        for (LatencyHistogram histogram : histograms) {
+            timers.add(histogram.stats());
+        }
+        long reports = timers.get(ReportStage.REPORT.ordinal()).getCount();
+        double averageStatements = reports > 0 ? (double) statements.sum() / reports : 0.0;
+        return new ReportMetricsResponse(reports, slowReports.sum(), slowReportMs,
+                averageStatements, maxStatements.get(), timers);
+    }
+
+    /**
+     * Timings and statement count of one comprehensive report
+     */
+    final class Trace {
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger statementCounter = new AtomicInteger();
+        private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+        private final AtomicInteger previous;
+
+        private Trace() {
+            previous = SqlStatementCounter.bind(statementCounter);
+        }
+
+        /**
+         * Run a step of this report on the current thread, counting its statements and timing it
+         */
+        <T> T time(ReportStage stage, Supplier<T> step) {
+            AtomicInteger outer = SqlStatementCounter.bind(statementCounter);
+            long started = System.nanoTime();
+            try {
+                return step.get();
+            } finally {
+                long elapsed = record(stage, started) - started;
+                stageNanos.set(stage.ordinal(), elapsed);
+                SqlStatementCounter.bind(outer);
+            }
+        }
+
+        void finish() {
+            SqlStatementCounter.bind(previous);
+            long elapsedNanos = record(ReportStage.REPORT, startNanos) - startNanos;
+            int statementCount = statementCounter.get();
+            statements.add(statementCount);
+            maxStatements.accumulateAndGet(statementCount, Math::max);
+
+            if (elapsedNanos / 1_000_000 >= slowReportMs) {
+                slowReports.increment();
+                StringBuilder stages = new StringBuilder();
+                for (ReportStage stage : STAGES) {
+                    long nanos = stageNanos.get(stage.ordinal());
+                    if (nanos > 0) {
+                        stages.append(' ').append(stage.metricName()).append('=').append(nanos / 1_000_000).append("ms");
+                    }
+                }
+                logger.warn("Slow comprehensive report: {} ms, {} SQL statements;{}",
+                        elapsedNanos / 1_000_000, statementCount, stages);
+            }
+        }
+    }
+}
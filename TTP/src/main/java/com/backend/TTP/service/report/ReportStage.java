@@ -0,0 +1,33 @@
+package com.backend.TTP.service.report;
+
+/**
+ * The timed steps of a comprehensive report: the whole report, each section, the snapshot load
+ * and each repository call it makes. Every stage has its own pre-registered timer in ReportMetrics.
+ */
+public enum ReportStage {
+    REPORT("report.comprehensive"),
+    SECTION_OVERVIEW("report.section.overview"),
+    SECTION_SKILL_ANALYSIS("report.section.skillAnalysis"),
+    SECTION_CONSISTENCY("report.section.consistency"),
+    SECTION_TIME_MANAGEMENT("report.section.timeManagement"),
+    SECTION_COMPETITIVE("report.section.competitive"),
+    SNAPSHOT("report.snapshot"),
+    QUERY_PROFILE("report.query.profile"),
+    QUERY_ENROLLMENTS("report.query.enrollments"),
+    QUERY_LEARNING_STATS("report.query.learningStats"),
+    QUERY_TAG_SCORES("report.query.tagScores"),
+    QUERY_UNTAGGED_SCORES("report.query.untaggedScores"),
+    QUERY_LEADERBOARD_ENTRY("report.query.leaderboardEntry"),
+    QUERY_RANK("report.query.rank"),
+    QUERY_LONGEST_STREAK("report.query.longestStreak");
+
+    private final String metricName;
+
+    ReportStage(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
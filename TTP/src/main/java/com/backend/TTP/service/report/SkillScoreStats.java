@@ -0,0 +1,19 @@
+package com.backend.TTP.service.report;
+
+/**
+ * Score statistics for one skill across all of a user's scored courses, in percent
+ */
+public record SkillScoreStats(String skill, double averagePercentage, long scoreCount,
+                              double minPercentage, double maxPercentage) {
+
+    /**
+     * Combine two sets of statistics for the same skill, weighting the averages by score count
+     */
+    SkillScoreStats merge(SkillScoreStats other) {
+        long count = scoreCount + other.scoreCount;
+        double average = count == 0 ? 0.0
+                : (averagePercentage * scoreCount + other.averagePercentage * other.scoreCount) / count;
+        return new SkillScoreStats(skill, average, count,
+                Math.min(minPercentage, other.minPercentage), Math.max(maxPercentage, other.maxPercentage));
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.TTP.service.report;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a report is being generated. The report binds
+ * one counter to its request thread and to each section thread it uses; statements on threads
+ * with no counter bound are not counted, and the SQL is never changed.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    /**
+     * Count this thread's statements into counter (or stop counting, for null), returning the
+     * counter bound before so it can be restored
+     */
+    static AtomicInteger bind(AtomicInteger counter) {
+        AtomicInteger previous = CURRENT.get();
+        if (counter != null) {
+            CURRENT.set(counter);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+}
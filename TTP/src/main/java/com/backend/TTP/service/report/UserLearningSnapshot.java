@@ -0,0 +1,98 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.model.*;
+import com.backend.TTP.repository.CourseScoreRepository.CourseScoreAggregate;
+import com.backend.TTP.repository.CourseScoreRepository.TagScoreAggregate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Everything a report needs about one user, loaded once per request from fetch joins, the
+ * learning stats rollup and database-side score aggregates (see ReportAnalyticsService.loadSnapshot).
+ *
+ * Every association the report reads is initialized at load time, so report sections can work
+ * on the snapshot in memory, from any thread, without touching the database again. Treat it as
+ * read-only.
+ */
+public final class UserLearningSnapshot {
+
+    private final User user;
+    private final UserProfile profile;
+    private final List<EnrolledCourse> enrollments;
+    private final UserLearningStats stats;
+    private final List<TagScoreAggregate> tagScores;
+    private final List<CourseScoreAggregate> untaggedCourseScores;
+    private final LeaderboardEntry todayEntry;
+    private final Integer rank;
+    private final int longestRecordedStreak;
+
+    UserLearningSnapshot(User user, UserProfile profile, List<EnrolledCourse> enrollments, UserLearningStats stats,
+                         List<TagScoreAggregate> tagScores, List<CourseScoreAggregate> untaggedCourseScores,
+                         LeaderboardEntry todayEntry, Integer rank, int longestRecordedStreak) {
+        this.user = user;
+        this.profile = profile;
+        this.enrollments = Collections.unmodifiableList(enrollments);
+        this.stats = stats;
+        this.tagScores = Collections.unmodifiableList(tagScores);
+        this.untaggedCourseScores = Collections.unmodifiableList(untaggedCourseScores);
+        this.todayEntry = todayEntry;
+        this.rank = rank;
+        this.longestRecordedStreak = longestRecordedStreak;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * The user's profile with skills and learning path, or null if they have none yet
+     */
+    public UserProfile getProfile() {
+        return profile;
+    }
+
+    public List<EnrolledCourse> getEnrollments() {
+        return enrollments;
+    }
+
+    /**
+     * The user's row of the learning stats rollup, for the current week
+     */
+    public UserLearningStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Score aggregates per skill tag, computed by the database
+     */
+    public List<TagScoreAggregate> getTagScores() {
+        return tagScores;
+    }
+
+    /**
+     * Score aggregates for scored courses without a skill tag, one per course
+     */
+    public List<CourseScoreAggregate> getUntaggedCourseScores() {
+        return untaggedCourseScores;
+    }
+
+    public Optional<LeaderboardEntry> getTodayEntry() {
+        return Optional.ofNullable(todayEntry);
+    }
+
+    /**
+     * Current daily rank, or null if the user is not ranked
+     */
+    public Integer getRank() {
+        return rank;
+    }
+
+    /**
+     * Longest login streak in the user's daily metric snapshots, 0 if none were captured yet
+     */
+    public int getLongestRecordedStreak() {
+        return longestRecordedStreak;
+    }
+}
@@ -0,0 +1,108 @@
+package com.backend.TTP;
+
+import com.backend.TTP.model.*;
+import com.backend.TTP.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Fixtures shared by the integration tests: users, profiles, courses, enrollments and scores,
+ * saved through the repositories. Optional setup callbacks run on the entity before it is saved.
+ */
+@Component
+public class TestData {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrolledCourseRepository enrolledCourseRepository;
+
+    @Autowired
+    private CourseScoreRepository courseScoreRepository;
+
+    public User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        return userRepository.save(user);
+    }
+
+    public User createUserWithProfile(String username) {
+        return createUserWithProfile(username, profile -> {});
+    }
+
+    public User createUserWithProfile(String username, Consumer<UserProfile> setup) {
+        User user = createUser(username);
+        UserProfile profile = new UserProfile();
+        profile.setUser(user);
+        setup.accept(profile);
+        userProfileRepository.save(profile);
+        return user;
+    }
+
+    public Course createCourse(String title, Set<String> tags) {
+        return createCourse(title, tags, course -> {});
+    }
+
+    public Course createCourse(String title, Set<String> tags, Consumer<Course> setup) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setTags(tags);
+        setup.accept(course);
+        return courseRepository.save(course);
+    }
+
+    public EnrolledCourse enroll(User user, Course course, Consumer<EnrolledCourse> setup) {
+        EnrolledCourse enrollment = new EnrolledCourse();
+        enrollment.setUser(user);
+        enrollment.setCourse(course);
+        enrollment.setStatus("COMPLETED");
+        setup.accept(enrollment);
+        return enrolledCourseRepository.save(enrollment);
+    }
+
+    /**
+     * One score per course, percentages[i] for courses.get(i), saved in one batch
+     */
+    public void saveScores(User user, List<Course> courses, double[] percentages) {
+        List<CourseScore> scores = new ArrayList<>();
+        for (int i = 0; i < courses.size(); i++) {
+            scores.add(score(user, courses.get(i).getId(), null, percentages[i]));
+        }
+        courseScoreRepository.saveAll(scores);
+    }
+
+    /**
+     * A score for a course, tied to the enrollment when there is one
+     */
+    public CourseScore saveScore(User user, Long courseId, EnrolledCourse enrollment, double percentage) {
+        return courseScoreRepository.save(score(user, courseId, enrollment, percentage));
+    }
+
+    // Private helper methods
+
+    private static CourseScore score(User user, Long courseId, EnrolledCourse enrollment, double percentage) {
+        CourseScore score = new CourseScore();
+        score.setUser(user);
+        score.setCourseId(courseId);
+        score.setEnrolledCourse(enrollment);
+        score.setScore((int) percentage);
+        score.setMaxScore(100);
+        score.setPercentage(percentage);
+        score.setCompletionDate(LocalDateTime.now());
+        return score;
+    }
+}
@@ -1,5 +1,6 @@
 package com.backend.TTP;
 
+import com.backend.TTP.model.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -7,6 +8,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
@@ -15,8 +21,42 @@ class TtpApplicationTests {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private TestData testData;
+
     @Test
     void contextLoads() {
         // Test passes if application context loads
     }
+
+    @Test
+    void adminEndpointsRequireAdminRole() throws Exception {
+        User member = account("member", User.ROLE_USER);
+        mockMvc.perform(get("/api/reports/admin/metrics").with(user(member))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/reports/admin/export").with(user(member))).andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/reports/admin/rebuild-stats").with(user(member))).andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/reports/admin/capture-snapshots").with(user(member))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/achievements/admin/leaderboard/job").with(user(member))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/achievements/admin/leaderboard/consistency").with(user(member))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/achievements/admin/cache/achievement-profiles").with(user(member))).andExpect(status().isForbidden());
+
+        User admin = account("admin", User.ROLE_ADMIN);
+        mockMvc.perform(get("/api/reports/admin/metrics").with(user(admin))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/achievements/admin/cache/achievement-profiles").with(user(admin))).andExpect(status().isOk());
+    }
+
+    @Test
+    void percentileIsNotFoundForUnrankedUser() throws Exception {
+        User unranked = testData.createUser("unranked-user");
+        mockMvc.perform(get("/api/achievements/leaderboard/percentile").with(user(unranked))).andExpect(status().isNotFound());
+    }
+
+    private static User account(String username, String role) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setRole(role);
+        return user;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.backend.TTP.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        BoundedTtlCache cache = new BoundedTtlCache("test", 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> cache.get("key", () -> {
+                    loads.incrementAndGet();
+                    release.await(10, TimeUnit.SECONDS);
+                    return "value";
+                })));
+            }
+            Thread.sleep(200); // Let every thread miss while the first load is still running
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadStartedBeforeEvictIsNotStored() throws Exception {
+        BoundedTtlCache cache = new BoundedTtlCache("test", 10, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get("key", () -> {
+                loading.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return "stale";
+            }));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            cache.evict("key");
+            release.countDown();
+            assertEquals("stale", stale.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNull(cache.get("key"));
+        assertEquals("fresh", cache.get("key", () -> "fresh"));
+    }
+}
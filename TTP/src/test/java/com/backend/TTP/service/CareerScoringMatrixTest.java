@@ -0,0 +1,115 @@
+package com.backend.TTP.service;
+
+import com.backend.TTP.service.SkillMappingService.CareerPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CareerScoringMatrixTest {
+
+    private static final String[] SKILLS = {
+            "java", "Spring Boot", "react", "node.js", "sql", "docker", "kubernetes", "python",
+            "machine learning", "solidity", "ethereum", "web3.js", "aws", "TypeScript", "go"
+    };
+    private static final String[] WORDS = {"developer", "backend", "frontend", "data", "scientist", "engineer", "web"};
+
+    @Test
+    void matchesPerCareerCalculation() {
+        Random random = new Random(11);
+        Map<String, List<String>> related = new HashMap<>();
+        for (String skill : SKILLS) {
+            related.put(skill.toLowerCase(), randomSkills(random, random.nextInt(4), true));
+        }
+        related.put("go", List.of()); // Known skill without related skills scores NaN
+        List<CareerPath> careers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            careers.add(career(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)],
+                    randomSkills(random, random.nextInt(6), false)));
+        }
+        CareerScoringMatrix matrix = new CareerScoringMatrix(careers, related);
+
+        for (int round = 0; round < 50; round++) {
+            String input = WORDS[random.nextInt(WORDS.length)];
+            String goals = "become a " + WORDS[random.nextInt(WORDS.length)] + " using " + SKILLS[random.nextInt(SKILLS.length)].toLowerCase();
+            List<String> userSkills = randomSkills(random, random.nextInt(5), true);
+
+            double[] scores = matrix.score(input, goals, userSkills);
+            for (int c = 0; c < careers.size(); c++) {
+                double expected = referenceScore(careers.get(c), input, goals, userSkills, related);
+                assertEquals(expected, scores[c], 1e-12, careers.get(c).getName() + " " + careers.get(c).getSkills());
+            }
+        }
+    }
+
+    @Test
+    void scoresThousandCareersPerRequest() {
+        Random random = new Random(5);
+        List<CareerPath> careers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            careers.add(career("career " + i + " " + WORDS[i % WORDS.length], randomSkills(random, 8, false)));
+        }
+        CareerScoringMatrix matrix = new CareerScoringMatrix(careers, Map.of());
+        List<String> userSkills = List.of("java", "sql", "docker");
+        String goals = "become a backend developer with spring";
+
+        double[] scores = matrix.score("backend", goals, userSkills);
+        assertEquals(careers.size(), scores.length);
+        for (int c = 0; c < careers.size(); c++) {
+            assertEquals(referenceScore(careers.get(c), "backend", goals, userSkills, Map.of()), scores[c], 1e-12);
+        }
+    }
+
+    // Private helper methods
+
+    private static CareerPath career(String name, List<String> skills) {
+        CareerPath career = new CareerPath();
+        career.setName(name);
+        career.setSkills(skills);
+        return career;
+    }
+
+    private static List<String> randomSkills(Random random, int count, boolean lowercase) {
+        List<String> skills = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String skill = SKILLS[random.nextInt(SKILLS.length)];
+            skills.add(lowercase ? skill.toLowerCase() : skill);
+        }
+        return skills;
+    }
+
+    /**
+     * The per-career calculation the matrix replaces
+     */
+    private static double referenceScore(CareerPath career, String input, String goals, List<String> userSkills,
+                                         Map<String, List<String>> related) {
+        List<String> skills = career.getSkills();
+        Set<String> userSet = new HashSet<>(userSkills);
+
+        String[] careerWords = career.getName().toLowerCase().split("\\W+");
+        Set<String> nameIntersection = new HashSet<>(Arrays.asList(input.toLowerCase().split("\\W+")));
+        nameIntersection.retainAll(Arrays.asList(careerWords));
+        double nameMatch = (double) nameIntersection.size() / careerWords.length;
+
+        Set<String> goalWords = Arrays.stream(goals.split("\\W+")).filter(w -> w.length() > 3).collect(Collectors.toSet());
+        double keywordOverlap = (double) skills.stream()
+                .filter(skill -> goalWords.stream().anyMatch(skill::contains)).count() / skills.size();
+
+        double skillMatch = (double) skills.stream()
+                .filter(skill -> userSet.contains(skill.toLowerCase())).count() / skills.size();
+
+        double relatedPotential = skills.stream()
+                .mapToDouble(skill -> {
+                    List<String> relatedSkills = related.get(skill.toLowerCase());
+                    return relatedSkills != null
+                            ? (double) relatedSkills.stream().filter(userSet::contains).count() / relatedSkills.size()
+                            : 0;
+                })
+                .average()
+                .orElse(0);
+
+        return nameMatch * 0.25 + keywordOverlap * 0.4 + skillMatch * 0.25 + relatedPotential * 0.1;
+    }
+}
@@ -0,0 +1,105 @@
+package com.backend.TTP.service;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.dto.LearningPathStatusResponse;
+import com.backend.TTP.dto.ProfileRequest;
+import com.backend.TTP.dto.ProfileResponse;
+import com.backend.TTP.model.LearningPath;
+import com.backend.TTP.model.User;
+import com.backend.TTP.model.UserProfile;
+import com.backend.TTP.repository.UserProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LearningPathGenerationServiceTest {
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @MockitoBean
+    private LearningPathService learningPathService;
+
+    @Test
+    void saveReturnsPendingAndOnlyTheLatestVersionIsStored() throws Exception {
+        User user = testData.createUser("async-path");
+
+        CountDownLatch release = new CountDownLatch(1);
+        when(learningPathService.generateLearningPath(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            UserProfile profile = invocation.getArgument(0);
+            LearningPath path = new LearningPath();
+            path.setCreatedDate(LocalDate.now());
+            path.setPathContent("# Path for " + profile.getGoals());
+            return path;
+        });
+
+        ProfileResponse first = profileService.createOrUpdateProfile(request("learn java"), user.getUsername());
+        assertEquals(LearningPath.STATUS_PENDING, first.getLearningPathStatus(), "save does not wait for generation");
+        assertEquals(1L, first.getLearningPathVersion());
+
+        ProfileResponse second = profileService.createOrUpdateProfile(request("learn kotlin"), user.getUsername());
+        assertEquals(2L, second.getLearningPathVersion());
+
+        release.countDown();
+        LearningPathStatusResponse status = awaitReady(user.getUsername(), 2L);
+        assertEquals(2L, status.getVersion());
+        UserProfile stored = userProfileRepository.findByUser(user).orElseThrow();
+        assertEquals("# Path for learn kotlin", stored.getLearningPath().getPathContent());
+
+        int runs = mockingDetails(learningPathService).getInvocations().size();
+        ProfileResponse unchanged = profileService.createOrUpdateProfile(request("learn kotlin"), user.getUsername());
+        assertEquals(LearningPath.STATUS_READY, unchanged.getLearningPathStatus());
+        assertEquals(2L, unchanged.getLearningPathVersion());
+        Thread.sleep(200);
+        assertEquals(runs, mockingDetails(learningPathService).getInvocations().size(), "unchanged inputs are not regenerated");
+
+        ProfileResponse forced = profileService.createOrUpdateProfile(request("learn kotlin"), user.getUsername(), true);
+        assertEquals(LearningPath.STATUS_PENDING, forced.getLearningPathStatus());
+        assertEquals(3L, forced.getLearningPathVersion(), "a forced regeneration bumps the version");
+        awaitReady(user.getUsername(), 3L);
+    }
+
+    // Private helper methods
+
+    private static ProfileRequest request(String goals) {
+        ProfileRequest request = new ProfileRequest();
+        request.setCareerStage("beginner");
+        request.setSkills(List.of("java"));
+        request.setGoals(goals);
+        request.setHoursPerWeek(5);
+        return request;
+    }
+
+    private LearningPathStatusResponse awaitReady(String username, long version) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        LearningPathStatusResponse status = profileService.getLearningPathStatus(username);
+        while (!(LearningPath.STATUS_READY.equals(status.getStatus()) && status.getVersion() == version)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = profileService.getLearningPathStatus(username);
+        }
+        assertEquals(LearningPath.STATUS_READY, status.getStatus());
+        assertEquals(version, status.getVersion());
+        return status;
+    }
+}
@@ -0,0 +1,131 @@
+package com.backend.TTP.service;
+
+import com.backend.TTP.config.BoundedTtlCache;
+import com.backend.TTP.config.CacheConfig;
+import com.backend.TTP.model.UserProfile;
+import com.backend.TTP.service.SkillMappingService.SkillDatabase;
+import com.backend.TTP.service.SkillMappingService.SkillInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillCatalogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reloadPublishesNewVersionAndKeepsOldSnapshotIntact() throws Exception {
+        Path file = dir.resolve("skills.json");
+        Files.writeString(file, catalogJson("Java", "Spring Boot"));
+        SkillMappingService service = service(file, cacheManager());
+
+        SkillCatalog first = service.reloadCatalog();
+        assertEquals(1, first.getVersion());
+        assertEquals(List.of("spring boot"), first.getRelatedSkills("JAVA"));
+
+        service.reloadCatalogIfChanged();
+        assertSame(first, service.getCatalog(), "unchanged file is not reloaded");
+
+        Files.writeString(file, catalogJson("Kotlin", "Ktor"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        service.reloadCatalogIfChanged();
+        SkillCatalog second = service.getCatalog();
+        assertEquals(2, second.getVersion());
+        assertNotNull(second.getSkill("kotlin"));
+        assertNull(second.getSkill("java"));
+        assertNotNull(first.getSkill("java"), "readers holding the old version still see it");
+
+        Files.writeString(file, "{ not json");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 120_000));
+        service.reloadCatalogIfChanged();
+        assertSame(second, service.getCatalog(), "a broken file keeps the current version");
+    }
+
+    @Test
+    void learningPathCacheIsKeyedByNormalizedInputsAndClearedOnReload() throws Exception {
+        UserProfile profile = profile("Junior", "Become a Backend Developer", 10, "Java", "SQL");
+        String fingerprint = SkillMappingService.learningPathFingerprint(1, profile);
+        assertEquals(fingerprint, SkillMappingService.learningPathFingerprint(1,
+                profile("junior", "become a backend developer", 10, "java", "sql")));
+        assertNotEquals(fingerprint, SkillMappingService.learningPathFingerprint(2, profile));
+        assertNotEquals(fingerprint, SkillMappingService.learningPathFingerprint(1,
+                profile("junior", "become a backend developer", 12, "java", "sql")));
+        assertNotEquals(fingerprint, SkillMappingService.learningPathFingerprint(1,
+                profile("junior", "become a backend developer", 10, "java sql")));
+
+        Path file = dir.resolve("skills.json");
+        Files.writeString(file, catalogJson("Java", "Spring Boot"));
+        SimpleCacheManager cacheManager = cacheManager();
+        SkillMappingService service = service(file, cacheManager);
+        Cache learningPaths = cacheManager.getCache(CacheConfig.LEARNING_PATHS);
+
+        learningPaths.put(fingerprint, new SkillMappingService.LearningPathData());
+        service.reloadCatalog();
+        assertNull(learningPaths.get(fingerprint));
+    }
+
+    @Test
+    void buildsHundredThousandSkillCatalog() {
+        SkillDatabase database = new SkillDatabase();
+        List<SkillInfo> skills = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            skills.add(skill("skill " + i + " level " + (i % 10), "skill " + (i + 1) + " level " + ((i + 1) % 10)));
+        }
+        database.setSkills(skills);
+        database.setCareerPaths(List.of());
+
+        SkillCatalog catalog = SkillCatalog.build(database, 1);
+
+        assertEquals(100_000, catalog.getSkillCount());
+        assertEquals("skill 42 level 2", catalog.findBestSkillMatch("skill 42 level 2", 0.65));
+        assertEquals(List.of("skill 43 level 3"), catalog.getRelatedSkills("skill 42 level 2"));
+    }
+
+    // Private helper methods
+
+    private static SkillMappingService service(Path file, SimpleCacheManager cacheManager) {
+        return new SkillMappingService(new RestTemplate(), "", file.toString(), cacheManager);
+    }
+
+    private static SimpleCacheManager cacheManager() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new BoundedTtlCache(CacheConfig.LEARNING_PATHS, 10, Duration.ofMinutes(1))));
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+
+    private static UserProfile profile(String careerStage, String goals, int hoursPerWeek, String... skills) {
+        UserProfile profile = new UserProfile();
+        profile.setCareerStage(careerStage);
+        profile.setGoals(goals);
+        profile.setHoursPerWeek(hoursPerWeek);
+        profile.setSkills(new ArrayList<>(List.of(skills)));
+        return profile;
+    }
+
+    private static SkillInfo skill(String name, String related) {
+        SkillInfo skill = new SkillInfo();
+        skill.setName(name);
+        skill.setDifficulty(2);
+        skill.setRelatedSkills(List.of(related));
+        return skill;
+    }
+
+    private static String catalogJson(String skill, String related) {
+        return "{\"skills\":[{\"name\":\"" + skill + "\",\"description\":\"\",\"tags\":[],\"difficulty\":2," +
+                "\"relatedSkills\":[\"" + related.toLowerCase() + "\"]}]," +
+                "\"careerPaths\":[{\"name\":\"Developer\",\"skills\":[\"" + skill + "\"],\"category\":\"general\"}]}";
+    }
+}
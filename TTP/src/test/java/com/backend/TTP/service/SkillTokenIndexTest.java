@@ -0,0 +1,82 @@
+package com.backend.TTP.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillTokenIndexTest {
+
+    private static final String[] WORDS = {
+            "java", "spring", "boot", "react", "native", "data", "science", "machine", "learning",
+            "cloud", "aws", "docker", "sql", "design", "system", "web", "api", "c", "go", "node"
+    };
+
+    @Test
+    void matchesBruteForceScan() {
+        Random random = new Random(42);
+        List<String> skills = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            skills.add(randomSkill(random));
+        }
+        SkillTokenIndex index = new SkillTokenIndex(skills);
+
+        for (int i = 0; i < 500; i++) {
+            String query = randomSkill(random);
+            assertEquals(bruteForce(skills, query, 0.65), index.bestMatch(query, 0.65).orElse(query), query);
+        }
+        assertEquals("spring boot", new SkillTokenIndex(List.of("spring boot", "java")).bestMatch("spring-boot", 0.65).orElseThrow());
+        assertTrue(new SkillTokenIndex(List.of("java")).bestMatch("kotlin", 0.65).isEmpty());
+    }
+
+    @Test
+    void lookupOverTenThousandSkillsOnlyScoresSharedTokens() {
+        Random random = new Random(7);
+        List<String> skills = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            skills.add(randomSkill(random) + " s" + i);
+        }
+        SkillTokenIndex index = new SkillTokenIndex(skills);
+        assertEquals(10_000, index.size());
+
+        for (int i = 0; i < 20; i++) {
+            String query = randomSkill(random);
+            assertEquals(bruteForce(skills, query, 0.65), index.bestMatch(query, 0.65).orElse(query), query);
+        }
+        assertEquals(skills.get(3), index.bestMatch(skills.get(3), 0.65).orElseThrow());
+    }
+
+    // Private helper methods
+
+    private static String randomSkill(Random random) {
+        int words = 1 + random.nextInt(3);
+        String[] separators = {" ", "-", "/", "."};
+        StringBuilder skill = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0 || random.nextInt(20) == 0) {
+                skill.append(separators[random.nextInt(separators.length)]);
+            }
+            skill.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return skill.toString();
+    }
+
+    /**
+     * The original full scan, kept as the reference the index must agree with
+     */
+    private static String bruteForce(List<String> skills, String query, double threshold) {
+        return skills.stream()
+                .max(Comparator.comparingDouble(skill -> similarity(skill, query)))
+                .filter(match -> similarity(match, query) > threshold)
+                .orElse(query);
+    }
+
+    private static double similarity(String a, String b) {
+        Set<String> aWords = SkillTokenIndex.tokenize(a);
+        Set<String> bWords = SkillTokenIndex.tokenize(b);
+        Set<String> intersection = new HashSet<>(aWords);
+        intersection.retainAll(bWords);
+        return (2.0 * intersection.size()) / (aWords.size() + bWords.size());
+    }
+}
@@ -0,0 +1,69 @@
+package com.backend.TTP.service.achievement;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.config.BoundedTtlCache;
+import com.backend.TTP.dto.AchievementProfileResponse;
+import com.backend.TTP.dto.CacheStatsResponse;
+import com.backend.TTP.model.User;
+import com.backend.TTP.service.AchievementService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AchievementProfileCacheTest {
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private AchievementProfileCache achievementProfileCache;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void profileIsCachedUntilPointsChange() {
+        User user = testData.createUserWithProfile("cached-profile-user");
+
+        CacheStatsResponse before = achievementProfileCache.getStats();
+        AchievementProfileResponse first = achievementService.getAchievementProfile(user);
+        AchievementProfileResponse second = achievementService.getAchievementProfile(user);
+        CacheStatsResponse after = achievementProfileCache.getStats();
+
+        assertSame(first, second);
+        assertEquals(before.getHits() + 1, after.getHits());
+        assertEquals(before.getMisses() + 1, after.getMisses());
+
+        achievementService.awardPoints(user, "TEST", 40, "cache test", null);
+        AchievementProfileResponse updated = achievementService.getAchievementProfile(user);
+        assertNotSame(first, updated);
+        assertEquals(40, updated.getTotalPoints());
+        assertEquals(60, updated.getPointsToNextLevel());
+    }
+
+    @Test
+    void boundedCacheDropsLeastRecentlyReadAndExpiredEntries() throws Exception {
+        BoundedTtlCache cache = new BoundedTtlCache("test", 2, Duration.ofHours(1));
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        cache.get(1L);
+        cache.put(3L, "three");
+
+        assertNull(cache.get(2L));
+        assertEquals("one", cache.get(1L).get());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        BoundedTtlCache expiring = new BoundedTtlCache("expiring", 10, Duration.ofMillis(1));
+        expiring.put(1L, "one");
+        Thread.sleep(5);
+        assertNull(expiring.get(1L));
+    }
+}
@@ -0,0 +1,65 @@
+package com.backend.TTP.service.achievement;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.model.User;
+import com.backend.TTP.model.UserAchievement;
+import com.backend.TTP.repository.UserAchievementRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AchievementRuleEngineTest {
+
+    @Autowired
+    private AchievementRuleEngine achievementRuleEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserAchievementRepository userAchievementRepository;
+
+    @Test
+    void streakRulesAwardEachAchievementOnce() {
+        User user = testData.createUser("streak-user");
+
+        // A 30-day streak reaches both seeded consistency achievements (7 and 30 days)
+        assertEquals(2, achievementRuleEngine.evaluate(AchievementEvent.loginStreak(user.getId(), 30)));
+        assertEquals(0, achievementRuleEngine.evaluate(AchievementEvent.loginStreak(user.getId(), 31)));
+
+        Set<String> names = userAchievementRepository.findByUser(user).stream()
+                .map(ua -> ua.getAchievement().getName())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("Consistent Learner", "Dedicated Student"), names);
+    }
+
+    @Test
+    void publishedEventsAreEvaluatedAsynchronously() throws Exception {
+        User user = testData.createUser("async-streak-user");
+
+        for (int streak = 1; streak <= 7; streak++) {
+            eventPublisher.publishEvent(AchievementEvent.loginStreak(user.getId(), streak));
+        }
+
+        List<UserAchievement> earned = List.of();
+        for (int attempt = 0; attempt < 50 && earned.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            earned = userAchievementRepository.findByUser(user);
+        }
+        assertEquals(1, earned.size());
+        assertEquals("Consistent Learner", earned.get(0).getAchievement().getName());
+    }
+}
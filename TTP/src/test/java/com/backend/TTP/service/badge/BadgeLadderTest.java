@@ -0,0 +1,51 @@
+package com.backend.TTP.service.badge;
+
+import com.backend.TTP.model.Achievement;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BadgeLadderTest {
+
+    @Test
+    void defaultLadderMatchesThresholdsAndBonuses() {
+        BadgeLadder ladder = BadgeLadder.defaults();
+
+        assertEquals("NOVICE", ladder.levelFor(0));
+        assertEquals("NOVICE", ladder.levelFor(99));
+        assertEquals("APPRENTICE", ladder.levelFor(100));
+        assertEquals("EXPERT", ladder.levelFor(1499));
+        assertEquals("MASTER", ladder.levelFor(100_000));
+
+        int scholar = ladder.levelIndex(450);
+        assertEquals("EXPERT", ladder.nextLevelName(scholar));
+        assertEquals(250, ladder.pointsToNext(scholar, 450));
+        assertEquals(0, ladder.pointsToNext(ladder.levelIndex(1500), 1500));
+        assertEquals("MASTER", ladder.nextLevelName(ladder.levelIndex(1500)));
+
+        assertEquals(10, ladder.levelUpBonus(95, 105));
+        assertEquals(0, ladder.levelUpBonus(105, 110));
+        assertEquals(100, ladder.levelUpBonus(1400, 1600));
+    }
+
+    @Test
+    void ladderIsBuiltFromBadgeLevelAchievements() {
+        BadgeLadder ladder = BadgeLadder.fromAchievements(List.of(
+                new Achievement(null, "Starter", "", "BADGE_LEVEL", 0, "NOVICE", "/n.png", true, null),
+                new Achievement(null, "Climber", "", "BADGE_LEVEL", 50, "APPRENTICE", "/a.png", true, null),
+                new Achievement(null, "Retired", "", "BADGE_LEVEL", 75, "SCHOLAR", "/s.png", false, null),
+                new Achievement(null, "Streak", "", "CONSISTENCY", 0, "EXPERT", "/e.png", true, null)));
+
+        assertEquals(2, ladder.size());
+        assertEquals("APPRENTICE", ladder.levelFor(60));
+        assertEquals("Climber", ladder.title(1));
+        assertEquals(10, ladder.levelUpBonus(40, 60));
+
+        // Without a level starting at 0 points the configured rows are ignored
+        assertSame(BadgeLadder.defaults(), BadgeLadder.fromAchievements(List.of(
+                new Achievement(null, "Climber", "", "BADGE_LEVEL", 50, "APPRENTICE", "/a.png", true, null))));
+    }
+}
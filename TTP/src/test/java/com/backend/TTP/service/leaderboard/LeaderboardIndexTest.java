@@ -0,0 +1,70 @@
+package com.backend.TTP.service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LeaderboardIndexTest {
+
+    @Test
+    void ranksMatchSqlTieHandling() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.rebuild(List.of(
+                new LeaderboardIndex.Entry(1L, "carol", 300, "SCHOLAR"),
+                new LeaderboardIndex.Entry(2L, "alice", 150, "APPRENTICE"),
+                new LeaderboardIndex.Entry(3L, "bob", 150, "APPRENTICE"),
+                new LeaderboardIndex.Entry(4L, "dave", 20, "NOVICE")));
+
+        List<LeaderboardIndex.Entry> top = index.top(10);
+        assertEquals(List.of(1L, 2L, 3L, 4L), top.stream().map(LeaderboardIndex.Entry::userId).toList());
+        assertEquals(1, index.rankOf(300));
+        assertEquals(2, index.rankOf(150));
+        assertEquals(4, index.rankOf(20));
+    }
+
+    @Test
+    void upsertMovesUserAndGrowsBuckets() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.rebuild(List.of(
+                new LeaderboardIndex.Entry(1L, "carol", 300, "SCHOLAR"),
+                new LeaderboardIndex.Entry(2L, "alice", 150, "APPRENTICE")));
+
+        index.upsert(2L, "alice", 100_000, "MASTER");
+
+        assertEquals(2, index.size());
+        assertEquals(2L, index.top(1).get(0).userId());
+        assertEquals(1, index.rankOf(100_000));
+        assertEquals(2, index.rankOf(300));
+        assertEquals(List.of(2L, 1L), index.around(1L, 3).stream().map(LeaderboardIndex.Entry::userId).toList());
+    }
+
+    @Test
+    void cohortRanksFollowBadgeAndCareerStageChanges() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.setCareerStage(1L, "beginner");
+        index.setCareerStage(2L, "beginner");
+        index.setCareerStage(3L, "senior");
+        index.rebuild(List.of(
+                new LeaderboardIndex.Entry(1L, "carol", 300, "SCHOLAR"),
+                new LeaderboardIndex.Entry(2L, "alice", 150, "APPRENTICE"),
+                new LeaderboardIndex.Entry(3L, "bob", 150, "APPRENTICE")));
+
+        String beginners = LeaderboardIndex.careerStageCohort("beginner");
+        String apprentices = LeaderboardIndex.badgeCohort("APPRENTICE");
+        assertEquals(2, index.cohortSize(beginners));
+        assertEquals(2, index.rankInCohort(beginners, 150));
+        assertEquals(1, index.rankInCohort(apprentices, 150));
+
+        // Alice levels up and changes career stage: she leaves both of her old cohorts
+        index.upsert(2L, "alice", 5_000, "EXPERT");
+        index.setCareerStage(2L, "senior");
+
+        assertEquals(1, index.cohortSize(apprentices));
+        assertEquals(1, index.cohortSize(beginners));
+        assertEquals(1, index.rankInCohort(beginners, 300));
+        assertEquals(2, index.cohortSize(LeaderboardIndex.careerStageCohort("Senior")));
+        assertEquals(2, index.rankInCohort(LeaderboardIndex.careerStageCohort("senior"), 150));
+    }
+}
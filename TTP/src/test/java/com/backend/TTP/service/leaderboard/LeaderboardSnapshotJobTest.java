@@ -0,0 +1,72 @@
+package com.backend.TTP.service.leaderboard;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.dto.LeaderboardJobStatusResponse;
+import com.backend.TTP.model.LeaderboardJobCheckpoint;
+import com.backend.TTP.model.User;
+import com.backend.TTP.repository.LeaderboardEntryRepository;
+import com.backend.TTP.repository.LeaderboardJobCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaderboardSnapshotJobTest {
+
+    @Autowired
+    private LeaderboardSnapshotJob leaderboardSnapshotJob;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private LeaderboardJobCheckpointRepository checkpointRepository;
+
+    @Test
+    void chunkedRunWritesEveryProfileAndResumesFromCheckpoint() {
+        LocalDate today = LocalDate.now();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            int totalPoints = 10 * (i + 1);
+            users.add(testData.createUserWithProfile("snapshot-user-" + i, profile -> profile.setTotalPoints(totalPoints)));
+        }
+
+        LeaderboardJobStatusResponse status = leaderboardSnapshotJob.run(today, 2, 3);
+        assertEquals("COMPLETED", status.getStatus());
+        assertFalse(status.getResumed());
+        assertEquals(3, status.getShards());
+        assertTrue(status.getRowsProcessed() >= users.size());
+        assertTrue(status.getChunksCommitted() >= 4);
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(10 * (i + 1), leaderboardEntryRepository.findByUserAndDate(users.get(i), today)
+                    .orElseThrow().getTotalPoints());
+        }
+
+        // Pretend the run died before the last shard committed anything, and lose one of its rows
+        List<LeaderboardJobCheckpoint> checkpoints = checkpointRepository.findByJobDateOrderByShard(today);
+        LeaderboardJobCheckpoint lastShard = checkpoints.get(checkpoints.size() - 1);
+        lastShard.setCompleted(false);
+        lastShard.setLastProfileId(lastShard.getRangeStart());
+        lastShard.setRowsProcessed(0L);
+        checkpointRepository.save(lastShard);
+        User lastUser = users.get(users.size() - 1);
+        leaderboardEntryRepository.delete(leaderboardEntryRepository.findByUserAndDate(lastUser, today).orElseThrow());
+
+        LeaderboardJobStatusResponse resumed = leaderboardSnapshotJob.run(today, 2, 3);
+        assertTrue(resumed.getResumed());
+        assertTrue(resumed.getRowsProcessed() < status.getRowsProcessed());
+        assertEquals(70, leaderboardEntryRepository.findByUserAndDate(lastUser, today).orElseThrow().getTotalPoints());
+        assertTrue(checkpointRepository.findByJobDateOrderByShard(today).stream().allMatch(LeaderboardJobCheckpoint::getCompleted));
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.TTP.service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardWindowsTest {
+
+    @Test
+    void windowsSlideWithoutRescanningHistory() {
+        LeaderboardWindows windows = new LeaderboardWindows();
+        LocalDate today = LocalDate.now();
+
+        windows.record(1L, "alice", 10, today.minusDays(8));
+        windows.record(1L, "alice", 20, today.minusDays(3));
+        windows.record(1L, "alice", 5, today);
+        windows.record(2L, "bob", 40, today.minusDays(1));
+
+        assertEquals(5, points(windows, LeaderboardPeriod.DAILY, 1L));
+        assertEquals(25, points(windows, LeaderboardPeriod.WEEKLY, 1L));
+        assertEquals(35, points(windows, LeaderboardPeriod.MONTHLY, 1L));
+        assertTrue(windows.ranking(LeaderboardPeriod.DAILY).get(2L).isEmpty());
+        assertEquals(1, windows.ranking(LeaderboardPeriod.WEEKLY).rankOf(40));
+
+        // Four days on, alice's day -3 award has left the weekly window and today's has left the daily one
+        windows.rollTo(today.plusDays(4));
+        assertEquals(0, points(windows, LeaderboardPeriod.DAILY, 1L));
+        assertEquals(5, points(windows, LeaderboardPeriod.WEEKLY, 1L));
+        assertEquals(35, points(windows, LeaderboardPeriod.MONTHLY, 1L));
+        assertEquals(40, points(windows, LeaderboardPeriod.WEEKLY, 2L));
+    }
+
+    private int points(LeaderboardWindows windows, LeaderboardPeriod period, Long userId) {
+        return windows.ranking(period).get(userId).map(LeaderboardIndex.Entry::points).orElse(0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.backend.TTP.service.ledger;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.model.PointHistory;
+import com.backend.TTP.model.User;
+import com.backend.TTP.model.UserProfile;
+import com.backend.TTP.repository.PointHistoryRepository;
+import com.backend.TTP.repository.UserProfileRepository;
+import com.backend.TTP.service.AchievementService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PointAccrualStressTest {
+
+    private static final int THREADS = 8;
+
+    // Every badge threshold is crossed once on the way to 20000 points: 10 + 25 + 50 + 100
+    private static final int LEVEL_UP_BONUSES = 185;
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private PointLedger pointLedger;
+
+    @Autowired
+    private PointAccumulator pointAccumulator;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelAwardsThroughLedgerLoseNothing() throws Exception {
+        User user = testData.createUserWithProfile("stress-ledger");
+        int awardsPerThread = 2500;
+        int totalAwards = THREADS * awardsPerThread;
+
+        runInParallel(awardsPerThread, () ->
+                achievementService.awardPoints(user, "DAILY_LOGIN", 1, "stress", null));
+
+        int expectedTotal = totalAwards + LEVEL_UP_BONUSES;
+        assertEquals(expectedTotal, pointAccumulator.current(user.getId()).orElseThrow());
+
+        pointLedger.flush();
+
+        List<PointHistory> history = pointHistoryRepository.findByUser(user);
+        assertEquals(totalAwards + 4, history.size());
+        assertEquals(4, history.stream().filter(ph -> "BADGE_LEVEL_UP".equals(ph.getActivityType())).count());
+        assertEquals(expectedTotal, history.stream().mapToInt(PointHistory::getPointsEarned).sum());
+
+        UserProfile stored = userProfileRepository.findByUser(user).orElseThrow();
+        assertEquals(expectedTotal, stored.getTotalPoints());
+        assertEquals("MASTER", stored.getCurrentBadgeLevel());
+    }
+
+    @Test
+    void parallelAtomicIncrementsLoseNothing() throws Exception {
+        User user = testData.createUserWithProfile("stress-sql");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int incrementsPerThread = 250;
+
+        runInParallel(incrementsPerThread, () ->
+                transactionTemplate.executeWithoutResult(status -> userProfileRepository.addPoints(user, 3)));
+
+        UserProfile stored = userProfileRepository.findByUser(user).orElseThrow();
+        assertEquals(THREADS * incrementsPerThread * 3, stored.getTotalPoints());
+    }
+
+    private void runInParallel(int iterationsPerThread, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterationsPerThread; i++) {
+                        task.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.backend.TTP.service.ledger;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.model.User;
+import com.backend.TTP.model.UserProfile;
+import com.backend.TTP.repository.LeaderboardEntryRepository;
+import com.backend.TTP.repository.PointHistoryRepository;
+import com.backend.TTP.repository.UserProfileRepository;
+import com.backend.TTP.service.AchievementService;
+import com.backend.TTP.service.leaderboard.LeaderboardPeriod;
+import com.backend.TTP.service.leaderboard.LeaderboardWindows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PointLedgerTest {
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private PointLedger pointLedger;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private PointHistoryRepository pointHistoryRepository;
+
+    @Autowired
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+
+    @Autowired
+    private LeaderboardWindows leaderboardWindows;
+
+    @Test
+    void bufferedAwardsAreVisibleBeforeAndAfterFlush() {
+        User user = testData.createUserWithProfile("ledger-user");
+
+        achievementService.awardPoints(user, "DAILY_LOGIN", 60, "login", null);
+        achievementService.awardPoints(user, "COURSE_COMPLETION", 45, "course", 7L);
+
+        // 105 points crosses APPRENTICE, which adds a 10 point bonus
+        assertEquals(115, achievementService.getAchievementProfile(user).getTotalPoints());
+        assertEquals(3, achievementService.getPointHistory(user, null, null).getPointHistory().size());
+
+        pointLedger.flush();
+
+        UserProfile stored = userProfileRepository.findByUser(user).orElseThrow();
+        assertEquals(115, stored.getTotalPoints());
+        assertEquals("APPRENTICE", stored.getCurrentBadgeLevel());
+        assertEquals(3, pointHistoryRepository.findByUser(user).size());
+        assertEquals(115, leaderboardEntryRepository.findByUserAndDate(user, LocalDate.now())
+                .orElseThrow().getTotalPoints());
+        assertEquals(115, achievementService.getPointHistory(user, null, null).getTotalPoints());
+
+        // Reseeding the windows from the flushed history gives the same weekly points
+        leaderboardWindows.load();
+        assertEquals(115, leaderboardWindows.ranking(LeaderboardPeriod.WEEKLY).get(user.getId()).orElseThrow().points());
+    }
+
+    @Test
+    void failingUserIsIsolatedAndDeadLettered() {
+        User user = testData.createUserWithProfile("ledger-neighbour");
+
+        // No such user, so its history row violates the foreign key on every attempt
+        Long missingUserId = -1L;
+        pointLedger.append(missingUserId, List.of(PointAward.of(missingUserId, "DAILY_LOGIN", 10, "login", null, null, 10)));
+        achievementService.awardPoints(user, "DAILY_LOGIN", 20, "login", null);
+
+        pointLedger.flush();
+        assertEquals(1, pointHistoryRepository.findByUser(user).size(), "other users are written despite the bad row");
+        assertEquals(20, userProfileRepository.findByUser(user).orElseThrow().getTotalPoints());
+
+        for (int attempt = 0; attempt < 10 && !pointLedger.pendingFor(missingUserId).isEmpty(); attempt++) {
+            pointLedger.flush();
+        }
+        assertTrue(pointLedger.pendingFor(missingUserId).isEmpty(), "awards are dead-lettered after max-retries");
+    }
+}
@@ -0,0 +1,51 @@
+package com.backend.TTP.service.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PointLedgerWalTest {
+
+    private static final int THREADS = 8;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void concurrentAppendsSyncOutsideTheWriteAndSurviveRotation() throws Exception {
+        PointLedgerWal wal = new PointLedgerWal(directory, true);
+        int awardsPerThread = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                long userId = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < awardsPerThread; i++) {
+                        long sequence = wal.append(List.of(PointAward.of(userId, "TEST", 1, "wal", null, null, i + 1)));
+                        if (i == awardsPerThread / 2 && userId == 0) {
+                            wal.rotate();
+                        }
+                        wal.sync(sequence);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * awardsPerThread, wal.readAll().size());
+        wal.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.dto.CreateDailyGoalRequest;
+import com.backend.TTP.dto.DailyGoalDTO;
+import com.backend.TTP.dto.report.LearningStatsRebuildResponse;
+import com.backend.TTP.model.User;
+import com.backend.TTP.model.UserLearningStats;
+import com.backend.TTP.repository.UserLearningStatsRepository;
+import com.backend.TTP.service.DailyGoalService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LearningStatsServiceTest {
+
+    @Autowired
+    private LearningStatsService learningStatsService;
+
+    @Autowired
+    private DailyGoalService dailyGoalService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserLearningStatsRepository userLearningStatsRepository;
+
+    @Test
+    void goalChangesRefreshTheRollupAndRebuildBackfillsIt() {
+        User user = testData.createUserWithProfile("learning-stats-user", profile -> profile.setHoursPerWeek(10));
+
+        CreateDailyGoalRequest request = new CreateDailyGoalRequest();
+        request.setTitle("Read chapter 3");
+        request.setAllocatedHours(2.5);
+        DailyGoalDTO goal = dailyGoalService.createUserGoal(user, request);
+        dailyGoalService.createUserGoal(user, request);
+        dailyGoalService.completeGoals(user, List.of(goal.getId()));
+
+        UserLearningStats stats = userLearningStatsRepository.findByUserId(user.getId()).orElseThrow();
+        assertEquals(2, stats.getGoalsThisWeek());
+        assertEquals(1, stats.getCompletedGoalsThisWeek());
+        assertEquals(5.0, stats.getAllocatedHoursThisWeek());
+
+        userLearningStatsRepository.delete(stats);
+        LearningStatsRebuildResponse rebuild = learningStatsService.rebuildAll();
+        assertTrue(rebuild.getUsersProcessed() >= 1);
+        assertEquals(0, rebuild.getFailures());
+        assertEquals(1, userLearningStatsRepository.findByUserId(user.getId()).orElseThrow().getCompletedGoalsThisWeek());
+    }
+}
@@ -0,0 +1,81 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.dto.report.MetricTrendResponse;
+import com.backend.TTP.model.User;
+import com.backend.TTP.model.UserMetricSnapshot;
+import com.backend.TTP.repository.UserLearningStatsRepository;
+import com.backend.TTP.repository.UserMetricSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MetricSnapshotServiceTest {
+
+    @Autowired
+    private MetricSnapshotService metricSnapshotService;
+
+    @Autowired
+    private UserMetricSnapshotRepository userMetricSnapshotRepository;
+
+    @Autowired
+    private UserLearningStatsRepository userLearningStatsRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void captureAppendsOneRowPerUserPerDay() {
+        User user = testData.createUserWithProfile("snapshot-capture", profile -> {
+            profile.setTotalPoints(420);
+            profile.setLoginStreak(6);
+        });
+        LocalDate date = LocalDate.now().minusDays(400); // A day no other test captures
+
+        assertTrue(metricSnapshotService.captureAll(date) >= 1);
+        assertEquals(0, metricSnapshotService.captureAll(date));
+
+        UserMetricSnapshot captured = userMetricSnapshotRepository
+                .findByUserIdAndSnapshotDateBetweenOrderBySnapshotDate(user.getId(), date, date).get(0);
+        assertEquals(420, captured.getTotalPoints());
+        assertEquals(6, captured.getLoginStreak());
+        assertEquals(0.0, captured.getCompletionRate());
+        assertTrue(userLearningStatsRepository.findByUserId(user.getId()).isPresent(), "missing rollup rows are backfilled");
+    }
+
+    @Test
+    void trendIsDownsampledToBuckets() {
+        User user = testData.createUser("snapshot-trend");
+        LocalDate today = LocalDate.now();
+        List<UserMetricSnapshot> history = new ArrayList<>();
+        for (int day = 0; day < 90; day++) {
+            history.add(new UserMetricSnapshot(null, user.getId(), today.minusDays(89 - day),
+                    day * 10, day % 2 == 0 ? 40.0 : 60.0, 0.0, day % 2 == 0 ? 2 : 4, day % 30));
+        }
+        userMetricSnapshotRepository.saveAll(history);
+
+        MetricTrendResponse month = metricSnapshotService.getTrend(user.getId(), 30);
+        assertEquals(1, month.getBucketDays());
+        assertEquals(30, month.getPoints().size());
+
+        MetricTrendResponse quarter = metricSnapshotService.getTrend(user.getId(), 90);
+        assertEquals(2, quarter.getBucketDays());
+        assertEquals(45, quarter.getPoints().size());
+        MetricTrendResponse.TrendPoint first = quarter.getPoints().get(0);
+        assertEquals(today.minusDays(88), first.getDate());
+        assertEquals(10, first.getTotalPoints());
+        assertEquals(50.0, first.getCompletionRate());
+        assertEquals(3.0, first.getHoursThisWeek());
+
+        assertEquals(29, userMetricSnapshotRepository.findLongestLoginStreak(user.getId()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.config.CacheConfig;
+import com.backend.TTP.dto.report.QuickInsightsResponse;
+import com.backend.TTP.model.User;
+import com.backend.TTP.repository.QuickInsightsSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QuickInsightsServiceTest {
+
+    @Autowired
+    private QuickInsightsService quickInsightsService;
+
+    @Autowired
+    private QuickInsightsSnapshotRepository quickInsightsSnapshotRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void insightsAreComputedOnceAndServedFromCacheThenStore() {
+        User user = testData.createUser("quick-insights");
+
+        QuickInsightsResponse first = quickInsightsService.getQuickInsights(user);
+        assertNotNull(first.getGeneratedAt());
+        assertTrue(quickInsightsSnapshotRepository.findByUserId(user.getId()).isPresent());
+
+        assertSame(first, quickInsightsService.getQuickInsights(user));
+
+        cacheManager.getCache(CacheConfig.QUICK_INSIGHTS).evict(user.getId());
+        QuickInsightsResponse stored = quickInsightsService.getQuickInsights(user);
+        assertEquals(first.getGeneratedAt().truncatedTo(ChronoUnit.MILLIS), stored.getGeneratedAt().truncatedTo(ChronoUnit.MILLIS));
+        assertEquals(first.getCompletionRate(), stored.getCompletionRate());
+        assertEquals(first.getTopStrength(), stored.getTopStrength());
+    }
+}
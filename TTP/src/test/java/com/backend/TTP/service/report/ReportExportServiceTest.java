@@ -0,0 +1,55 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReportExportServiceTest {
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportWritesOneReportLinePerUserAcrossPages() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            testData.createUser("export-" + i);
+        }
+        long userCount = userRepository.count();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = reportExportService.exportAll(out, 2);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(userCount, exported);
+        assertEquals(userCount, lines.length);
+        List<Long> userIds = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode report = objectMapper.readTree(line);
+            userIds.add(Long.valueOf(report.get("userId").asText()));
+        }
+        assertEquals(userIds.stream().sorted().distinct().toList(), userIds, "each user once, in id order");
+    }
+}
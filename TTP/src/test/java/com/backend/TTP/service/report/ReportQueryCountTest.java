@@ -0,0 +1,140 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.dto.report.ComprehensiveReport;
+import com.backend.TTP.dto.report.ReportMetricsResponse;
+import com.backend.TTP.model.*;
+import com.backend.TTP.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReportQueryCountTest {
+
+    @Autowired
+    private ReportGeneratorService reportGeneratorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private DailyGoalRepository dailyGoalRepository;
+
+    @Autowired
+    private ReportMetrics reportMetrics;
+
+    @Test
+    void comprehensiveReportRunsFixedNumberOfStatements() {
+        User light = createLearner("report-light", 1, 1);
+        User heavy = createLearner("report-heavy", 8, 3);
+        // Warm up shared state and create both users' learning stats rows
+        reportGeneratorService.generateComprehensiveReport(light);
+        reportGeneratorService.generateComprehensiveReport(heavy);
+
+        long lightStatements = countStatements(light);
+        long heavyStatements = countStatements(heavy);
+
+        assertEquals(lightStatements, heavyStatements, "statement count should not grow with the user's data");
+        assertTrue(heavyStatements <= 10, "expected at most 10 statements, got " + heavyStatements);
+    }
+
+    @Test
+    void reportMetricsRecordEverySectionAndCountStatements() {
+        User user = createLearner("report-metrics", 2, 1);
+        reportGeneratorService.generateComprehensiveReport(user);
+        ReportMetricsResponse before = reportMetrics.getMetrics();
+
+        reportGeneratorService.generateComprehensiveReport(user);
+        ReportMetricsResponse after = reportMetrics.getMetrics();
+
+        assertEquals(before.getReports() + 1, after.getReports());
+        for (ReportStage stage : ReportStage.values()) {
+            assertTrue(after.getTimers().get(stage.ordinal()).getCount() > before.getTimers().get(stage.ordinal()).getCount(),
+                    stage.metricName() + " was not timed");
+        }
+        assertTrue(after.getMaxStatementsPerReport() > 0);
+    }
+
+    @Test
+    void sectionFanOutRunsEachStageOncePerReportOnPoolOrInline() {
+        User user = createLearner("report-fan-out", 3, 1);
+        reportGeneratorService.generateComprehensiveReport(user);
+        ReportMetricsResponse before = reportMetrics.getMetrics();
+
+        long pooledStatements = countStatements(user, false);
+        long inlineStatements = countStatements(user, true);
+        ReportMetricsResponse after = reportMetrics.getMetrics();
+
+        // The snapshot is loaded once per report and shared, however many sections read it
+        for (ReportStage stage : ReportStage.values()) {
+            assertEquals(before.getTimers().get(stage.ordinal()).getCount() + 2, after.getTimers().get(stage.ordinal()).getCount(),
+                    stage.metricName() + " should run once per report");
+        }
+        assertEquals(pooledStatements, inlineStatements, "running sections inline should not change the statements run");
+    }
+
+    private long countStatements(User user) {
+        return countStatements(user, false);
+    }
+
+    private long countStatements(User user, boolean inline) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        ComprehensiveReport report = inline
+                ? reportGeneratorService.generateComprehensiveReportInline(user)
+                : reportGeneratorService.generateComprehensiveReport(user);
+        long statements = statistics.getPrepareStatementCount() - before;
+
+        assertFalse(report.getPartial());
+        assertFalse(report.getSkillAnalysis().getSkillScores().isEmpty());
+        return statements;
+    }
+
+    private User createLearner(String username, int enrolledCourses, int externalScores) {
+        User user = testData.createUserWithProfile(username, profile -> {
+            profile.setHoursPerWeek(10);
+            profile.getSkills().add("Java");
+            profile.getSkills().add("SQL");
+        });
+
+        for (int i = 0; i < enrolledCourses; i++) {
+            EnrolledCourse enrollment = testData.enroll(user, createCourse(username + " enrolled " + i), e -> {
+                e.setWeekStartDate(LocalDate.now());
+                e.setHoursSpentThisWeek(2);
+            });
+            testData.saveScore(user, enrollment.getCourse().getId(), enrollment, 80.0);
+
+            DailyGoal goal = new DailyGoal();
+            goal.setUser(user);
+            goal.setTitle("Study " + i);
+            goal.setAllocatedHours(1.5);
+            goal.setGoalDate(LocalDate.now());
+            goal.setEnrolledCourse(enrollment);
+            dailyGoalRepository.save(goal);
+        }
+        // Scores for courses the user never enrolled in (e.g. external certificates)
+        for (int i = 0; i < externalScores; i++) {
+            testData.saveScore(user, createCourse(username + " external " + i).getId(), null, 80.0);
+        }
+        return user;
+    }
+
+    private Course createCourse(String title) {
+        return testData.createCourse(title, Set.of("beginner", title.replace(' ', '-')),
+                course -> course.setCategory("EXTERNAL"));
+    }
+}
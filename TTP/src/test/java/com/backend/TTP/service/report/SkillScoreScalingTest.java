@@ -0,0 +1,66 @@
+package com.backend.TTP.service.report;
+
+import com.backend.TTP.TestData;
+import com.backend.TTP.model.Course;
+import com.backend.TTP.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SkillScoreScalingTest {
+
+    private static final int SKILLS = 20;
+
+    @Autowired
+    private ReportGeneratorService reportGeneratorService;
+
+    @Autowired
+    private ReportAnalyticsService analyticsService;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    void skillScoresAggregateEveryTagAndFallBackToTitle() {
+        User user = testData.createUser("skill-tags");
+        Course java = testData.createCourse("Java Basics", Set.of("beginner", "Java", "OOP"));
+        Course sql = testData.createCourse("Query Writing", Set.of("sql"));
+        Course untagged = testData.createCourse("Docker", Set.of("tutorial"));
+        testData.saveScores(user, List.of(java, sql, untagged), new double[]{90.0, 60.0, 75.0});
+        testData.saveScores(user, List.of(testData.createCourse("Advanced Java", Set.of("java"))), new double[]{70.0});
+
+        Map<String, SkillScoreStats> stats = analyticsService.getSkillScoreStats(analyticsService.loadSnapshot(user));
+
+        assertEquals(Set.of("Java", "Oop", "Sql", "Docker"), stats.keySet());
+        assertEquals(new SkillScoreStats("Java", 80.0, 2, 70.0, 90.0), stats.get("Java"));
+        assertEquals(60.0, stats.get("Sql").averagePercentage());
+        assertEquals(75.0, stats.get("Docker").averagePercentage());
+    }
+
+    @Test
+    void reportOverThousandCoursesCoversEverySkill() {
+        User user = testData.createUser("skill-scale-1000");
+        List<Course> courses = new ArrayList<>();
+        double[] percentages = new double[1000];
+        for (int i = 0; i < percentages.length; i++) {
+            courses.add(testData.createCourse("skill-scale course " + i, Set.of("beginner", "skill-" + i % SKILLS),
+                    course -> course.setCategory("EXTERNAL")));
+            testData.enroll(user, courses.get(i), enrollment -> {});
+            percentages[i] = 50 + i % 50;
+        }
+        testData.saveScores(user, courses, percentages);
+
+        assertFalse(reportGeneratorService.generateComprehensiveReport(user).getPartial());
+        assertEquals(SKILLS, analyticsService.getSkillScores(analyticsService.loadSnapshot(user)).size());
+    }
+}
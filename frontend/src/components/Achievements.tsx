@@ -147,7 +147,7 @@ export const Achievements: React.FC = () => {
   const fetchLeaderboard = async (): Promise<void> => {
     try {
       const token = localStorage.getItem('token');
-      const response = await fetch(`${API_BASE_URL}/api/achievements/leaderboard?period=daily&limit=10`, {
+      const response = await fetch(`${API_BASE_URL}/api/achievements/leaderboard?period=all-time&limit=10`, {
         headers: {
           'Authorization': `Bearer ${token}`,
           'Content-Type': 'application/json'
@@ -477,7 +477,7 @@ export const Achievements: React.FC = () => {
             
             <LeaderboardTitle>
               <MdLeaderboard />
-              Daily Leaderboard
+              All-Time Leaderboard
             </LeaderboardTitle>
             
             <LeaderboardList>
@@ -14,8 +14,13 @@ interface Profile {
   goals: string;
   hoursPerWeek: number;
   learningPath?: string;
+  learningPathStatus?: 'PENDING' | 'READY' | 'FAILED';
+  learningPathVersion?: number;
 }
 
+// How often the learning path status is checked while a path is being generated
+const LEARNING_PATH_POLL_MS = 2000;
+
 const CoursePlannerContainer = styled.div`
   background-color: #f8f8f8;
   width: 100%;
@@ -446,6 +451,13 @@ const EmptyStateIcon = styled.div`
   color: #db2b45;
 `;
 
+const LearningPathNotice = styled.p`
+  text-align: center;
+  color: #666;
+  font-size: clamp(0.8rem, 1.2vw, 1rem);
+  margin: clamp(0.5rem, 1vh, 1rem) 0;
+`;
+
 const LearningPathContent = styled.div`
   font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
   line-height: 1.6;
@@ -634,12 +646,62 @@ const CoursePlanner = () => {
     fetchProfile();
   }, []);
 
+  // Learning paths are generated in the background after a save; poll their status until the
+  // generation finishes, then load the finished path with the profile
+  useEffect(() => {
+    if (profile?.learningPathStatus !== 'PENDING') {
+      return;
+    }
+    
+    let cancelled = false;
+    let etag: string | undefined;
+    let timer: ReturnType<typeof setTimeout>;
+    
+    const pollStatus = async () => {
+      try {
+        const token = localStorage.getItem('token') || localStorage.getItem('jwtToken');
+        const response = await api.get('/api/profiles/learning-path/status', {
+          headers: {
+            ...(token ? { 'Authorization': `Bearer ${token}` } : {}),
+            ...(etag ? { 'If-None-Match': etag } : {})
+          },
+          // 304 means the status has not changed since the last poll
+          validateStatus: status => status === 200 || status === 304
+        });
+        if (cancelled) {
+          return;
+        }
+        if (response.status === 200) {
+          etag = response.headers['etag'];
+          if (response.data.status !== 'PENDING') {
+            fetchProfile();
+            return;
+          }
+        }
+      } catch (err) {
+        console.error('Error polling learning path status:', err);
+      }
+      if (!cancelled) {
+        timer = setTimeout(pollStatus, LEARNING_PATH_POLL_MS);
+      }
+    };
+    
+    timer = setTimeout(pollStatus, LEARNING_PATH_POLL_MS);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [profile?.learningPathStatus, profile?.learningPathVersion]);
+
   const fetchProfile = async () => {
     try {
       setLoading(true);
       console.log(`Fetching profile from ${API_BASE_URL}/api/profiles`);
       
-      const response = await api.get('/api/profiles');
+      const token = localStorage.getItem('token') || localStorage.getItem('jwtToken');
+      const response = await api.get('/api/profiles', {
+        headers: token ? { 'Authorization': `Bearer ${token}` } : {}
+      });
       if (response.data) {
         console.log("Fetched profile:", response.data);
         setProfile(response.data);
@@ -655,8 +717,8 @@ const CoursePlanner = () => {
 
   const handleGenerateClick = () => {
     if (profile) {
-      // If profile exists, just submit it to generate a new learning path
-      createOrUpdateProfile(profile);
+      // If profile exists, resubmit it and ask for a new learning path even though nothing changed
+      createOrUpdateProfile(profile, true);
     } else {
       // Otherwise show modal to create profile
       openProfileModal();
@@ -720,7 +782,7 @@ const CoursePlanner = () => {
     createOrUpdateProfile(profileData);
   };
 
-  const createOrUpdateProfile = async (profileData: Profile) => {
+  const createOrUpdateProfile = async (profileData: Profile, regenerate = false) => {
     try {
       setLoading(true);
       console.log(`Saving profile to ${API_BASE_URL}/api/profiles`);
@@ -742,6 +804,7 @@ const CoursePlanner = () => {
       });
       
       const response = await api.post('/api/profiles', profileData, {
+        params: regenerate ? { regenerate: true } : undefined,
         headers: {
           'Authorization': `Bearer ${token}`,
           'Content-Type': 'application/json'
@@ -902,9 +965,18 @@ const CoursePlanner = () => {
             
             {activeTab === 'learningPath' && (
               <>
+                {profile && profile.learningPathStatus === 'PENDING' && (
+                  <LearningPathNotice>Generating your learning path...</LearningPathNotice>
+                )}
+                {profile && profile.learningPathStatus === 'FAILED' && (
+                  <LearningPathNotice>Your learning path could not be generated. Please try again.</LearningPathNotice>
+                )}
                 {profile && profile.learningPath ? (
                   <>
-                    <ActionButton onClick={handleGenerateClick}>
+                    <ActionButton
+                      onClick={handleGenerateClick}
+                      disabled={loading || profile.learningPathStatus === 'PENDING'}
+                    >
                       <FaRoad /> Regenerate Learning Path
                     </ActionButton>
                     <LearningPathContent>
@@ -913,11 +985,11 @@ const CoursePlanner = () => {
                       </ReactMarkdown>
                     </LearningPathContent>
                   </>
-                ) : (
+                ) : profile && profile.learningPathStatus === 'PENDING' ? null : (
                   <EmptyState>
                     <EmptyStateIcon><FaRoad /></EmptyStateIcon>
                     <p>No learning path has been generated yet.</p>
-                    <ActionButton onClick={handleGenerateClick}>
+                    <ActionButton onClick={handleGenerateClick} disabled={loading}>
                       <FaPlusCircle /> Generate Learning Path
                     </ActionButton>
                   </EmptyState>